@@ -0,0 +1,77 @@
+package com.example.specdriven.benchmark;
+
+import com.example.specdriven.security.PermissionAuthenticationToken;
+import com.example.specdriven.security.PermissionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of building the authentication and making one access decision.
+ * <ul>
+ *   <li>{@code spelHasAuthority}: the original path, a fresh authority list per request and a
+ *       {@code hasAuthority('USER_LIST')} expression evaluated against it.</li>
+ *   <li>{@code bitmaskCheck}: a {@link PermissionAuthenticationToken} and a single bitwise AND.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthorizationBenchmark {
+
+    // ADMIN's permission set, the largest list the filter builds
+    private static final List<String> PERMISSIONS = List.of(
+            "users:read", "users:write", "users:delete", "roles:assign", "CREATE_USER",
+            "USER_CREATE", "USER_READ", "USER_UPDATE", "USER_DELETE", "USER_LIST", "USER_ROLE_MANAGE");
+
+    private final UUID userId = UUID.randomUUID();
+    private Expression hasAuthority;
+    private PermissionIndex permissionIndex;
+    private long userMask;
+    private long requiredMask;
+
+    @Setup
+    public void setUp() {
+        hasAuthority = new SpelExpressionParser().parseExpression("hasAuthority('USER_LIST')");
+        permissionIndex = new PermissionIndex(PERMISSIONS);
+        userMask = permissionIndex.toMask(AuthorityUtils.createAuthorityList(PERMISSIONS)).getAsLong();
+        requiredMask = permissionIndex.toMask(AuthorityUtils.createAuthorityList("USER_LIST")).getAsLong();
+    }
+
+    @Benchmark
+    public Boolean spelHasAuthority() {
+        List<GrantedAuthority> authorities = new ArrayList<>(PERMISSIONS.size());
+        for (String permission : PERMISSIONS) {
+            authorities.add(new SimpleGrantedAuthority(permission));
+        }
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userId, null, authorities);
+        SecurityExpressionRoot root = new SecurityExpressionRoot(authentication) {
+        };
+        return hasAuthority.getValue(new StandardEvaluationContext(root), Boolean.class);
+    }
+
+    @Benchmark
+    public boolean bitmaskCheck() {
+        PermissionAuthenticationToken authentication =
+                new PermissionAuthenticationToken(userId, userMask, permissionIndex);
+        return authentication.hasAllPermissions(requiredMask);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.specdriven.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.specdriven.config.ErrorLogConfig;
+import com.example.specdriven.exception.ErrorResponseFactory;
+import com.example.specdriven.exception.GlobalExceptionHandler;
+import com.example.specdriven.exception.ResourceNotFoundException;
+import com.example.specdriven.exception.SampledErrorLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the per-request cost of a 404 from a domain exception: throwing it from a controller
+ * call stack, catching it, and logging it.
+ * <ul>
+ *   <li>{@code stackTraceAndWarn}: the original path, an exception that fills in its stack trace
+ *       and a WARN line formatted and written for every request.</li>
+ *   <li>{@code stacklessAndSampled}: {@link ResourceNotFoundException}, which captures no stack,
+ *       and {@link SampledErrorLogger}, which logs once per interval and counts the rest.</li>
+ * </ul>
+ * {@code depth} is the number of frames between the throw and the handler; Spring MVC and the
+ * filter chain put well over a hundred there. The WARN lines go to a discarding appender, so
+ * only formatting and encoding are measured. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=ErrorHandlingBenchmark -PjmhProfilers=gc} to see bytes
+ * allocated per request ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorHandlingBenchmark {
+
+    @Param({"32", "128"})
+    public int depth;
+
+    private Logger warnLogger;
+    private SampledErrorLogger sampledErrorLogger;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+        warnLogger = context.getLogger(GlobalExceptionHandler.class);
+
+        sampledErrorLogger = new SampledErrorLogger(new ErrorLogConfig());
+    }
+
+    @TearDown
+    public void tearDown() {
+        sampledErrorLogger.destroy();
+    }
+
+    @Benchmark
+    public String stackTraceAndWarn() {
+        try {
+            throwFrom(depth, StackTraceNotFoundException::new);
+            return null;
+        } catch (StackTraceNotFoundException ex) {
+            warnLogger.warn("Resource not found: {}", ex.getMessage());
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String stacklessAndSampled() {
+        try {
+            throwFrom(depth, ResourceNotFoundException::new);
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            sampledErrorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", ex.getMessage());
+            return ex.getMessage();
+        }
+    }
+
+    private static void throwFrom(int remaining, Function<String, RuntimeException> exception) {
+        if (remaining == 0) {
+            throw exception.apply("User not found");
+        }
+        throwFrom(remaining - 1, exception);
+    }
+
+    /**
+     * The domain exception as it was: a plain RuntimeException.
+     */
+    private static final class StackTraceNotFoundException extends RuntimeException {
+
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
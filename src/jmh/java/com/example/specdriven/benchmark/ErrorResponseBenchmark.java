@@ -0,0 +1,134 @@
+package com.example.specdriven.benchmark;
+
+import com.example.specdriven.exception.ErrorMetrics;
+import com.example.specdriven.exception.ErrorResponseFactory;
+import com.example.specdriven.exception.ErrorResponseWriter;
+import com.example.specdriven.exception.ErrorResponseWriter.EncodedError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of writing one 401 rejection body.
+ * <ul>
+ *   <li>{@code objectMapperPerRejection}: the original path, a new ErrorResponse serialized with
+ *       {@code ObjectMapper.writeValue} for every rejection.</li>
+ *   <li>{@code preEncoded}: the body encoded once and written as bytes.</li>
+ *   <li>{@code cachedWriterDynamicMessage}: a new ErrorResponse through the cached ObjectWriter, as
+ *       errors with dynamic messages are written.</li>
+ * </ul>
+ * The response discards what is written, so only the serialization is measured. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=ErrorResponseBenchmark -PjmhProfilers=gc} to see bytes
+ * allocated per rejection ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ErrorResponseWriter errorResponseWriter;
+    private EncodedError authenticationRequired;
+    private DiscardingResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        errorResponseWriter = new ErrorResponseWriter(objectMapper, new ErrorMetrics());
+        authenticationRequired = errorResponseWriter.encode(
+                ErrorResponseFactory.authenticationRequired("Authentication required"));
+        response = new DiscardingResponse();
+    }
+
+    @Benchmark
+    public void objectMapperPerRejection(Blackhole blackhole) throws Exception {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponseFactory.authenticationRequired("Authentication required"));
+        blackhole.consume(response.written);
+    }
+
+    @Benchmark
+    public void preEncoded(Blackhole blackhole) throws Exception {
+        errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, authenticationRequired);
+        blackhole.consume(response.written);
+    }
+
+    @Benchmark
+    public void cachedWriterDynamicMessage(Blackhole blackhole) throws Exception {
+        errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED,
+                ErrorResponseFactory.authenticationRequired("Authentication required"));
+        blackhole.consume(response.written);
+    }
+
+    /**
+     * A response whose header setters do nothing and whose body is counted and dropped. Every
+     * method the benchmarks call is overridden; the wrapped response is never reached.
+     */
+    private static final class DiscardingResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+            }
+        };
+
+        private long written;
+
+        DiscardingResponse() {
+            super((HttpServletResponse) Proxy.newProxyInstance(
+                    HttpServletResponse.class.getClassLoader(),
+                    new Class<?>[] {HttpServletResponse.class},
+                    (proxy, method, args) -> {
+                        throw new UnsupportedOperationException(method.getName());
+                    }));
+        }
+
+        @Override
+        public void setStatus(int sc) {
+        }
+
+        @Override
+        public void setContentType(String type) {
+        }
+
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.specdriven.benchmark;
+
+import com.example.specdriven.config.JwtConfig;
+import com.example.specdriven.security.JwtPrincipal;
+import com.example.specdriven.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating a bearer token, and measures issuing one.
+ * <ul>
+ *   <li>{@code twoCallPath}: the original filter path, validateToken then getUserIdFromToken,
+ *       each building a fresh parser and verifying the HMAC.</li>
+ *   <li>{@code verifyAndExtractUncached}: one pass with the reused parser, cache disabled.</li>
+ *   <li>{@code verifyAndExtractCached}: one pass with the verified-token cache warm.</li>
+ *   <li>{@code generateToken}: signing a new token, as every login does.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hs256";
+
+    private SecretKey secretKey;
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        JwtConfig cachedConfig = new JwtConfig();
+        cachedConfig.setSecret(SECRET);
+        cachedProvider = new JwtTokenProvider(cachedConfig);
+
+        JwtConfig uncachedConfig = new JwtConfig();
+        uncachedConfig.setSecret(SECRET);
+        uncachedConfig.setVerifiedTokenCacheSize(0);
+        uncachedProvider = new JwtTokenProvider(uncachedConfig);
+
+        userId = UUID.randomUUID();
+        token = cachedProvider.generateToken(userId);
+        cachedProvider.verifyAndExtract(token);
+    }
+
+    @Benchmark
+    public UUID twoCallPath() {
+        Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        return UUID.fromString(claims.getSubject());
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> verifyAndExtractUncached() {
+        return uncachedProvider.verifyAndExtract(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> verifyAndExtractCached() {
+        return cachedProvider.verifyAndExtract(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedProvider.generateToken(userId);
+    }
+}
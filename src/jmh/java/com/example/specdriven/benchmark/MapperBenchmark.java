@@ -0,0 +1,106 @@
+package com.example.specdriven.benchmark;
+
+import com.example.specdriven.api.model.Role;
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.api.model.UserPage;
+import com.example.specdriven.domain.PermissionEntity;
+import com.example.specdriven.domain.RoleEntity;
+import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.mapper.RoleMapper;
+import com.example.specdriven.mapper.UserMapper;
+import com.example.specdriven.service.RoleCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU part of a list users response once the page is loaded.
+ * <ul>
+ *   <li>{@code mapPage}: entities and catalog roles to a {@link UserPage}, as listUsers builds it.</li>
+ *   <li>{@code mapAndSerializePage}: the same page written as JSON, as the response body is.</li>
+ *   <li>{@code mapRolesWithPermissions}: {@link RoleMapper} for every role with its permissions.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int pageSize;
+
+    private final UserMapper userMapper = new UserMapper();
+    private final RoleMapper roleMapper = new RoleMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<UserEntity> entities;
+    private List<RoleCatalog.CatalogRole> catalogRoles;
+    private List<RoleEntity> roleEntities;
+    private List<PermissionEntity> permissionEntities;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        entities = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            entities.add(new UserEntity(UUID.randomUUID(), "user" + i, "User " + i,
+                    "user" + i + "@example.com", "{bcrypt}$2a$10$hash", now, now));
+        }
+        catalogRoles = List.of(
+                new RoleCatalog.CatalogRole(UUID.randomUUID(), "USER", RoleName.USER, 0b001L),
+                new RoleCatalog.CatalogRole(UUID.randomUUID(), "AUDITOR", RoleName.AUDITOR, 0b010L));
+        roleEntities = List.of(
+                new RoleEntity(UUID.randomUUID(), "ADMIN", "Administrator"),
+                new RoleEntity(UUID.randomUUID(), "USER", "Regular user"),
+                new RoleEntity(UUID.randomUUID(), "AUDITOR", "Read-only auditor"));
+        permissionEntities = List.of(
+                new PermissionEntity(UUID.randomUUID(), "USER_READ", "Read users"),
+                new PermissionEntity(UUID.randomUUID(), "USER_WRITE", "Write users"),
+                new PermissionEntity(UUID.randomUUID(), "ROLE_ASSIGN", "Assign roles"));
+    }
+
+    @Benchmark
+    public UserPage mapPage() {
+        List<User> users = new ArrayList<>(entities.size());
+        for (UserEntity entity : entities) {
+            List<Role> roles = new ArrayList<>(catalogRoles.size());
+            for (RoleCatalog.CatalogRole catalogRole : catalogRoles) {
+                roles.add(userMapper.toRoleDto(catalogRole));
+            }
+            users.add(userMapper.toDto(entity, roles));
+        }
+        UserPage page = new UserPage();
+        page.setItems(users);
+        page.setPage(1);
+        page.setPageSize(pageSize);
+        page.setHasNext(false);
+        return page;
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(mapPage());
+    }
+
+    @Benchmark
+    public List<Role> mapRolesWithPermissions() {
+        List<Role> roles = new ArrayList<>(roleEntities.size());
+        for (RoleEntity roleEntity : roleEntities) {
+            roles.add(roleMapper.toDto(roleEntity, permissionEntities));
+        }
+        return roles;
+    }
+}
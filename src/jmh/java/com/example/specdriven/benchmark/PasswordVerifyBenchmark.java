@@ -0,0 +1,51 @@
+package com.example.specdriven.benchmark;
+
+import com.example.specdriven.config.PasswordConfig;
+import com.example.specdriven.security.PasswordAlgorithm;
+import com.example.specdriven.security.PasswordCostCalibrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one login password check, the dominant CPU cost of a login.
+ * {@code cost} is a BCrypt strength, or {@code configured} for the cost the application would
+ * use on this machine: calibrated to the default target verification time, as at startup.
+ * The test profile's strength 10 is included for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordVerifyBenchmark {
+
+    private static final String PASSWORD = "BenchmarkPassword123!";
+
+    @Param({"10", "configured"})
+    public String cost;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        PasswordConfig.Encoding encoding = new PasswordConfig().getEncoding();
+        int strength = "configured".equals(cost)
+                ? new PasswordCostCalibrator().calibrate(PasswordAlgorithm.BCRYPT, encoding.getTargetVerifyTime()).cost()
+                : Integer.parseInt(cost);
+        encoder = PasswordAlgorithm.BCRYPT.encoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.specdriven.benchmark;
+
+import com.example.specdriven.api.model.Role;
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.service.UserCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the hit path of {@link UserCache}, the cost getUserById pays for a hot profile.
+ * <ul>
+ *   <li>{@code hit}: a lookup of a resident user, single threaded.</li>
+ *   <li>{@code hitContended}: the same lookup from four threads over a shared cache.</li>
+ *   <li>{@code assemble}: building the DTO without the cache, the CPU part of a miss; a real
+ *       miss adds two database round trips on top.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserCacheBenchmark {
+
+    @Param({"1000", "10000"})
+    private int residentUsers;
+
+    private UserCache userCache;
+    private UUID[] userIds;
+    private final Function<UUID, User> assembler = UserCacheBenchmark::assemble;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userCache = new UserCache(new CacheConfig());
+        userIds = new UUID[residentUsers];
+        for (int i = 0; i < residentUsers; i++) {
+            userIds[i] = UUID.randomUUID();
+            userCache.get(userIds[i], assembler);
+        }
+    }
+
+    private UUID randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    @Benchmark
+    public User hit() {
+        return userCache.get(randomUser(), assembler);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User hitContended() {
+        return userCache.get(randomUser(), assembler);
+    }
+
+    @Benchmark
+    public User assemble() {
+        return assemble(randomUser());
+    }
+
+    private static User assemble(UUID userId) {
+        Role role = new Role();
+        role.setRoleName(RoleName.USER);
+        role.setPermissions(new LinkedHashSet<>());
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("user_" + userId);
+        user.setName("Benchmark User");
+        user.setEmailAddress(userId + "@example.com");
+        user.setRoles(List.of(role));
+        return user;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.specdriven.loadtest;
+
+import com.example.specdriven.SpecDrivenApplication;
+import com.example.specdriven.integration.support.DatasetGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots SpecDrivenApplication on a random port with the loadtest profile, seeds it with
+ * {@link DatasetGenerator}, and drives a mix of operations at a fixed arrival rate over real
+ * HTTP with {@link OpenLoopDriver}: first a warmup, whose results are discarded, then the
+ * measured run. Writes a {@link LoadTestReport} and prints a summary.
+ *
+ * Client and server share the JVM and its CPUs, so compare runs made on the same machine with
+ * the same options rather than reading the numbers as absolute capacity. The worst send lag in
+ * the summary shows when the client itself could not keep up with the rate.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        DatasetGenerator.Options dataset = DatasetGenerator.Options.of(options.users()).withSeed(options.seed());
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpecDrivenApplication.class)
+                .profiles("loadtest")
+                .run()) {
+            DatasetGenerator.Summary seeded = new DatasetGenerator(context.getBean(JdbcTemplate.class)).load(dataset);
+            System.out.printf("Seeded %d users in %d ms%n", seeded.users(), seeded.elapsed().toMillis());
+
+            String[] userIds = new String[options.users()];
+            String[] usernames = new String[options.users()];
+            String[] admin = new String[1];
+            int[] next = {0};
+            DatasetGenerator.forEachUser(dataset, user -> {
+                userIds[next[0]] = user.id().toString();
+                usernames[next[0]++] = user.username();
+                if (admin[0] == null && user.roles().contains("ADMIN")) {
+                    admin[0] = user.username();
+                }
+            });
+            if (admin[0] == null) {
+                throw new IllegalStateException("No admin among " + options.users() + " seeded users; seed more users");
+            }
+
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(options.clientThreads());
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(options.timeout())
+                        .executor(clientExecutor)
+                        .build();
+                URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                Operation.Target target = new Operation.Target(baseUri,
+                        login(client, baseUri, admin[0], dataset.password()),
+                        userIds, usernames, dataset.password(), options.timeout());
+                OpenLoopDriver driver = new OpenLoopDriver(client, target, options.mix());
+                SplittableRandom random = new SplittableRandom(options.seed());
+
+                if (!options.warmup().isZero()) {
+                    System.out.printf("Warming up for %s at %.1f req/s%n", options.warmup(), options.rate());
+                    driver.run(options.rate(), options.warmup(), random.split());
+                }
+                System.out.printf("Measuring for %s at %.1f req/s%n", options.duration(), options.rate());
+                String startedAt = Instant.now().toString();
+                OpenLoopDriver.Run run = driver.run(options.rate(), options.duration(), random);
+
+                LoadTestReport report = LoadTestReport.of(startedAt, options, run);
+                report.write(options.report(), run);
+                report.print(System.out);
+                System.out.println("Report written to " + options.report().toAbsolutePath());
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static String login(HttpClient client, URI baseUri, String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return new ObjectMapper().readTree(response.body()).get("token").asText();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.specdriven.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What a load test runs, from {@code name=value} arguments; see the loadTest Gradle task.
+ *
+ * @param rate requests per second, across all operations
+ * @param duration how long the measured run sends requests
+ * @param warmup how long to send before measuring, at the same rate
+ * @param users users seeded before the run
+ * @param seed seed of the dataset and of the request sequence
+ * @param mix relative weight of each operation
+ * @param clientThreads threads completing responses in the HTTP client
+ * @param timeout per-request timeout
+ * @param report where the JSON report is written
+ */
+record LoadTestOptions(double rate, Duration duration, Duration warmup, int users, long seed,
+                       Map<Operation, Integer> mix, int clientThreads, Duration timeout, Path report) {
+
+    static final String DEFAULT_MIX = "LOGIN=5,LIST_USERS=25,GET_USER=45,UPDATE_USER=15,ASSIGN_ROLE=10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value but got " + arg);
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(arguments.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(arguments.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(arguments.getOrDefault("warmup", "15s")),
+                Integer.parseInt(arguments.getOrDefault("users", "100000")),
+                Long.parseLong(arguments.getOrDefault("seed", "42")),
+                parseMix(arguments.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(arguments.getOrDefault("clientThreads", "8")),
+                DurationStyle.detectAndParse(arguments.getOrDefault("timeout", "30s")),
+                Path.of(arguments.getOrDefault("report", "build/reports/loadtest/report.json")));
+        if (options.rate() <= 0) {
+            throw new IllegalArgumentException("rate must be > 0");
+        }
+        if (options.users() < 1) {
+            throw new IllegalArgumentException("users must be >= 1");
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected OPERATION=weight but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must be >= 0");
+            }
+            weights.put(Operation.valueOf(parts[0].trim()), weight);
+        }
+        return weights;
+    }
+}
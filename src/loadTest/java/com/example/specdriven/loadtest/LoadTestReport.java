@@ -0,0 +1,117 @@
+package com.example.specdriven.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Machine-readable result of a load test run, written as JSON next to one HdrHistogram
+ * percentile distribution ({@code .hgrm}) per operation for plotting.
+ *
+ * @param startedAt when the measured run started, ISO-8601
+ * @param options what was run
+ * @param targetRate requests per second asked for
+ * @param achievedRate requests per second actually sent
+ * @param elapsedSeconds from the first request to the last response
+ * @param maxSendLagMillis how far the sender fell behind schedule at worst
+ * @param all every operation together
+ * @param operations per operation, in mix order
+ */
+record LoadTestReport(String startedAt, LoadTestOptions options, double targetRate, double achievedRate,
+                      double elapsedSeconds, double maxSendLagMillis, OperationReport all,
+                      Map<Operation, OperationReport> operations) {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * @param endpoint method and path template
+     * @param count requests completed
+     * @param errors non-2xx responses and requests without a response
+     * @param throughput completed requests per second
+     * @param statuses count per response status; 0 for no response
+     * @param latencyMillis mean, percentiles and max, from each request's due time
+     */
+    record OperationReport(String endpoint, long count, long errors, double throughput,
+                           Map<Integer, Long> statuses, Map<String, Double> latencyMillis) {
+    }
+
+    static LoadTestReport of(String startedAt, LoadTestOptions options, OpenLoopDriver.Run run) {
+        double elapsedSeconds = run.elapsedNanos / 1e9;
+        Map<Operation, OperationReport> operations = new LinkedHashMap<>();
+        Map<Integer, Long> allStatuses = new TreeMap<>();
+        long allErrors = 0;
+        for (Map.Entry<Operation, OpenLoopDriver.OperationStats> entry : run.stats.entrySet()) {
+            OpenLoopDriver.OperationStats stats = entry.getValue();
+            if (stats.latencies.getTotalCount() == 0) {
+                continue;
+            }
+            Map<Integer, Long> statuses = new TreeMap<>();
+            stats.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            statuses.forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+            allErrors += stats.errors();
+            operations.put(entry.getKey(), operationReport(entry.getKey().endpoint(), stats.latencies,
+                    stats.errors(), statuses, elapsedSeconds));
+        }
+        OperationReport all = operationReport("*", run.allLatencies(), allErrors, allStatuses, elapsedSeconds);
+        return new LoadTestReport(startedAt, options, run.targetRate, run.sent / (run.sendingNanos / 1e9),
+                elapsedSeconds, run.maxSendLagNanos / NANOS_PER_MILLI, all, operations);
+    }
+
+    private static OperationReport operationReport(String endpoint, Histogram latencies, long errors,
+                                                   Map<Integer, Long> statuses, double elapsedSeconds) {
+        Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        latencyMillis.put("mean", latencies.getMean() / NANOS_PER_MILLI);
+        latencyMillis.put("p50", latencies.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        latencyMillis.put("p90", latencies.getValueAtPercentile(90) / NANOS_PER_MILLI);
+        latencyMillis.put("p99", latencies.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        latencyMillis.put("p999", latencies.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
+        latencyMillis.put("max", latencies.getMaxValue() / NANOS_PER_MILLI);
+        return new OperationReport(endpoint, latencies.getTotalCount(), errors,
+                latencies.getTotalCount() / elapsedSeconds, statuses, latencyMillis);
+    }
+
+    /**
+     * Write the report to {@code file}, and each operation's percentile distribution beside it.
+     */
+    void write(Path file, OpenLoopDriver.Run run) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writeValue(file.toFile(), this);
+        for (Operation operation : operations.keySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.name() + ".hgrm")))) {
+                run.stats.get(operation).latencies.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Print one line per operation.
+     */
+    void print(PrintStream out) {
+        out.printf("%-38s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        operations.values().forEach(operation -> print(out, operation));
+        print(out, all);
+        out.printf("target %.1f req/s, sent %.1f req/s, worst send lag %.1f ms%n",
+                targetRate, achievedRate, maxSendLagMillis);
+    }
+
+    private static void print(PrintStream out, OperationReport operation) {
+        out.printf("%-38s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", operation.endpoint(), operation.count(),
+                operation.errors(), operation.throughput(), operation.latencyMillis().get("p50"),
+                operation.latencyMillis().get("p99"), operation.latencyMillis().get("p999"),
+                operation.latencyMillis().get("max"));
+    }
+}
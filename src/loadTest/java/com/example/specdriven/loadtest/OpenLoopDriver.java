@@ -0,0 +1,172 @@
+package com.example.specdriven.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate, whatever the application's response times.
+ *
+ * Request i is due at {@code start + i / rate}, and its latency is measured from that due time
+ * rather than from when it was actually sent. A closed loop, where each client waits for its
+ * previous response, stops sending while the application stalls and so never records the
+ * queueing a stall causes (coordinated omission). Here a stall shows up in the latency of every
+ * request that fell due during it, including the time they waited to be sent.
+ */
+final class OpenLoopDriver {
+
+    /** Latencies above this are recorded as this; well beyond any request timeout. */
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    /** Status recorded for requests that got no response: timeouts and connection failures. */
+    static final int NO_RESPONSE = 0;
+
+    private final HttpClient client;
+    private final Operation.Target target;
+    private final Operation[] schedule;
+
+    /**
+     * @param client client sending the requests
+     * @param target the application and seeded users
+     * @param mix relative weight of each operation
+     */
+    OpenLoopDriver(HttpClient client, Operation.Target target, Map<Operation, Integer> mix) {
+        this.client = client;
+        this.target = target;
+        this.schedule = expand(mix);
+    }
+
+    /**
+     * Send requests at {@code rate} per second for {@code duration}, then wait for the
+     * outstanding ones.
+     *
+     * @param rate requests per second
+     * @param duration how long to keep sending
+     * @param random decides the operations and their arguments
+     * @return per-operation latencies and statuses
+     */
+    Run run(double rate, Duration duration, SplittableRandom random) throws InterruptedException {
+        Run run = new Run(rate);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicInteger outstanding = new AtomicInteger();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                run.maxSendLagNanos = Math.max(run.maxSendLagNanos, -wait);
+            }
+
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            OperationStats stats = run.stats.get(operation);
+            outstanding.incrementAndGet();
+            run.sent++;
+            client.sendAsync(operation.request(target, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        stats.record(System.nanoTime() - due, failure == null ? response.statusCode() : NO_RESPONSE);
+                        outstanding.decrementAndGet();
+                    });
+        }
+        run.sendingNanos = System.nanoTime() - start;
+
+        // Every request has a timeout, so this ends
+        while (outstanding.get() > 0) {
+            Thread.sleep(10);
+        }
+        run.elapsedNanos = System.nanoTime() - start;
+        return run;
+    }
+
+    /**
+     * One slot per unit of weight, so a uniform pick follows the mix.
+     */
+    private static Operation[] expand(Map<Operation, Integer> mix) {
+        Operation[] schedule = new Operation[mix.values().stream().mapToInt(Integer::intValue).sum()];
+        if (schedule.length == 0) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+        int next = 0;
+        for (Map.Entry<Operation, Integer> entry : new TreeMap<>(mix).entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[next++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * What one run recorded. Read it only after {@link #run} has returned.
+     */
+    static final class Run {
+
+        final double targetRate;
+        final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        long sent;
+        long sendingNanos;
+        long elapsedNanos;
+        /** How far behind schedule the sender fell at worst; large values mean the client was the bottleneck. */
+        long maxSendLagNanos;
+
+        private Run(double targetRate) {
+            this.targetRate = targetRate;
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new OperationStats());
+            }
+        }
+
+        /**
+         * @return the latencies of all operations together
+         */
+        Histogram allLatencies() {
+            Histogram all = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+            stats.values().forEach(operationStats -> all.add(operationStats.latencies));
+            return all;
+        }
+    }
+
+    /**
+     * Latencies and response statuses of one operation, recorded from the client's threads.
+     */
+    static final class OperationStats {
+
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status) {
+            latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        }
+
+        /**
+         * @return responses that were not 2xx, and requests that got no response
+         */
+        long errors() {
+            long errors = 0;
+            for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+                if (entry.getKey() < 200 || entry.getKey() >= 300) {
+                    errors += entry.getValue().sum();
+                }
+            }
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.specdriven.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * The operations a load test mixes, each building one request against a running application.
+ */
+enum Operation {
+
+    LOGIN("POST /login") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            String username = target.username(random.nextInt(target.userCount()));
+            String body = "{\"username\":\"" + username + "\",\"password\":\"" + target.password() + "\"}";
+            return target.json("/login").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        }
+    },
+
+    LIST_USERS("GET /users") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            // A quarter of the listings filter by role, the join that grows with the dataset
+            String query = random.nextInt(4) == 0
+                    ? "?pageSize=20&roleName=ADMIN"
+                    : "?pageSize=20&page=" + (1 + random.nextInt(50));
+            return target.authorized("/users" + query).GET().build();
+        }
+    },
+
+    GET_USER("GET /users/{userId}") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            return target.authorized("/users/" + target.userId(random.nextInt(target.userCount()))).GET().build();
+        }
+    },
+
+    UPDATE_USER("PUT /users/{userId}") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            String body = "{\"name\":\"Load Test " + random.nextInt(1_000_000) + "\"}";
+            return target.authorized("/users/" + target.userId(random.nextInt(target.userCount())))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+
+    ASSIGN_ROLE("PUT /users/{userId}/roles/{roleName}") {
+        @Override
+        HttpRequest request(Target target, SplittableRandom random) {
+            // USER is already held by everyone, so half the assignments take the idempotent path
+            String role = random.nextBoolean() ? "USER" : "ADMIN";
+            return target.authorized("/users/" + target.userId(random.nextInt(target.userCount())) + "/roles/" + role)
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+    };
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return the method and path template, as in the OpenAPI spec
+     */
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Build the next request of this operation.
+     *
+     * @param target the application and the users it was seeded with
+     * @param random the driver's random sequence, so a seeded run sends the same requests
+     */
+    abstract HttpRequest request(Target target, SplittableRandom random);
+
+    /**
+     * The running application and the seeded users requests are made for.
+     *
+     * @param baseUri the application's base URI
+     * @param adminToken bearer token of a seeded admin, used for every protected request
+     * @param userIds ids of the seeded users
+     * @param usernames usernames of the seeded users, in the same order
+     * @param password the seeded users' password
+     * @param timeout per-request timeout; timed out requests count as errors
+     */
+    record Target(URI baseUri, String adminToken, String[] userIds, String[] usernames, String password,
+                  Duration timeout) {
+
+        int userCount() {
+            return userIds.length;
+        }
+
+        String userId(int index) {
+            return userIds[index];
+        }
+
+        String username(int index) {
+            return usernames[index];
+        }
+
+        HttpRequest.Builder json(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json");
+        }
+
+        HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(timeout)
+                    .header("Authorization", "Bearer " + adminToken);
+        }
+    }
+}
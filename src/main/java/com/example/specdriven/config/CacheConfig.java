@@ -0,0 +1,76 @@
+package com.example.specdriven.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for in-memory caches.
+ * Binds to 'cache.*' properties in application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+@Getter
+@Setter
+public class CacheConfig {
+
+    /**
+     * Per-user permission cache used by the JWT authentication filter.
+     * Entries are evicted when a user's roles change; the TTL is only a safety net
+     * for changes made outside the application (e.g. manual SQL).
+     */
+    private Spec permissions = new Spec(10_000, Duration.ofMinutes(10));
+
+    /**
+     * Assembled user DTOs served by getUserById.
+     * Entries are evicted when the user is updated or deleted or their roles change; the TTL
+     * bounds staleness from changes made outside the application.
+     */
+    private Spec users = new Spec(10_000, Duration.ofMinutes(5));
+
+    /**
+     * Age after which the in-memory user counts behind approximate list totals are reloaded.
+     * Counts are kept current by events in between; reloading corrects any drift.
+     */
+    private Duration userCountsMaxAge = Duration.ofMinutes(5);
+
+    /**
+     * Users whose last role change is remembered for checking permissions embedded in tokens.
+     * Beyond this, the oldest changes are forgotten and every token older than them is treated
+     * as stale, which costs a permission lookup but never grants revoked permissions.
+     */
+    private long rolesVersionsMaxSize = 100_000;
+
+    /**
+     * Size and lifetime settings for a single cache.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Spec {
+
+        /**
+         * Maximum number of entries held before the least valuable ones are evicted.
+         */
+        private long maxSize;
+
+        /**
+         * Time after which an entry is discarded regardless of access.
+         */
+        private Duration ttl;
+
+        /**
+         * Whether hit, miss and eviction counters are recorded.
+         */
+        private boolean recordStats = true;
+
+        public Spec(long maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.specdriven.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long pooled JDBC connections are held, from checkout to close.
+ * Wraps every DataSource bean so each connection records its hold time when it is returned to
+ * the pool. Hold time is what starves the pool: work done inside a transaction, such as password
+ * hashing, is paid for with a connection nobody else can use.
+ *
+ * Off by default in production, where the proxy would sit on every JDBC call; see
+ * {@code jdbc-diagnostics.connection-hold}. While off, DataSources are left unwrapped and
+ * nothing is recorded.
+ */
+@Component
+public class ConnectionHoldTracker implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionHoldTracker.class);
+
+    private final LongAdder holds = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    private final boolean enabled;
+
+    @Autowired
+    public ConnectionHoldTracker(Environment environment) {
+        this(JdbcDiagnosticsConfig.from(environment).isConnectionHoldEnabled(environment));
+    }
+
+    /**
+     * @param enabled whether DataSources are wrapped
+     */
+    public ConnectionHoldTracker(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return whether hold times are being recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof TrackingDataSource)) {
+            return new TrackingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Hold times recorded since startup or the last {@link #reset()}.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(holds.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Discard all recorded hold times.
+     */
+    public void reset() {
+        holds.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    private void record(long nanos) {
+        holds.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        logger.trace("Connection held for {} us", nanos / 1_000);
+    }
+
+    private Connection track(Connection connection) {
+        long acquiredAt = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "getTargetConnection":
+                            return connection;
+                        case "close":
+                            if (released.compareAndSet(false, true)) {
+                                record(System.nanoTime() - acquiredAt);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * Connection hold times: how many connections were returned, and how long they were held.
+     */
+    public record Snapshot(long holds, long totalNanos, long maxNanos) {
+
+        public Duration average() {
+            return holds == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos / holds);
+        }
+
+        public Duration max() {
+            return Duration.ofNanos(maxNanos);
+        }
+    }
+
+    private final class TrackingDataSource extends DelegatingDataSource {
+
+        TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(super.getConnection(username, password));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.specdriven.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for logging of handled errors.
+ * Binds to 'error-log.*' properties in application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "error-log")
+@Getter
+@Setter
+public class ErrorLogConfig {
+
+    /**
+     * Per error code, only the first client error in each interval is logged in full; the rest
+     * are counted and reported as one line once the interval ends. Server errors are always
+     * logged.
+     * Zero logs every error.
+     */
+    private Duration interval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,64 @@
+package com.example.specdriven.config;
+
+import com.example.specdriven.security.RouteClassifier;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration properties for JDBC diagnostics.
+ * Binds to 'jdbc-diagnostics.*' properties in application.yml.
+ *
+ * Each diagnostic wraps connections in a reflective proxy, adding a hop to every JDBC call.
+ * A diagnostic left unset is on outside production and off in it.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jdbc-diagnostics")
+@Getter
+@Setter
+public class JdbcDiagnosticsConfig {
+
+    private static final String PREFIX = "jdbc-diagnostics";
+
+    /**
+     * Measure how long pooled connections are held, with {@link ConnectionHoldTracker}.
+     */
+    private Boolean connectionHold;
+
+    /**
+     * Count the SQL statements and database time of each request, with {@link StatementTracker}.
+     */
+    private Boolean statements;
+
+    /**
+     * Bind the properties straight from the environment. The trackers are BeanPostProcessors,
+     * which are created before configuration properties beans are bound.
+     *
+     * @param environment the environment
+     * @return the bound properties
+     */
+    public static JdbcDiagnosticsConfig from(Environment environment) {
+        return Binder.get(environment).bindOrCreate(PREFIX, JdbcDiagnosticsConfig.class);
+    }
+
+    /**
+     * @return whether connection hold times are measured in this environment
+     */
+    public boolean isConnectionHoldEnabled(Environment environment) {
+        return enabled(connectionHold, environment);
+    }
+
+    /**
+     * @return whether statements are counted in this environment
+     */
+    public boolean isStatementsEnabled(Environment environment) {
+        return enabled(statements, environment);
+    }
+
+    private static boolean enabled(Boolean setting, Environment environment) {
+        return setting != null ? setting : !RouteClassifier.isProduction(environment);
+    }
+}
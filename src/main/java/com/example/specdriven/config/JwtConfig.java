@@ -27,4 +27,17 @@ public class JwtConfig {
      * Default: 86400000 ms = 24 hours
      */
     private long expirationMs = 86400000L;
+
+    /**
+     * Maximum number of recently verified tokens kept in memory.
+     * A cached token skips signature verification until its own expiry.
+     * Set to 0 to verify every token.
+     */
+    private long verifiedTokenCacheSize = 10_000L;
+
+    /**
+     * Embed the user's permissions in issued tokens, so authenticated requests can be
+     * authorized without a database lookup while the user's roles are unchanged.
+     */
+    private boolean embedPermissions = true;
 }
@@ -0,0 +1,109 @@
+package com.example.specdriven.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for login.
+ * Binds to 'login.*' properties in application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "login")
+@Getter
+@Setter
+public class LoginConfig {
+
+    /**
+     * Worker pool that verifies login credentials, bounding how much CPU password checks take.
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+
+    /**
+     * Per-username and per-client-address limits on login attempts, applied before any
+     * password is checked.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Sizing of the login worker pool.
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /**
+         * Number of worker threads; verification is CPU bound, so one per core.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Logins waiting for a worker before further logins are rejected with 503.
+         */
+        private int queueCapacity = 32;
+
+        /**
+         * Assumed time to verify one login until actual timings have been measured.
+         * Used to compute Retry-After for rejected logins.
+         */
+        private Duration initialServiceTime = Duration.ofMillis(100);
+    }
+
+    /**
+     * Login rate limits.
+     */
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        /**
+         * Whether login attempts are rate limited.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Most usernames, and most client addresses, tracked at once. Least recently used
+         * buckets are dropped first, which forgets their history.
+         */
+        private long maxKeys = 100_000;
+
+        /**
+         * Attempts per submitted username, whether or not the user exists.
+         */
+        private Bucket username = new Bucket(5, Duration.ofSeconds(12));
+
+        /**
+         * Attempts per client address.
+         */
+        private Bucket address = new Bucket(20, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Token bucket: holds up to capacity attempts and regains one every refill interval.
+     */
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        /**
+         * Attempts allowed in a burst.
+         */
+        private int capacity;
+
+        /**
+         * Time to regain one attempt; the sustained rate is one attempt per interval.
+         */
+        private Duration refillInterval;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, Duration refillInterval) {
+            this.capacity = capacity;
+            this.refillInterval = refillInterval;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.specdriven.config;
+
+import com.example.specdriven.security.PasswordAlgorithm;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for password handling.
+ * Binds to 'password.*' properties in application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "password")
+@Getter
+@Setter
+public class PasswordConfig {
+
+    /**
+     * Executor that hashes passwords for user writes, outside any database transaction.
+     */
+    private Hashing hashing = new Hashing();
+
+    /**
+     * Algorithm and cost for new password hashes.
+     */
+    private Encoding encoding = new Encoding();
+
+    /**
+     * Algorithm and cost of the password encoder.
+     * Stored hashes of another algorithm, or of another cost, are rehashed on the next login.
+     */
+    @Getter
+    @Setter
+    public static class Encoding {
+
+        /**
+         * Algorithm for new hashes: bcrypt, pbkdf2 or argon2.
+         */
+        private PasswordAlgorithm algorithm = PasswordAlgorithm.BCRYPT;
+
+        /**
+         * Verification time the cost is calibrated to at startup. Higher costs each login more
+         * CPU and each guess of an attacker holding the hashes more time.
+         */
+        private Duration targetVerifyTime = Duration.ofMillis(100);
+
+        /**
+         * Fixed cost that skips calibration (BCrypt strength, PBKDF2 iterations or Argon2 passes).
+         * Pin it when instances run on different hardware, so they agree on which hashes are
+         * off-target.
+         */
+        private Integer cost;
+
+        /**
+         * Stored hashes sampled to choose the algorithm and cost that logins for unknown usernames
+         * are verified at, so they take as long as a wrong password for most real users.
+         */
+        private int dummySampleSize = 1000;
+
+        /**
+         * How long a sample is used before it is retaken, as rehashing on login moves stored
+         * hashes to the configured cost.
+         */
+        private Duration dummyMaxAge = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Sizing of the password hashing executor.
+     */
+    @Getter
+    @Setter
+    public static class Hashing {
+
+        /**
+         * Number of hashing threads; hashing is CPU bound, so more threads than cores only
+         * adds contention.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Hashes waiting for a thread before callers hash on their own thread instead.
+         */
+        private int queueCapacity = 64;
+    }
+}
@@ -1,26 +1,62 @@
 package com.example.specdriven.config;
 
+import com.example.specdriven.security.PasswordAlgorithm;
+import com.example.specdriven.security.PasswordCostCalibrator;
+import com.example.specdriven.security.TimedPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration for password encoding.
- * Uses BCrypt for secure password hashing.
+ * New hashes use the configured algorithm and are prefixed with its ID ({@code {bcrypt}...}),
+ * so hashes of every supported algorithm keep verifying when the algorithm changes.
+ *
+ * The cost of new hashes is fixed by configuration or calibrated at startup to the target
+ * verification time on this machine.
  */
 @Configuration
 public class PasswordEncoderConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
     /**
-     * Create a BCrypt password encoder bean.
-     * BCrypt is a secure adaptive hash function designed for password hashing.
-     * It includes a salt to protect against rainbow table attacks.
+     * Create the delegating password encoder.
+     * Hashes stored before IDs were prefixed are plain BCrypt and still verify; they, hashes of
+     * other algorithms and hashes of another cost all report {@link PasswordEncoder#upgradeEncoding}.
+     * Returned as a {@link TimedPasswordEncoder} so hashing time is exposed as meters.
      *
-     * @return BCryptPasswordEncoder instance
+     * @param passwordConfig the algorithm and cost settings
+     * @return timed DelegatingPasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public TimedPasswordEncoder passwordEncoder(PasswordConfig passwordConfig) {
+        PasswordConfig.Encoding encoding = passwordConfig.getEncoding();
+        PasswordAlgorithm algorithm = encoding.getAlgorithm();
+        int cost = encoding.getCost() != null ? encoding.getCost() : calibrate(algorithm, encoding);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        for (PasswordAlgorithm each : PasswordAlgorithm.values()) {
+            // Other algorithms only verify, and every hash carries its own cost
+            encoders.put(each.id(), each.encoder(each == algorithm ? cost : each.minCost()));
+        }
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm.id(), encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get(PasswordAlgorithm.BCRYPT.id()));
+        return new TimedPasswordEncoder(passwordEncoder);
+    }
+
+    private static int calibrate(PasswordAlgorithm algorithm, PasswordConfig.Encoding encoding) {
+        PasswordCostCalibrator.Calibration calibration =
+                new PasswordCostCalibrator().calibrate(algorithm, encoding.getTargetVerifyTime());
+        logger.info("Calibrated {} cost {} for a {} ms target ({} ms per verification at cost {})",
+                algorithm.id(), calibration.cost(), encoding.getTargetVerifyTime().toMillis(),
+                calibration.baseTime().toMillis(), calibration.baseCost());
+        return calibration.cost();
     }
 }
@@ -1,14 +1,24 @@
 package com.example.specdriven.config;
 
-import com.example.specdriven.api.model.ErrorResponse;
 import com.example.specdriven.exception.ErrorResponseFactory;
-import com.example.specdriven.security.FeatureFlagSecurityFilter;
-import com.example.specdriven.security.JwtAuthenticationFilter;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.specdriven.exception.ErrorResponseWriter;
+import com.example.specdriven.exception.ErrorResponseWriter.EncodedError;
+import com.example.specdriven.security.RequiredPermissionAuthorizationManager;
+import com.example.specdriven.security.RequiresPermission;
+import com.example.specdriven.security.RouteClassifier;
+import com.example.specdriven.security.SecurityDispatchFilter;
+import com.example.specdriven.service.RoleCatalog;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.MediaType;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,37 +27,43 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * Spring Security configuration for the application.
  * Configures authentication, authorization, and security filters.
  * 
  * Filter Chain Order:
- * 1. FeatureFlagSecurityFilter - Gates endpoints based on feature flag
- * 2. JwtAuthenticationFilter - Validates JWT tokens
- * 3. UsernamePasswordAuthenticationFilter (Spring's default)
+ * 1. SecurityDispatchFilter - Classifies the route once, gates it on the feature flag and
+ *    validates JWT tokens
+ * 2. UsernamePasswordAuthenticationFilter (Spring's default)
  * 
- * Security Rules:
+ * Security Rules (from the OpenAPI document, see RouteClassifier):
  * - /ping: Always accessible (no authentication required, bypasses feature flag)
  * - /login: Accessible without authentication (gated by feature flag)
  * - /users/**: Requires authentication (JWT bearer token), gated by feature flag
+ * - /test/** and /h2-console/**: Accessible without authentication outside production
  * - All other endpoints: Require authentication by default
+ *
+ * Method Security:
+ * - @RequiresPermission on controller methods, checked as a permission bitmask
+ *   (see RequiredPermissionAuthorizationManager); denials surface as 403 FORBIDDEN
  */
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final FeatureFlagSecurityFilter featureFlagSecurityFilter;
-    private final ObjectMapper objectMapper;
+    private final SecurityDispatchFilter securityDispatchFilter;
+    private final RouteClassifier routeClassifier;
+    private final ErrorResponseWriter errorResponseWriter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
-                          FeatureFlagSecurityFilter featureFlagSecurityFilter,
-                          ObjectMapper objectMapper) {
-        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
-        this.featureFlagSecurityFilter = featureFlagSecurityFilter;
-        this.objectMapper = objectMapper;
+    public SecurityConfig(SecurityDispatchFilter securityDispatchFilter,
+                          RouteClassifier routeClassifier,
+                          ErrorResponseWriter errorResponseWriter) {
+        this.securityDispatchFilter = securityDispatchFilter;
+        this.routeClassifier = routeClassifier;
+        this.errorResponseWriter = errorResponseWriter;
     }
 
     /**
@@ -66,14 +82,8 @@ public class SecurityConfig {
             
             // Configure authorization rules
             .authorizeHttpRequests(authz -> authz
-                // Public endpoints (no authentication required)
-                .requestMatchers("/ping").permitAll()
-                .requestMatchers("/login").permitAll()
-                .requestMatchers("/test/**").permitAll() // Test endpoints for integration tests
-                .requestMatchers("/h2-console/**").permitAll() // H2 console for development
-                
-                // Protected endpoints (authentication required)
-                .requestMatchers("/users/**").authenticated()
+                // Public endpoints (no authentication required), as tagged by the dispatch filter
+                .requestMatchers(request -> routeClassifier.route(request).isPublic()).permitAll()
                 
                 // All other requests require authentication
                 .anyRequest().authenticated()
@@ -101,38 +111,58 @@ public class SecurityConfig {
                 .frameOptions(frame -> frame.sameOrigin())
             )
             
-            // Add FeatureFlagSecurityFilter first (before JWT filter)
-            .addFilterBefore(featureFlagSecurityFilter, UsernamePasswordAuthenticationFilter.class)
-            
-            // Add JWT authentication filter before UsernamePasswordAuthenticationFilter
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            // Single security stage: feature flag gate and JWT authentication
+            .addFilterBefore(securityDispatchFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Keep the dispatch filter out of the servlet container's own filter chain.
+     * As a filter bean it would otherwise also be registered there, and every request would
+     * pass it a second time only to be skipped.
+     */
+    @Bean
+    public FilterRegistrationBean<SecurityDispatchFilter> securityDispatchFilterRegistration() {
+        FilterRegistrationBean<SecurityDispatchFilter> registration =
+                new FilterRegistrationBean<>(securityDispatchFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Method interceptor enforcing @RequiresPermission, in the slot @PreAuthorize would use.
+     * Static and infrastructure-scoped so it is available to the method security proxy creator;
+     * the role catalog is looked up once, on the first call.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresPermissionAuthorizationAdvisor(ObjectProvider<RoleCatalog> roleCatalogProvider) {
+        SingletonSupplier<RoleCatalog> roleCatalog = SingletonSupplier.of(roleCatalogProvider::getObject);
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                AnnotationMatchingPointcut.forMethodAnnotation(RequiresPermission.class),
+                new RequiredPermissionAuthorizationManager(() -> roleCatalog.obtain().permissionIndex()));
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
     /**
      * Custom authentication entry point for handling 401 responses.
      * Returns JSON error response when authentication is required but not provided.
+     * The body is fixed, so it is serialized once.
      */
     @Bean
     public AuthenticationEntryPoint authenticationEntryPoint() {
-        return (request, response, authException) -> {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            ErrorResponse error = ErrorResponseFactory.authenticationRequired("Authentication required");
-            objectMapper.writeValue(response.getOutputStream(), error);
-        };
+        EncodedError error = errorResponseWriter.encode(
+                ErrorResponseFactory.authenticationRequired("Authentication required"));
+        return (request, response, authException) ->
+                errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, error);
     }
 
     @Bean
     public AccessDeniedHandler accessDeniedHandler() {
-        return (request, response, accessDeniedException) -> {
-            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            ErrorResponse error = new ErrorResponse();
-            error.setCode("FORBIDDEN");
-            error.setMessage("Access denied");
-            objectMapper.writeValue(response.getOutputStream(), error);
-        };
+        EncodedError error = errorResponseWriter.encode(ErrorResponseFactory.forbidden("Access denied"));
+        return (request, response, accessDeniedException) ->
+                errorResponseWriter.write(response, HttpServletResponse.SC_FORBIDDEN, error);
     }
 }
@@ -0,0 +1,168 @@
+package com.example.specdriven.config;
+
+import com.example.specdriven.security.RouteClassifier;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements and database time of each request with {@link StatementTracker}.
+ * Records both per endpoint as meters once a registry is bound, and outside production reports
+ * them in the {@value #STATEMENTS_HEADER} and {@value #TIME_HEADER} response headers, so an
+ * N+1 query shows up in any client or test that makes the call.
+ *
+ * Runs first, ahead of the security filters, so statements made while authenticating count.
+ * Headers have to be set before the response commits, so they report the statements made up to
+ * the start of the response body, or up to the end of the request when there is no body.
+ * While the tracker is disabled, requests pass through untouched.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StatementCountFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String STATEMENTS_HEADER = "X-Db-Statements";
+    public static final String TIME_HEADER = "X-Db-Time-Ms";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final StatementTracker statementTracker;
+    private final boolean exposeHeaders;
+    private volatile MeterRegistry registry;
+
+    @Autowired
+    public StatementCountFilter(StatementTracker statementTracker, Environment environment) {
+        this(statementTracker, !RouteClassifier.isProduction(environment));
+    }
+
+    /**
+     * @param statementTracker tracker the DataSource reports statements to
+     * @param exposeHeaders whether responses carry the counts
+     */
+    public StatementCountFilter(StatementTracker statementTracker, boolean exposeHeaders) {
+        this.statementTracker = statementTracker;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!statementTracker.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (StatementTracker.Recording recording = statementTracker.start(false)) {
+            if (!exposeHeaders) {
+                chain.doFilter(request, response);
+            } else {
+                CountingHeadersResponse countingResponse = new CountingHeadersResponse(response, recording);
+                chain.doFilter(request, countingResponse);
+                countingResponse.writeHeaders();
+            }
+            record(request, recording);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementTracker.Recording recording) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(recording.statements());
+        Timer.builder("http.server.requests.db.time")
+                .description("Time per request spent executing SQL statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(recording.time());
+    }
+
+    /**
+     * Sets the count headers once, just before anything could commit the response.
+     */
+    private static final class CountingHeadersResponse extends HttpServletResponseWrapper {
+
+        private final StatementTracker.Recording recording;
+        private boolean written;
+
+        CountingHeadersResponse(HttpServletResponse response, StatementTracker.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setIntHeader(STATEMENTS_HEADER, recording.statements());
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", recording.time().toNanos() / 1e6));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
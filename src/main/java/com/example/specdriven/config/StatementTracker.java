@@ -0,0 +1,225 @@
+package com.example.specdriven.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Counts the SQL statements a thread executes, and the time spent executing them.
+ * Wraps every DataSource bean so each statement execution is reported to the recordings open
+ * on the executing thread; with none open, executions cost two clock reads. Every statement is
+ * seen, whether it comes from Hibernate, Spring Data or a JdbcTemplate.
+ *
+ * A batch counts as one statement, since it is one round trip. Time is spent in the execute
+ * calls only, not in reading result sets.
+ *
+ * Off by default in production, where the proxies would sit on every JDBC call; see
+ * {@code jdbc-diagnostics.statements}. While off, DataSources are left unwrapped and recordings
+ * stay empty.
+ */
+@Component
+public class StatementTracker implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+    private final boolean enabled;
+
+    @Autowired
+    public StatementTracker(Environment environment) {
+        this(JdbcDiagnosticsConfig.from(environment).isStatementsEnabled(environment));
+    }
+
+    /**
+     * @param enabled whether DataSources are wrapped
+     */
+    public StatementTracker(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return whether statements are being counted
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Start recording the statements this thread executes, until the recording is closed.
+     * Recordings nest: statements are reported to every recording open on the thread.
+     *
+     * @param captureSql whether to keep the SQL of each statement, for diagnostics
+     * @return the recording; close it on the same thread, innermost first
+     */
+    public Recording start(boolean captureSql) {
+        Recording recording = new Recording(current.get(), captureSql);
+        current.set(recording);
+        return recording;
+    }
+
+    void record(String sql, long nanos) {
+        for (Recording recording = current.get(); recording != null; recording = recording.parent) {
+            recording.add(sql, nanos);
+        }
+    }
+
+    /**
+     * Statements executed on one thread while it was open.
+     */
+    public final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final List<String> sql;
+        private int statements;
+        private long nanos;
+
+        private Recording(Recording parent, boolean captureSql) {
+            this.parent = parent;
+            this.sql = captureSql ? new ArrayList<>() : null;
+        }
+
+        private void add(String statementSql, long statementNanos) {
+            statements++;
+            nanos += statementNanos;
+            if (sql != null) {
+                sql.add(statementSql);
+            }
+        }
+
+        /**
+         * @return statements executed so far
+         */
+        public int statements() {
+            return statements;
+        }
+
+        /**
+         * @return time spent executing them
+         */
+        public Duration time() {
+            return Duration.ofNanos(nanos);
+        }
+
+        /**
+         * @return the SQL of each statement in execution order; empty unless captured
+         */
+        public List<String> sql() {
+            return sql == null ? List.of() : List.copyOf(sql);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "getTargetConnection":
+                            return connection;
+                        default:
+                            break;
+                    }
+                    Object result = invoke(method, connection, args);
+                    if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                        return counting(statement, method.getReturnType(), sqlArgument(args));
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Wrap a statement created by prepareStatement, prepareCall or createStatement, as the
+     * interface that method returns.
+     */
+    private Object counting(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(
+                StatementTracker.class.getClassLoader(),
+                new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        // Hibernate keys open statements by the proxy
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(method, statement, args);
+                    }
+                    String sql = sqlArgument(args);
+                    long started = System.nanoTime();
+                    try {
+                        return invoke(method, statement, args);
+                    } finally {
+                        record(sql != null ? sql : preparedSql, System.nanoTime() - started);
+                    }
+                });
+    }
+
+    private static String sqlArgument(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+    }
+}
@@ -3,21 +3,32 @@ package com.example.specdriven.controller;
 import com.example.specdriven.api.LoginApi;
 import com.example.specdriven.api.model.LoginRequest;
 import com.example.specdriven.api.model.LoginResponse;
+import com.example.specdriven.exception.TooManyRequestsException;
+import com.example.specdriven.service.LoginRateLimiter;
 import com.example.specdriven.service.LoginService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controller implementing the Login API for user authentication.
- * Delegates to LoginService for business logic.
+ * Delegates to LoginService for business logic, after the attempt has passed the
+ * {@link LoginRateLimiter}.
  */
 @RestController
 public class LoginController implements LoginApi {
 
     private final LoginService loginService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final HttpServletRequest request;
 
-    public LoginController(LoginService loginService) {
+    /**
+     * @param request proxy to the current request, used for the client address
+     */
+    public LoginController(LoginService loginService, LoginRateLimiter loginRateLimiter, HttpServletRequest request) {
         this.loginService = loginService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.request = request;
     }
 
     /**
@@ -25,9 +36,11 @@ public class LoginController implements LoginApi {
      *
      * @param loginRequest the login credentials
      * @return 200 OK with LoginResponse containing the token
+     * @throws TooManyRequestsException if the username or client address is over its rate limit
      */
     @Override
     public ResponseEntity<LoginResponse> login(LoginRequest loginRequest) {
+        loginRateLimiter.acquire(loginRequest.getUsername(), request.getRemoteAddr());
         LoginResponse response = loginService.login(loginRequest);
         return ResponseEntity.ok(response);
     }
@@ -2,11 +2,11 @@ package com.example.specdriven.controller;
 
 import com.example.specdriven.api.UsersApi;
 import com.example.specdriven.api.model.*;
+import com.example.specdriven.security.RequiresPermission;
 import com.example.specdriven.service.RoleService;
 import com.example.specdriven.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.UUID;
@@ -33,7 +33,7 @@ public class UsersController implements UsersApi {
      * @return 201 Created with the new User
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_CREATE')")
+    @RequiresPermission("USER_CREATE")
     public ResponseEntity<User> createUser(CreateUserRequest createUserRequest) {
         User user = userService.createUser(createUserRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(user);
@@ -46,7 +46,7 @@ public class UsersController implements UsersApi {
      * @return 200 OK with the User
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_READ')")
+    @RequiresPermission("USER_READ")
     public ResponseEntity<User> getUserById(UUID userId) {
         User user = userService.getUserById(userId);
         return ResponseEntity.ok(user);
@@ -60,7 +60,7 @@ public class UsersController implements UsersApi {
      * @return 200 OK with the updated User
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_UPDATE')")
+    @RequiresPermission("USER_UPDATE")
     public ResponseEntity<User> updateUser(UUID userId, UpdateUserRequest updateUserRequest) {
         User user = userService.updateUser(userId, updateUserRequest);
         return ResponseEntity.ok(user);
@@ -73,7 +73,7 @@ public class UsersController implements UsersApi {
      * @return 204 No Content
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_DELETE')")
+    @RequiresPermission("USER_DELETE")
     public ResponseEntity<Void> deleteUser(UUID userId) {
         userService.deleteUser(userId);
         return ResponseEntity.noContent().build();
@@ -82,19 +82,23 @@ public class UsersController implements UsersApi {
     /**
      * List users with pagination and optional filters.
      *
-     * @param page 1-based page number
+     * @param page 1-based page number, required unless a cursor is given
      * @param pageSize number of items per page
      * @param username optional username filter
      * @param emailAddress optional email filter
      * @param name optional name filter
      * @param roleName optional role filter
+     * @param cursor optional cursor from a previous page, used instead of page
+     * @param totals optional totals mode (exact, approximate or none)
      * @return 200 OK with paginated user list
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_LIST')")
+    @RequiresPermission("USER_LIST")
     public ResponseEntity<UserPage> listUsers(Integer page, Integer pageSize, String username,
-                                              String emailAddress, String name, RoleName roleName) {
-        UserPage userPage = userService.listUsers(page, pageSize, username, emailAddress, name, roleName);
+                                              String emailAddress, String name, RoleName roleName,
+                                              String cursor, TotalsMode totals) {
+        UserPage userPage = userService.listUsers(page, pageSize, username, emailAddress, name, roleName,
+                cursor, totals);
         return ResponseEntity.ok(userPage);
     }
 
@@ -106,7 +110,7 @@ public class UsersController implements UsersApi {
      * @return 204 No Content
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_ROLE_MANAGE')")
+    @RequiresPermission("USER_ROLE_MANAGE")
     public ResponseEntity<Void> assignRoleToUser(UUID userId, RoleName roleName) {
         roleService.assignRole(userId, roleName);
         return ResponseEntity.noContent().build();
@@ -120,7 +124,7 @@ public class UsersController implements UsersApi {
      * @return 204 No Content
      */
     @Override
-    @PreAuthorize("hasAuthority('USER_ROLE_MANAGE')")
+    @RequiresPermission("USER_ROLE_MANAGE")
     public ResponseEntity<Void> removeRoleFromUser(UUID userId, RoleName roleName) {
         roleService.removeRole(userId, roleName);
         return ResponseEntity.noContent().build();
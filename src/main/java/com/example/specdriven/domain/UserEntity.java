@@ -1,10 +1,11 @@
 package com.example.specdriven.domain;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -12,14 +13,17 @@ import java.util.UUID;
 /**
  * Domain entity representing a user in the system.
  * Maps to the 'users' table in the database.
+ *
+ * The ID is assigned by the application, so newness is tracked explicitly: an instance is new
+ * until it is persisted or loaded, which lets save() persist it with a single INSERT instead of
+ * merging it with a SELECT first.
  */
 @Entity
 @Table(name = "users")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
-public class UserEntity {
+public class UserEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id")
@@ -42,4 +46,31 @@ public class UserEntity {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public UserEntity(UUID id, String username, String name, String emailAddress, String passwordHash,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.name = name;
+        this.emailAddress = emailAddress;
+        this.passwordHash = passwordHash;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.specdriven.event;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs invalidations for event listeners whose events are published inside a transaction.
+ *
+ * An invalidation run only when the event is published races with concurrent readers: until the
+ * transaction commits, they still see the old state in the database, and can load it back into
+ * a cache or stamp it into a token right after the invalidation. Running it again once the
+ * transaction completes, whether it committed or rolled back, removes whatever they left.
+ */
+public final class AfterCompletion {
+
+    private AfterCompletion() {
+    }
+
+    /**
+     * Run an action now and, inside a transaction, again once the transaction completes.
+     *
+     * @param action the invalidation; must be safe to repeat
+     */
+    public static void runNowAndAfterCompletion(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
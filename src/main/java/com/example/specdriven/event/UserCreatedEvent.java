@@ -0,0 +1,11 @@
+package com.example.specdriven.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when a user is created.
+ *
+ * @param userId the new user's ID
+ */
+public record UserCreatedEvent(UUID userId) {
+}
@@ -0,0 +1,18 @@
+package com.example.specdriven.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application event published when a user is deleted.
+ * The user's role assignments are removed with it via FK cascade.
+ *
+ * @param userId  the deleted user's ID
+ * @param roleIds IDs of the roles the user held when deleted
+ */
+public record UserDeletedEvent(UUID userId, List<UUID> roleIds) {
+
+    public UserDeletedEvent {
+        roleIds = List.copyOf(roleIds);
+    }
+}
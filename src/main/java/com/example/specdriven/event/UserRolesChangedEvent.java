@@ -0,0 +1,15 @@
+package com.example.specdriven.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when a role is assigned to or removed from a user.
+ * Only published when an assignment was actually added or removed.
+ * Listeners use it to drop any state derived from the user's role assignments.
+ *
+ * @param userId   the user whose roles changed
+ * @param roleId   the role that was assigned or removed
+ * @param assigned true if the role was assigned, false if it was removed
+ */
+public record UserRolesChangedEvent(UUID userId, UUID roleId, boolean assigned) {
+}
@@ -0,0 +1,11 @@
+package com.example.specdriven.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when a user's profile fields are updated.
+ *
+ * @param userId the updated user's ID
+ */
+public record UserUpdatedEvent(UUID userId) {
+}
@@ -4,7 +4,7 @@ package com.example.specdriven.exception;
  * Exception thrown when authentication fails or is required.
  * Maps to HTTP 401 Unauthorized with AUTHENTICATION_REQUIRED or AUTHENTICATION_FAILED error code.
  */
-public class AuthenticationException extends RuntimeException {
+public class AuthenticationException extends StacklessException {
 
     public AuthenticationException(String message) {
         super(message);
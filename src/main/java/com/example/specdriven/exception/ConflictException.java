@@ -4,7 +4,7 @@ package com.example.specdriven.exception;
  * Exception thrown when a resource conflict occurs (e.g., duplicate email).
  * Maps to HTTP 409 Conflict with CONFLICT error code.
  */
-public class ConflictException extends RuntimeException {
+public class ConflictException extends StacklessException {
 
     public ConflictException(String message) {
         super(message);
@@ -0,0 +1,64 @@
+package com.example.specdriven.exception;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts error responses by {@link ErrorResponseFactory} code, whether an exception handler or
+ * a security filter wrote them. Exposed as the {@code api.errors} counter tagged with the code.
+ */
+@Component
+public class ErrorMetrics implements MeterBinder {
+
+    private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Count one error response.
+     *
+     * @param code the error code, from {@link ErrorResponseFactory}
+     */
+    public void increment(String code) {
+        LongAdder count = counts.get(code);
+        if (count == null) {
+            count = counts.computeIfAbsent(code, this::newCount);
+        }
+        count.increment();
+    }
+
+    /**
+     * @return error responses with the code so far
+     */
+    public long count(String code) {
+        LongAdder count = counts.get(code);
+        return count == null ? 0 : count.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        counts.forEach((code, count) -> register(registry, code, count));
+    }
+
+    private LongAdder newCount(String code) {
+        LongAdder count = new LongAdder();
+        MeterRegistry bound = registry;
+        if (bound != null) {
+            register(bound, code, count);
+        }
+        return count;
+    }
+
+    private static void register(MeterRegistry registry, String code, LongAdder count) {
+        FunctionCounter.builder("api.errors", count, LongAdder::sum)
+                .description("Error responses by error code")
+                .tag("code", code)
+                .register(registry);
+    }
+}
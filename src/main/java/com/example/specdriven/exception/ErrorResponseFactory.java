@@ -14,8 +14,10 @@ public class ErrorResponseFactory {
     public static final String CONFLICT = "CONFLICT";
     public static final String AUTHENTICATION_REQUIRED = "AUTHENTICATION_REQUIRED";
     public static final String AUTHENTICATION_FAILED = "AUTHENTICATION_FAILED";
+    public static final String FORBIDDEN = "FORBIDDEN";
     public static final String INTERNAL_ERROR = "INTERNAL_ERROR";
     public static final String SERVICE_UNAVAILABLE = "SERVICE_UNAVAILABLE";
+    public static final String TOO_MANY_REQUESTS = "TOO_MANY_REQUESTS";
 
     /**
      * Create an error response for validation failures.
@@ -82,6 +84,19 @@ public class ErrorResponseFactory {
         return error;
     }
 
+    /**
+     * Create an error response for authenticated users lacking a permission.
+     *
+     * @param message user-friendly error message
+     * @return ErrorResponse with FORBIDDEN code
+     */
+    public static ErrorResponse forbidden(String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode(FORBIDDEN);
+        error.setMessage(message);
+        return error;
+    }
+
     /**
      * Create an error response for internal server errors.
      *
@@ -107,4 +122,17 @@ public class ErrorResponseFactory {
         error.setMessage(message);
         return error;
     }
+
+    /**
+     * Create an error response for clients that exceeded their rate limit.
+     *
+     * @param message user-friendly error message
+     * @return ErrorResponse with TOO_MANY_REQUESTS code
+     */
+    public static ErrorResponse tooManyRequests(String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode(TOO_MANY_REQUESTS);
+        error.setMessage(message);
+        return error;
+    }
 }
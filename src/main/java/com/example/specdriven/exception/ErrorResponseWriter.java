@@ -0,0 +1,102 @@
+package com.example.specdriven.exception;
+
+import com.example.specdriven.api.model.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes JSON error responses outside Spring MVC, for the security filters and handlers that
+ * reject requests before a controller runs.
+ *
+ * Fixed errors are encoded once with {@link #encode(ErrorResponse)} and then written as plain
+ * bytes, so a rejection serializes nothing and allocates nothing. Errors with a dynamic message
+ * go through an {@link ObjectWriter} resolved once for {@link ErrorResponse}.
+ * Both set Content-Length, and count the error in {@link ErrorMetrics}.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private final ObjectWriter errorWriter;
+    private final ErrorMetrics errorMetrics;
+
+    public ErrorResponseWriter(ObjectMapper objectMapper, ErrorMetrics errorMetrics) {
+        this.errorWriter = objectMapper.writerFor(ErrorResponse.class);
+        this.errorMetrics = errorMetrics;
+    }
+
+    /**
+     * Encode a fixed error body once, for writing many times.
+     *
+     * @param error the error, typically from {@link ErrorResponseFactory}
+     * @return the encoded body
+     */
+    public EncodedError encode(ErrorResponse error) {
+        return new EncodedError(error.getCode(), toBytes(error));
+    }
+
+    /**
+     * Write a pre-encoded error body.
+     *
+     * @param response the response
+     * @param status the HTTP status
+     * @param error the encoded body
+     */
+    public void write(HttpServletResponse response, int status, EncodedError error) throws IOException {
+        errorMetrics.increment(error.code);
+        writeBody(response, status, error.body);
+    }
+
+    /**
+     * Write an error with a message only known at the time of the error.
+     *
+     * @param response the response
+     * @param status the HTTP status
+     * @param error the error
+     */
+    public void write(HttpServletResponse response, int status, ErrorResponse error) throws IOException {
+        errorMetrics.increment(error.getCode());
+        writeBody(response, status, toBytes(error));
+    }
+
+    private static void writeBody(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] toBytes(ErrorResponse error) {
+        try {
+            return errorWriter.writeValueAsBytes(error);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize error response " + error.getCode(), ex);
+        }
+    }
+
+    /**
+     * An error body serialized ahead of time. Immutable; share it freely.
+     */
+    public static final class EncodedError {
+
+        private final String code;
+        private final byte[] body;
+
+        private EncodedError(String code, byte[] body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        /**
+         * @return the body length in bytes
+         */
+        public int length() {
+            return body.length;
+        }
+    }
+}
@@ -16,29 +16,43 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 
 import jakarta.validation.ConstraintViolationException;
 
+import java.time.Duration;
+
 /**
  * Global exception handler for the application.
  * Maps exceptions to HTTP status codes and ErrorResponse objects.
  * 
  * HTTP Status Semantics for Retry Behavior:
- * - 4xx (Client Errors): Do NOT retry without changing the request
+ * - 4xx (Client Errors): Do NOT retry without changing the request, except 429 after its Retry-After delay
  * - 5xx (Server Errors): MAY retry with exponential backoff
  * 
  * No 'retryable' field is included in error responses.
  * Clients should infer retry behavior from HTTP status codes.
+ *
+ * Client errors and load shedding are logged through {@link SampledErrorLogger}, at most once per
+ * error code per interval. Server errors are logged every time, with their stack trace. Every
+ * error is counted by code in {@link ErrorMetrics}.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final SampledErrorLogger errorLogger;
+    private final ErrorMetrics errorMetrics;
+
+    public GlobalExceptionHandler(SampledErrorLogger errorLogger, ErrorMetrics errorMetrics) {
+        this.errorLogger = errorLogger;
+        this.errorMetrics = errorMetrics;
+    }
+
     /**
      * Handle validation exceptions (400 Bad Request).
      * Client should not retry without fixing validation errors.
      */
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(ValidationException ex, WebRequest request) {
-        logger.warn("Validation failed: {}", ex.getMessage());
+        recordClientError(ErrorResponseFactory.VALIDATION_FAILED, "Validation failed: {}", ex.getMessage());
         ErrorResponse error = ErrorResponseFactory.validationFailed(ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -53,7 +67,7 @@ public class GlobalExceptionHandler {
         if (ex.getBindingResult().hasErrors()) {
             message += ex.getBindingResult().getAllErrors().get(0).getDefaultMessage();
         }
-        logger.warn("Method argument validation failed: {}", message);
+        recordClientError(ErrorResponseFactory.VALIDATION_FAILED, "Method argument validation failed: {}", message);
         ErrorResponse error = ErrorResponseFactory.validationFailed(message);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -66,7 +80,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleMissingServletRequestParameter(
             MissingServletRequestParameterException ex, WebRequest request) {
         String message = "Required parameter '" + ex.getParameterName() + "' is missing";
-        logger.warn("Missing request parameter: {}", message);
+        recordClientError(ErrorResponseFactory.VALIDATION_FAILED, "Missing request parameter: {}", message);
         ErrorResponse error = ErrorResponseFactory.validationFailed(message);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -79,7 +93,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleConstraintViolation(
             ConstraintViolationException ex, WebRequest request) {
         String message = "Validation failed: " + ex.getMessage();
-        logger.warn("Constraint violation: {}", message);
+        recordClientError(ErrorResponseFactory.VALIDATION_FAILED, "Constraint violation: {}", message);
         ErrorResponse error = ErrorResponseFactory.validationFailed(message);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -95,7 +109,7 @@ public class GlobalExceptionHandler {
         if (!ex.getAllErrors().isEmpty()) {
             message = "Validation failed: " + ex.getAllErrors().get(0).getDefaultMessage();
         }
-        logger.warn("Handler method validation failed: {}", message);
+        recordClientError(ErrorResponseFactory.VALIDATION_FAILED, "Handler method validation failed: {}", message);
         ErrorResponse error = ErrorResponseFactory.validationFailed(message);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -114,7 +128,7 @@ public class GlobalExceptionHandler {
                 message += ". Valid values are: " + java.util.Arrays.toString(enumConstants);
             }
         }
-        logger.warn("Type mismatch: {}", message);
+        recordClientError(ErrorResponseFactory.VALIDATION_FAILED, "Type mismatch: {}", message);
         ErrorResponse error = ErrorResponseFactory.validationFailed(message);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
@@ -125,7 +139,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex, WebRequest request) {
-        logger.warn("Resource not found: {}", ex.getMessage());
+        recordClientError(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", ex.getMessage());
         ErrorResponse error = ErrorResponseFactory.resourceNotFound(ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
@@ -136,7 +150,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<ErrorResponse> handleConflict(ConflictException ex, WebRequest request) {
-        logger.warn("Conflict: {}", ex.getMessage());
+        recordClientError(ErrorResponseFactory.CONFLICT, "Conflict: {}", ex.getMessage());
         ErrorResponse error = ErrorResponseFactory.conflict(ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
@@ -147,7 +161,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
-        logger.warn("Authentication failed: {}", ex.getMessage());
+        recordClientError(ErrorResponseFactory.AUTHENTICATION_FAILED, "Authentication failed: {}", ex.getMessage());
         ErrorResponse error = ErrorResponseFactory.authenticationFailed(ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
     }
@@ -159,10 +173,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(org.springframework.security.authorization.AuthorizationDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAuthorizationDeniedException(
             org.springframework.security.authorization.AuthorizationDeniedException ex, WebRequest request) {
-        logger.warn("Access denied: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse();
-        error.setCode("FORBIDDEN");
-        error.setMessage("Access denied");
+        recordClientError(ErrorResponseFactory.FORBIDDEN, "Access denied: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponseFactory.forbidden("Access denied");
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
@@ -173,10 +185,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(org.springframework.security.access.AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDeniedException(
             org.springframework.security.access.AccessDeniedException ex, WebRequest request) {
-        logger.warn("Access denied: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse();
-        error.setCode("FORBIDDEN");
-        error.setMessage("Access denied");
+        recordClientError(ErrorResponseFactory.FORBIDDEN, "Access denied: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponseFactory.forbidden("Access denied");
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
@@ -188,12 +198,54 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<ErrorResponse> handleDataAccessException(DataAccessException ex, WebRequest request) {
         logger.error("Database access error: {}", ex.getMessage(), ex);
+        errorMetrics.increment(ErrorResponseFactory.SERVICE_UNAVAILABLE);
         ErrorResponse error = ErrorResponseFactory.serviceUnavailable("Service temporarily unavailable. Please try again later.");
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .header("Retry-After", "60") // Suggest retry after 60 seconds
                 .body(error);
     }
 
+    /**
+     * Handle load shedding (503 Service Unavailable).
+     * Client MAY retry after the Retry-After delay, which reflects current load.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex, WebRequest request) {
+        recordClientError(ErrorResponseFactory.SERVICE_UNAVAILABLE, "Shedding load: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponseFactory.serviceUnavailable(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", retryAfterSeconds(ex.getRetryAfter()))
+                .body(error);
+    }
+
+    /**
+     * Handle rate limiting (429 Too Many Requests).
+     * Client SHOULD NOT retry before the Retry-After delay; earlier attempts are rejected again.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex, WebRequest request) {
+        recordClientError(ErrorResponseFactory.TOO_MANY_REQUESTS, "Rate limited: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponseFactory.tooManyRequests(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", retryAfterSeconds(ex.getRetryAfter()))
+                .body(error);
+    }
+
+    /**
+     * Log a client or load shedding error through the sampled logger and count it.
+     */
+    private void recordClientError(String code, String format, Object argument) {
+        errorLogger.warn(code, format, argument);
+        errorMetrics.increment(code);
+    }
+
+    /**
+     * Retry-After in whole seconds, rounded up so clients never retry early, and at least 1.
+     */
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
     /**
      * Handle all other unexpected exceptions (500 Internal Server Error).
      * Client MAY retry with exponential backoff.
@@ -202,6 +254,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
         logger.error("Unexpected error: {}", ex.getMessage(), ex);
+        errorMetrics.increment(ErrorResponseFactory.INTERNAL_ERROR);
         ErrorResponse error = ErrorResponseFactory.internalError("An unexpected error occurred. Please try again later.");
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -0,0 +1,138 @@
+package com.example.specdriven.exception;
+
+import com.example.specdriven.config.DaemonThreadFactory;
+import com.example.specdriven.config.ErrorLogConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limited logging for handled client errors, so a flood of 404s or 400s costs a counter
+ * increment per request instead of a log line. Server errors are not sampled: each one can have
+ * a different cause, and is logged in full by the handler.
+ *
+ * Per error code, the first error in each interval is logged with its message. Later errors in
+ * the same interval are only counted. The count is logged as one line once the interval ends,
+ * by a background flush every interval, or just before the code's next logged error if that
+ * comes first, so a flood that stops still reports how many errors it hid.
+ */
+@Component
+public class SampledErrorLogger implements DisposableBean {
+
+    private static final String SKIPPED = "Skipped logging {} further {} errors since the last one logged";
+
+    private final long intervalNanos;
+    private final Logger logger;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    @Autowired
+    public SampledErrorLogger(ErrorLogConfig errorLogConfig) {
+        this(errorLogConfig.getInterval(), LoggerFactory.getLogger(GlobalExceptionHandler.class), System::nanoTime,
+                true);
+    }
+
+    /**
+     * Without a background flush; skipped counts are reported by {@link #flush()}.
+     */
+    SampledErrorLogger(Duration interval, Logger logger, LongSupplier nanoTime) {
+        this(interval, logger, nanoTime, false);
+    }
+
+    private SampledErrorLogger(Duration interval, Logger logger, LongSupplier nanoTime, boolean scheduleFlush) {
+        this.intervalNanos = interval.toNanos();
+        this.logger = logger;
+        this.nanoTime = nanoTime;
+        if (scheduleFlush && intervalNanos > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("error-log-flush"));
+            flusher.scheduleAtFixedRate(this::flush, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Log a client or load shedding error at WARN, unless its code was already logged this interval.
+     *
+     * @param code the error code, from {@link ErrorResponseFactory}
+     * @param format the log message format
+     * @param argument the format argument
+     */
+    public void warn(String code, String format, Object argument) {
+        long skipped = admit(code);
+        if (skipped < 0) {
+            return;
+        }
+        if (skipped > 0) {
+            logger.warn(SKIPPED, skipped, code);
+        }
+        logger.warn(format, argument);
+    }
+
+    /**
+     * Log the skipped count of every code whose interval has ended.
+     */
+    void flush() {
+        long now = nanoTime.getAsLong();
+        windows.forEach((code, window) -> {
+            if (now - window.start.get() >= intervalNanos) {
+                long skipped = window.skipped.sumThenReset();
+                if (skipped > 0) {
+                    logger.warn(SKIPPED, skipped, code);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+    }
+
+    /**
+     * @return -1 if the error should only be counted, otherwise the number of errors with the
+     *         same code counted since the last one logged
+     */
+    private long admit(String code) {
+        if (intervalNanos <= 0) {
+            return 0;
+        }
+        long now = nanoTime.getAsLong();
+        Window window = windows.computeIfAbsent(code, c -> new Window(now - intervalNanos));
+        long start = window.start.get();
+        if (now - start < intervalNanos || !window.start.compareAndSet(start, now)) {
+            window.skipped.increment();
+            return -1;
+        }
+        return window.skipped.sumThenReset();
+    }
+
+    /**
+     * Logging interval of one error code: when its logged error happened, and how many have been
+     * counted since.
+     */
+    private static final class Window {
+
+        private final AtomicLong start;
+        private final LongAdder skipped = new LongAdder();
+
+        Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
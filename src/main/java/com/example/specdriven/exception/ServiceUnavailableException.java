@@ -0,0 +1,25 @@
+package com.example.specdriven.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the service sheds load instead of queueing more work.
+ * Maps to HTTP 503 Service Unavailable with SERVICE_UNAVAILABLE error code and a Retry-After
+ * header telling the client when capacity is expected to be free again.
+ */
+public class ServiceUnavailableException extends StacklessException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Suggested delay before retrying.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.specdriven.exception;
+
+/**
+ * Base class for exceptions that report an expected outcome of a request, such as a missing
+ * resource or invalid input, and are turned into an error response by GlobalExceptionHandler.
+ *
+ * They are part of normal control flow, and the handler only uses the type and message, so they
+ * skip filling in the stack trace and recording suppressed exceptions, which would otherwise
+ * dominate the cost of a rejected request. A cause, if given, keeps its own stack trace.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.specdriven.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client exceeds its rate limit.
+ * Maps to HTTP 429 Too Many Requests with TOO_MANY_REQUESTS error code and a Retry-After
+ * header telling the client when its next attempt will be admitted.
+ */
+public class TooManyRequestsException extends StacklessException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Delay after which the next attempt will be admitted.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
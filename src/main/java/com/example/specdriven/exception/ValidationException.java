@@ -4,7 +4,7 @@ package com.example.specdriven.exception;
  * Exception thrown when request validation fails.
  * Maps to HTTP 400 Bad Request with VALIDATION_FAILED error code.
  */
-public class ValidationException extends RuntimeException {
+public class ValidationException extends StacklessException {
 
     public ValidationException(String message) {
         super(message);
@@ -3,7 +3,7 @@ package com.example.specdriven.mapper;
 import com.example.specdriven.api.model.*;
 import com.example.specdriven.domain.RoleEntity;
 import com.example.specdriven.domain.UserEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.specdriven.service.RoleCatalog;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -12,31 +12,26 @@ import java.util.stream.Collectors;
 
 /**
  * Mapper for converting between User API models (DTOs) and domain entities.
- * Handles password hashing during entity creation - passwords are NEVER returned in DTOs.
+ * Passwords arrive already hashed, so mapping never does CPU-heavy work - passwords are NEVER
+ * returned in DTOs.
  */
 @Component
 public class UserMapper {
 
-    private final PasswordEncoder passwordEncoder;
-
-    public UserMapper(PasswordEncoder passwordEncoder) {
-        this.passwordEncoder = passwordEncoder;
-    }
-
     /**
      * Convert CreateUserRequest to UserEntity.
-     * Hashes the password using BCrypt.
      *
      * @param request the create user request
+     * @param passwordHash the already hashed password from the request
      * @return new UserEntity with hashed password
      */
-    public UserEntity toEntity(CreateUserRequest request) {
+    public UserEntity toEntity(CreateUserRequest request, String passwordHash) {
         UserEntity entity = new UserEntity();
         entity.setId(UUID.randomUUID());
         entity.setUsername(request.getUsername());
         entity.setName(request.getName());
         entity.setEmailAddress(request.getEmailAddress());
-        entity.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        entity.setPasswordHash(passwordHash);
         
         LocalDateTime now = LocalDateTime.now();
         entity.setCreatedAt(now);
@@ -66,13 +61,14 @@ public class UserMapper {
 
     /**
      * Apply partial updates from UpdateUserRequest to existing UserEntity.
-     * Only non-null fields are updated. Password is hashed if provided.
+     * Only non-null fields are updated. The password hash is replaced if provided.
      *
      * @param request the update request
      * @param entity the existing entity to update
+     * @param passwordHash the already hashed new password, or null to keep the current one
      * @return updated UserEntity
      */
-    public UserEntity updateEntity(UpdateUserRequest request, UserEntity entity) {
+    public UserEntity updateEntity(UpdateUserRequest request, UserEntity entity, String passwordHash) {
         if (request.getUsername() != null) {
             entity.setUsername(request.getUsername());
         }
@@ -82,8 +78,8 @@ public class UserMapper {
         if (request.getEmailAddress() != null) {
             entity.setEmailAddress(request.getEmailAddress());
         }
-        if (request.getPassword() != null) {
-            entity.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        if (passwordHash != null) {
+            entity.setPasswordHash(passwordHash);
         }
         
         // Always update the timestamp on any update
@@ -116,4 +112,21 @@ public class UserMapper {
     public Role toRoleDto(RoleEntity roleEntity) {
         return toRoleDto(roleEntity, new LinkedHashSet<>());
     }
+
+    /**
+     * Convert a catalog role to Role DTO with empty permissions.
+     * Roles the API does not expose are not mapped.
+     *
+     * @param catalogRole the catalog role
+     * @return Role DTO, or null if the role has no API role name
+     */
+    public Role toRoleDto(RoleCatalog.CatalogRole catalogRole) {
+        if (catalogRole.roleName() == null) {
+            return null;
+        }
+        Role role = new Role();
+        role.setRoleName(catalogRole.roleName());
+        role.setPermissions(new LinkedHashSet<>());
+        return role;
+    }
 }
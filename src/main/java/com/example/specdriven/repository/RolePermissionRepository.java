@@ -0,0 +1,14 @@
+package com.example.specdriven.repository;
+
+import com.example.specdriven.domain.RolePermissionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for RolePermission entity persistence operations.
+ * Role-permission mappings are seed data; they are read in full by the role catalog.
+ */
+@Repository
+public interface RolePermissionRepository
+        extends JpaRepository<RolePermissionEntity, RolePermissionEntity.RolePermissionId> {
+}
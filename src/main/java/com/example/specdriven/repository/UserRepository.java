@@ -4,7 +4,12 @@ import com.example.specdriven.domain.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,9 +18,12 @@ import java.util.UUID;
 /**
  * Repository interface for User entity persistence operations.
  * Provides CRUD operations, pagination, and custom query methods.
+ * Filtered listing goes through {@link UserSpecification}; {@link UserWindowRepository} fetches
+ * a listing window without counting.
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, UUID> {
+public interface UserRepository extends JpaRepository<UserEntity, UUID>, JpaSpecificationExecutor<UserEntity>,
+        UserWindowRepository {
 
     /**
      * Find a user by email address.
@@ -35,95 +43,43 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Optional<UserEntity> findByUsername(String username);
 
     /**
-     * Count total number of users in the system.
-     *
-     * @return total user count
-     */
-    long count();
-
-    /**
-     * Find all users with pagination.
-     *
-     * @param pageable pagination parameters
-     * @return page of users
-     */
-    Page<UserEntity> findAll(Pageable pageable);
-
-    /**
-     * Find users by exact username match with pagination.
-     *
-     * @param username the username to match
-     * @param pageable pagination parameters
-     * @return page of matching users
-     */
-    Page<UserEntity> findByUsername(String username, Pageable pageable);
-
-    /**
-     * Find users by exact email address match with pagination.
-     *
-     * @param emailAddress the email address to match
-     * @param pageable pagination parameters
-     * @return page of matching users
-     */
-    Page<UserEntity> findByEmailAddress(String emailAddress, Pageable pageable);
-
-    /**
-     * Find users by case-insensitive partial name match with pagination.
-     *
-     * @param name the name substring to match
-     * @param pageable pagination parameters
-     * @return page of matching users
-     */
-    Page<UserEntity> findByNameContainingIgnoreCase(String name, Pageable pageable);
-
-    /**
-     * Find users by username and name filter with pagination.
-     *
-     * @param username the username to match exactly
-     * @param name the name substring to match (case-insensitive)
-     * @param pageable pagination parameters
-     * @return page of matching users
-     */
-    Page<UserEntity> findByUsernameAndNameContainingIgnoreCase(String username, String name, Pageable pageable);
-
-    /**
-     * Find users by username and email address with pagination.
+     * Replace a user's password hash, but only if it is still the expected one.
+     * Used to rehash on login; a password changed in the meantime is left alone.
+     * Runs in its own transaction when called outside one, and leaves updatedAt as it is.
      *
-     * @param username the username to match exactly
-     * @param emailAddress the email address to match exactly
-     * @param pageable pagination parameters
-     * @return page of matching users
+     * @param id the user ID
+     * @param currentHash the hash the password was verified against
+     * @param newHash the replacement hash
+     * @return 1 if the hash was replaced, 0 if the user is gone or the hash changed
      */
-    Page<UserEntity> findByUsernameAndEmailAddress(String username, String emailAddress, Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :currentHash")
+    int replacePasswordHash(@Param("id") UUID id, @Param("currentHash") String currentHash,
+                            @Param("newHash") String newHash);
 
     /**
-     * Find users by email address and name filter with pagination.
+     * Read stored password hashes, in no particular order.
+     * Used to sample the algorithms and costs hashes are stored with.
      *
-     * @param emailAddress the email address to match exactly
-     * @param name the name substring to match (case-insensitive)
-     * @param pageable pagination parameters
-     * @return page of matching users
+     * @param pageable how many hashes to read
+     * @return the hashes
      */
-    Page<UserEntity> findByEmailAddressAndNameContainingIgnoreCase(String emailAddress, String name, Pageable pageable);
+    @Query("SELECT u.passwordHash FROM UserEntity u")
+    List<String> findPasswordHashes(Pageable pageable);
 
     /**
-     * Find users by all filters with pagination.
+     * Count total number of users in the system.
      *
-     * @param username the username to match exactly
-     * @param emailAddress the email address to match exactly
-     * @param name the name substring to match (case-insensitive)
-     * @param pageable pagination parameters
-     * @return page of matching users
+     * @return total user count
      */
-    Page<UserEntity> findByUsernameAndEmailAddressAndNameContainingIgnoreCase(
-            String username, String emailAddress, String name, Pageable pageable);
+    long count();
 
     /**
-     * Find users by IDs with pagination.
+     * Find all users with pagination.
      *
-     * @param userIds list of user IDs to find
      * @param pageable pagination parameters
-     * @return page of matching users
+     * @return page of users
      */
-    Page<UserEntity> findByIdIn(List<UUID> userIds, Pageable pageable);
+    Page<UserEntity> findAll(Pageable pageable);
 }
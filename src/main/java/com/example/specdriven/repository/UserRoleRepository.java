@@ -2,8 +2,12 @@ package com.example.specdriven.repository;
 
 import com.example.specdriven.domain.UserRoleEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +26,15 @@ public interface UserRoleRepository extends JpaRepository<UserRoleEntity, UUID>
      */
     List<UserRoleEntity> findByUserId(UUID userId);
 
+    /**
+     * Find all role assignments for a set of users in a single query.
+     * Used to load roles for a whole page of users at once.
+     *
+     * @param userIds the user IDs
+     * @return list of user-role mappings for those users
+     */
+    List<UserRoleEntity> findByUserIdIn(Collection<UUID> userIds);
+
     /**
      * Find a specific user-role mapping.
      *
@@ -32,12 +45,29 @@ public interface UserRoleRepository extends JpaRepository<UserRoleEntity, UUID>
     List<UserRoleEntity> findByUserIdAndRoleId(UUID userId, UUID roleId);
 
     /**
-     * Delete a specific user-role mapping (for role removal).
+     * Assign a role to a user in a single statement, if the user exists and does not hold it yet.
+     * Concurrent assignments of the same role do not conflict: all but one insert nothing.
+     *
+     * @param userId the user ID
+     * @param roleId the role ID
+     * @return 1 if the mapping was inserted, 0 if it already existed or the user does not exist
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_roles (user_id, role_id, assigned_at) "
+            + "SELECT u.id, CAST(:roleId AS UUID), LOCALTIMESTAMP FROM users u WHERE u.id = :userId "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("roleId") UUID roleId);
+
+    /**
+     * Delete a specific user-role mapping (for role removal) in a single statement.
      *
      * @param userId the user ID
      * @param roleId the role ID
+     * @return number of mappings deleted (0 if the role was not assigned)
      */
-    void deleteByUserIdAndRoleId(UUID userId, UUID roleId);
+    @Modifying
+    @Query("DELETE FROM UserRoleEntity ur WHERE ur.userId = :userId AND ur.roleId = :roleId")
+    int deleteByUserIdAndRoleId(@Param("userId") UUID userId, @Param("roleId") UUID roleId);
 
     /**
      * Find all users with a specific role.
@@ -46,4 +76,23 @@ public interface UserRoleRepository extends JpaRepository<UserRoleEntity, UUID>
      * @return list of user-role mappings for that role
      */
     List<UserRoleEntity> findByRoleId(UUID roleId);
+
+    /**
+     * Count the users holding each role in a single grouped query.
+     * Roles without any users are absent.
+     *
+     * @return user count per role
+     */
+    @Query("SELECT ur.roleId AS roleId, COUNT(ur.userId) AS userCount FROM UserRoleEntity ur GROUP BY ur.roleId")
+    List<RoleUserCount> countUsersByRole();
+
+    /**
+     * Number of users holding a role.
+     */
+    interface RoleUserCount {
+
+        UUID getRoleId();
+
+        long getUserCount();
+    }
 }
@@ -0,0 +1,109 @@
+package com.example.specdriven.repository;
+
+import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.domain.UserRoleEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Filter for listing users, translated into a single WHERE clause.
+ * Null or empty filters are left out of the statement entirely, so each combination of filters
+ * has exactly one SQL shape with bind parameters, and Hibernate's query plan cache and the
+ * driver's statement cache serve every request with that combination.
+ *
+ * Predicates are emitted cheapest first: the unique email index, the username index, the
+ * (role_id, user_id) index on user_roles, and finally the unindexed name substring match.
+ * To add a filter, add a component and its predicate at the position matching its selectivity.
+ *
+ * @param username     exact username
+ * @param emailAddress exact email address
+ * @param nameContains case-insensitive name substring, matched literally
+ * @param roleId       ID of a role the user must hold
+ */
+public record UserSpecification(String username, String emailAddress, String nameContains, UUID roleId)
+        implements Specification<UserEntity> {
+
+    /**
+     * Stable total order for listing users, served by the (created_at, id) index.
+     * The ID breaks ties between users created in the same instant.
+     */
+    public static final Sort LIST_ORDER = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    public UserSpecification {
+        username = emptyToNull(username);
+        emailAddress = emptyToNull(emailAddress);
+        nameContains = emptyToNull(nameContains);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<UserEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>(4);
+        if (emailAddress != null) {
+            predicates.add(cb.equal(root.get("emailAddress"), emailAddress));
+        }
+        if (username != null) {
+            predicates.add(cb.equal(root.get("username"), username));
+        }
+        if (roleId != null) {
+            predicates.add(cb.exists(holdsRole(root, query, cb)));
+        }
+        if (nameContains != null) {
+            String pattern = "%" + escapeLike(nameContains.toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE));
+        }
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+
+    /**
+     * Users strictly after a position in {@link #LIST_ORDER}.
+     * Combined with a limit this seeks into the (created_at, id) index, so every page costs the
+     * same however deep it is, and rows inserted meanwhile neither shift nor repeat later pages.
+     *
+     * The leading {@code created_at >= ?} is implied by the rest, but a planner cannot start an
+     * index range scan from an OR; it gives the scan its start, and the OR only skips the
+     * few rows created in the same instant as the cursor.
+     *
+     * @param createdAt creation time of the last user already returned
+     * @param id        ID of the last user already returned
+     * @return keyset predicate
+     */
+    public static Specification<UserEntity> after(LocalDateTime createdAt, UUID id) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(cb.greaterThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id))));
+    }
+
+    /**
+     * Correlated subquery on user_roles. The (user_id, role_id) primary key means it never
+     * multiplies rows, so the same predicate serves the page and the count query.
+     */
+    private Subquery<Integer> holdsRole(Root<UserEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<UserRoleEntity> userRole = subquery.from(UserRoleEntity.class);
+        return subquery.select(cb.literal(1))
+                .where(cb.equal(userRole.get("roleId"), roleId),
+                        cb.equal(userRole.get("userId"), root.get("id")));
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
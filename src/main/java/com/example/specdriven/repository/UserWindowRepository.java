@@ -0,0 +1,25 @@
+package com.example.specdriven.repository;
+
+import com.example.specdriven.domain.UserEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Fetches a window of users without the COUNT query that paged finders run.
+ * Callers that need to know whether more rows follow ask for one row more than they return.
+ */
+public interface UserWindowRepository {
+
+    /**
+     * Find the users matching a specification within an offset and limit.
+     *
+     * @param spec   the filter
+     * @param sort   the order; must be total for consecutive windows to be stable
+     * @param offset number of matching rows to skip
+     * @param limit  maximum number of rows to return
+     * @return the users in the window
+     */
+    List<UserEntity> findWindow(Specification<UserEntity> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,38 @@
+package com.example.specdriven.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims extracted from a verified JWT token.
+ *
+ * @param userId      the user ID from the token's subject claim
+ * @param expiresAt   the instant the token expires
+ * @param permissions the permissions embedded in the token, or null if none were embedded
+ */
+public record JwtPrincipal(UUID userId, Instant expiresAt, EmbeddedPermissions permissions) {
+
+    public JwtPrincipal(UUID userId, Instant expiresAt) {
+        this(userId, expiresAt, null);
+    }
+
+    /**
+     * Check whether the token has expired at the given instant.
+     *
+     * @param now the instant to check against
+     * @return true if the token is no longer valid at {@code now}
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Permission set carried inside a token.
+     *
+     * @param mask    permission bitmask over {@link PermissionIndex}
+     * @param indexId {@link PermissionIndex#id()} of the index the mask was encoded against
+     * @param version roles version when the permissions were read
+     */
+    public record EmbeddedPermissions(long mask, long indexId, long version) {
+    }
+}
@@ -1,32 +1,72 @@
 package com.example.specdriven.security;
 
 import com.example.specdriven.config.JwtConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT token provider for generating and validating JSON Web Tokens.
  * Uses the jjwt library for secure token operations.
+ *
+ * Verification uses a single parser built at startup. Recently verified tokens are kept in a
+ * bounded cache keyed by a SHA-256 digest of the token, so repeat requests with the same token
+ * skip the HMAC check. Each entry lives no longer than the token's own {@code exp} claim.
+ *
+ * Time spent verifying signatures and the cache's hit ratio are exposed as meters.
  */
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
     private static final int MINIMUM_SECRET_LENGTH = 32; // 256 bits for HS256
 
+    // Claims carrying embedded permissions (see JwtPrincipal.EmbeddedPermissions)
+    static final String PERMISSIONS_CLAIM = "perms";
+    static final String PERMISSION_INDEX_CLAIM = "pix";
+    static final String ROLES_VERSION_CLAIM = "rv";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    });
+
     private final JwtConfig jwtConfig;
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
 
     public JwtTokenProvider(JwtConfig jwtConfig) {
         this.jwtConfig = jwtConfig;
@@ -57,6 +97,16 @@ public class JwtTokenProvider {
         }
         
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = jwtConfig.getVerifiedTokenCacheSize() > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtConfig.getVerifiedTokenCacheSize())
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
     }
 
     /**
@@ -66,15 +116,62 @@ public class JwtTokenProvider {
      * @return signed JWT token string
      */
     public String generateToken(UUID userId) {
+        return generateToken(userId, null);
+    }
+
+    /**
+     * Generate a JWT token for the given user ID, optionally carrying the user's permissions.
+     *
+     * @param userId      the user's unique identifier
+     * @param permissions permissions to embed, or null to embed none
+     * @return signed JWT token string
+     */
+    public String generateToken(UUID userId, JwtPrincipal.EmbeddedPermissions permissions) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getExpirationMs());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userId.toString())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(secretKey)
-                .compact();
+                .expiration(expiryDate);
+        if (permissions != null) {
+            builder.claim(PERMISSIONS_CLAIM, permissions.mask())
+                    .claim(PERMISSION_INDEX_CLAIM, permissions.indexId())
+                    .claim(ROLES_VERSION_CLAIM, permissions.version());
+        }
+        return builder.signWith(secretKey).compact();
+    }
+
+    /**
+     * Verify a JWT token and extract its claims in a single pass.
+     * Tokens verified earlier are served from the cache until they expire.
+     *
+     * @param token the JWT token to verify
+     * @return the token's principal, or empty if the token is invalid or expired
+     */
+    public Optional<JwtPrincipal> verifyAndExtract(String token) {
+        if (token == null || token.isEmpty()) {
+            logger.warn("Invalid JWT token: token is empty");
+            return Optional.empty();
+        }
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        String key = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpiredAt(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(key);
+            logger.warn("JWT token expired at {}", cached.expiresAt());
+            return Optional.empty();
+        }
+
+        Optional<JwtPrincipal> principal = parse(token);
+        principal.ifPresent(p -> verifiedTokens.put(key, p));
+        return principal;
     }
 
     /**
@@ -85,10 +182,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
             return true;
         } catch (ExpiredJwtException ex) {
             logger.warn("JWT token expired: {}", ex.getMessage());
@@ -107,11 +201,7 @@ public class JwtTokenProvider {
      * @throws JwtException if the token is invalid
      */
     public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
         return UUID.fromString(claims.getSubject());
     }
 
@@ -123,11 +213,7 @@ public class JwtTokenProvider {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
             return claims.getExpiration().before(new Date());
         } catch (ExpiredJwtException ex) {
             return true;
@@ -135,4 +221,95 @@ public class JwtTokenProvider {
             return true;
         }
     }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("jwt.verify", this,
+                        provider -> provider.verifications.sum(), provider -> provider.verifyNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent verifying token signatures, excluding cache hits")
+                .register(registry);
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwtVerifiedTokens");
+        }
+    }
+
+    /**
+     * Verify the signature and read the subject and expiry claims.
+     */
+    private Optional<JwtPrincipal> parse(String token) {
+        long started = System.nanoTime();
+        try {
+            return verify(token);
+        } finally {
+            verifications.increment();
+            verifyNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private Optional<JwtPrincipal> verify(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                logger.warn("Invalid JWT token: missing expiration");
+                return Optional.empty();
+            }
+            return Optional.of(new JwtPrincipal(
+                    UUID.fromString(claims.getSubject()), expiration.toInstant(), embeddedPermissions(claims)));
+        } catch (ExpiredJwtException ex) {
+            logger.warn("JWT token expired: {}", ex.getMessage());
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException ex) {
+            // IllegalArgumentException also covers a subject that is not a UUID;
+            // RequiredTypeException (a JwtException) covers a malformed permissions claim
+            logger.warn("Invalid JWT token: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Read embedded permissions; a token missing any of the claims is treated as having none.
+     */
+    private static JwtPrincipal.EmbeddedPermissions embeddedPermissions(Claims claims) {
+        Long mask = claims.get(PERMISSIONS_CLAIM, Long.class);
+        Long indexId = claims.get(PERMISSION_INDEX_CLAIM, Long.class);
+        Long version = claims.get(ROLES_VERSION_CLAIM, Long.class);
+        if (mask == null || indexId == null || version == null) {
+            return null;
+        }
+        return new JwtPrincipal.EmbeddedPermissions(mask, indexId, version);
+    }
+
+    /**
+     * Cache key for a token: the token itself is never held in memory after verification.
+     */
+    private static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        md.reset();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Expires each cached entry at its token's {@code exp} claim; reads do not extend it.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal value, long currentTime) {
+            long remainingMs = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,242 @@
+package com.example.specdriven.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Password hashing algorithms that stored hashes may use, keyed by the {@code {id}} prefix
+ * a delegating encoder writes in front of each hash.
+ *
+ * Each algorithm has a single cost parameter that scales the work per hash: the BCrypt
+ * strength (log2 of the rounds), the PBKDF2 iteration count or the Argon2 pass count.
+ * Every stored hash records its own cost, so hashes made at any cost verify regardless of the
+ * cost currently configured, and {@link PasswordEncoder#upgradeEncoding} reports hashes whose
+ * cost differs from it.
+ */
+public enum PasswordAlgorithm {
+
+    BCRYPT("bcrypt", 10, 16) {
+        private static final Pattern STRENGTH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+        @Override
+        PasswordEncoder hashingEncoder(int cost) {
+            return new BCryptPasswordEncoder(cost);
+        }
+
+        @Override
+        public OptionalInt storedCost(String encodedPassword) {
+            Matcher matcher = STRENGTH.matcher(encodedPassword);
+            return matcher.find() ? OptionalInt.of(Integer.parseInt(matcher.group(1))) : OptionalInt.empty();
+        }
+
+        @Override
+        int scaleCost(int baseCost, long baseNanos, long targetNanos) {
+            // Each step doubles the rounds
+            int cost = baseCost;
+            for (long nanos = baseNanos * 2; nanos <= targetNanos && cost < maxCost(); nanos *= 2) {
+                cost++;
+            }
+            return cost;
+        }
+    },
+
+    PBKDF2("pbkdf2", 310_000, 10_000_000) {
+        @Override
+        PasswordEncoder hashingEncoder(int cost) {
+            return new IterationPrefixedPbkdf2(cost);
+        }
+
+        @Override
+        public OptionalInt storedCost(String encodedPassword) {
+            return IterationPrefixedPbkdf2.iterations(encodedPassword);
+        }
+
+        @Override
+        int scaleCost(int baseCost, long baseNanos, long targetNanos) {
+            return scaleLinearly(baseCost, baseNanos, targetNanos);
+        }
+    },
+
+    ARGON2("argon2", 2, 64) {
+        private static final int SALT_LENGTH = 16;
+        private static final int HASH_LENGTH = 32;
+        private static final int PARALLELISM = 1;
+        private static final int MEMORY_KIB = 1 << 14;
+        private static final Pattern PASSES = Pattern.compile("^\\$argon2(?:id|i|d)\\$v=\\d+\\$m=\\d+,t=(\\d+),p=\\d+\\$");
+
+        @Override
+        PasswordEncoder hashingEncoder(int cost) {
+            return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, PARALLELISM, MEMORY_KIB, cost);
+        }
+
+        @Override
+        public OptionalInt storedCost(String encodedPassword) {
+            Matcher matcher = PASSES.matcher(encodedPassword);
+            return matcher.find() ? OptionalInt.of(Integer.parseInt(matcher.group(1))) : OptionalInt.empty();
+        }
+
+        @Override
+        int scaleCost(int baseCost, long baseNanos, long targetNanos) {
+            return scaleLinearly(baseCost, baseNanos, targetNanos);
+        }
+    };
+
+    private final String id;
+    private final int minCost;
+    private final int maxCost;
+
+    PasswordAlgorithm(String id, int minCost, int maxCost) {
+        this.id = id;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * @return the prefix ID that marks hashes of this algorithm, without braces
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return the lowest cost calibration will choose
+     */
+    public int minCost() {
+        return minCost;
+    }
+
+    /**
+     * @return the highest cost calibration will choose
+     */
+    public int maxCost() {
+        return maxCost;
+    }
+
+    /**
+     * Create an encoder that hashes at the given cost.
+     * The encoder verifies hashes made at any cost, and reports hashes made at a different cost
+     * as needing an upgrade, so they are rehashed in either direction.
+     *
+     * @param cost the cost for new hashes; not checked against {@link #minCost()}
+     * @return the encoder, without the {@code {id}} prefix handling
+     */
+    public PasswordEncoder encoder(int cost) {
+        return new CostAwareEncoder(this, hashingEncoder(cost), cost);
+    }
+
+    /**
+     * Read the cost a hash of this algorithm was made with.
+     *
+     * @param encodedPassword the hash, without the {@code {id}} prefix
+     * @return the cost, or empty if the hash is not in this algorithm's format
+     */
+    public abstract OptionalInt storedCost(String encodedPassword);
+
+    /**
+     * Pick the cost whose verification takes about the target time, given one measurement.
+     *
+     * @param baseCost the cost that was measured
+     * @param baseNanos how long one verification at the base cost took
+     * @param targetNanos the wanted verification time
+     * @return the highest cost expected to stay within the target, clamped to
+     *         [{@link #minCost()}, {@link #maxCost()}]
+     */
+    public int costFor(int baseCost, long baseNanos, long targetNanos) {
+        int cost = scaleCost(baseCost, Math.max(baseNanos, 1), targetNanos);
+        return Math.max(minCost, Math.min(maxCost, cost));
+    }
+
+    abstract PasswordEncoder hashingEncoder(int cost);
+
+    abstract int scaleCost(int baseCost, long baseNanos, long targetNanos);
+
+    private static int scaleLinearly(int baseCost, long baseNanos, long targetNanos) {
+        // Work, and so time, is proportional to the cost
+        double cost = (double) baseCost * targetNanos / baseNanos;
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Hashes with the algorithm's encoder and flags stored hashes whose cost is off-target.
+     * Hashes whose cost cannot be read are left alone.
+     */
+    private static final class CostAwareEncoder implements PasswordEncoder {
+
+        private final PasswordAlgorithm algorithm;
+        private final PasswordEncoder delegate;
+        private final int cost;
+
+        CostAwareEncoder(PasswordAlgorithm algorithm, PasswordEncoder delegate, int cost) {
+            this.algorithm = algorithm;
+            this.delegate = delegate;
+            this.cost = cost;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            OptionalInt storedCost = algorithm.storedCost(encodedPassword);
+            return storedCost.isPresent() && storedCost.getAsInt() != cost;
+        }
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 whose hashes start with their iteration count ({@code iterations$hash}).
+     * Spring's PBKDF2 format does not record the iterations, which would tie every stored hash
+     * to the iteration count in force when it was made.
+     */
+    private static final class IterationPrefixedPbkdf2 implements PasswordEncoder {
+
+        private static final int SALT_LENGTH = 16;
+        private static final Pattern ITERATIONS = Pattern.compile("^(\\d{1,9})\\$");
+
+        private final int iterations;
+        private final Pbkdf2PasswordEncoder encoder;
+
+        IterationPrefixedPbkdf2(int iterations) {
+            this.iterations = iterations;
+            this.encoder = pbkdf2(iterations);
+        }
+
+        private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+            return new Pbkdf2PasswordEncoder("", SALT_LENGTH, iterations,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        }
+
+        static OptionalInt iterations(String encodedPassword) {
+            Matcher matcher = ITERATIONS.matcher(encodedPassword);
+            return matcher.find() ? OptionalInt.of(Integer.parseInt(matcher.group(1))) : OptionalInt.empty();
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return iterations + "$" + encoder.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            OptionalInt stored = iterations(encodedPassword);
+            if (stored.isEmpty() || stored.getAsInt() == 0) {
+                return false;
+            }
+            String hash = encodedPassword.substring(encodedPassword.indexOf('$') + 1);
+            Pbkdf2PasswordEncoder verifier = stored.getAsInt() == iterations ? encoder : pbkdf2(stored.getAsInt());
+            return verifier.matches(rawPassword, hash);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.specdriven.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures password verification on this machine and picks the cost that meets a target time.
+ *
+ * Verification is timed at the algorithm's minimum cost, keeping the fastest of a few samples
+ * to discount warm-up and scheduling noise, and the cost is then scaled to the target. Runs once
+ * at startup, so the cost follows the hardware the application is deployed on.
+ */
+public class PasswordCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123!";
+    private static final int SAMPLES = 3;
+
+    private final LongSupplier nanoTime;
+
+    public PasswordCostCalibrator() {
+        this(System::nanoTime);
+    }
+
+    PasswordCostCalibrator(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Result of a calibration.
+     *
+     * @param cost the chosen cost
+     * @param baseCost the cost that was measured
+     * @param baseTime how long one verification at the base cost took
+     */
+    public record Calibration(int cost, int baseCost, Duration baseTime) {
+    }
+
+    /**
+     * @param algorithm the algorithm to calibrate
+     * @param targetVerifyTime how long one verification should take
+     * @return the cost whose verification takes about the target time, within the algorithm's bounds
+     */
+    public Calibration calibrate(PasswordAlgorithm algorithm, Duration targetVerifyTime) {
+        int baseCost = algorithm.minCost();
+        PasswordEncoder encoder = algorithm.encoder(baseCost);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = nanoTime.getAsLong();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            fastest = Math.min(fastest, nanoTime.getAsLong() - start);
+        }
+
+        int cost = algorithm.costFor(baseCost, fastest, targetVerifyTime.toNanos());
+        return new Calibration(cost, baseCost, Duration.ofNanos(fastest));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.specdriven.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Authentication for a JWT-authenticated user whose permissions are held as a bitmask over
+ * {@link PermissionIndex}. Access checks test bits directly; the {@link GrantedAuthority}
+ * view is only decoded if something asks for it, and decoded lists are shared per mask.
+ */
+public class PermissionAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final UUID userId;
+    private final long permissionMask;
+    private final transient PermissionIndex permissionIndex;
+
+    public PermissionAuthenticationToken(UUID userId, long permissionMask, PermissionIndex permissionIndex) {
+        super(null);
+        this.userId = userId;
+        this.permissionMask = permissionMask;
+        this.permissionIndex = permissionIndex;
+        setAuthenticated(true);
+    }
+
+    /**
+     * Check whether every permission in {@code requiredMask} is held.
+     *
+     * @param requiredMask bitmask of required permissions
+     * @return true if all required bits are set
+     */
+    public boolean hasAllPermissions(long requiredMask) {
+        return (permissionMask & requiredMask) == requiredMask;
+    }
+
+    /**
+     * @return the user's permission bitmask
+     */
+    public long getPermissionMask() {
+        return permissionMask;
+    }
+
+    /**
+     * The index the mask was encoded against; a mask is only meaningful with its own index.
+     */
+    PermissionIndex permissionIndex() {
+        return permissionIndex;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return permissionIndex.toAuthorities(permissionMask);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public UUID getPrincipal() {
+        return userId;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.specdriven.security;
+
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.domain.PermissionEntity;
+import com.example.specdriven.event.AfterCompletion;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.example.specdriven.repository.PermissionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent cache of each user's granted authorities.
+ * Sits in front of {@link PermissionRepository#findByUserId(UUID)} so that authenticated
+ * requests do not run the permission join on every call.
+ *
+ * Entries are evicted when a user's roles change or the user is deleted. Evictions are
+ * repeated once the surrounding transaction completes; see {@link AfterCompletion}.
+ *
+ * The cache's hit ratio and the time spent loading authorities on a miss are exposed as meters.
+ */
+@Component
+public class PermissionCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionCache.class);
+
+    private final PermissionRepository permissionRepository;
+    private final Cache<UUID, List<GrantedAuthority>> cache;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public PermissionCache(PermissionRepository permissionRepository, CacheConfig cacheConfig) {
+        this.permissionRepository = permissionRepository;
+        CacheConfig.Spec spec = cacheConfig.getPermissions();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl());
+        if (spec.isRecordStats()) {
+            builder.recordStats();
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * Get the authorities granted to a user, loading them from the database on a miss.
+     *
+     * @param userId the user ID
+     * @return immutable list of granted authorities (empty if the user has no roles)
+     */
+    public List<GrantedAuthority> getAuthorities(UUID userId) {
+        return cache.get(userId, this::loadAuthorities);
+    }
+
+    /**
+     * Remove the cached authorities for a user.
+     *
+     * @param userId the user ID
+     */
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Hit, miss and eviction counters for sizing the cache.
+     *
+     * @return snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("permissions.lookup", this,
+                        permissions -> permissions.loads.sum(), permissions -> permissions.loadNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent loading a user's permissions from the database on a cache miss")
+                .register(registry);
+        CaffeineCacheMetrics.monitor(registry, cache, "permissions");
+    }
+
+    @EventListener
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        evictNowAndAfterCompletion(event.userId());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        evictNowAndAfterCompletion(event.userId());
+    }
+
+    private void evictNowAndAfterCompletion(UUID userId) {
+        AfterCompletion.runNowAndAfterCompletion(() -> evict(userId));
+        logger.debug("Evicted cached permissions for user {}", userId);
+    }
+
+    private List<GrantedAuthority> loadAuthorities(UUID userId) {
+        long started = System.nanoTime();
+        try {
+            return permissionRepository.findByUserId(userId).stream()
+                    .map(PermissionEntity::getPermission)
+                    .map(SimpleGrantedAuthority::new)
+                    .map(GrantedAuthority.class::cast)
+                    .toList();
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.specdriven.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable mapping between permission names and bit positions.
+ * Lets a user's permission set travel inside a JWT, or sit in an {@code Authentication},
+ * as a single {@code long}.
+ *
+ * Bits are assigned in permission-name order. An index is built by the role catalog at startup
+ * and gets a random {@link #id()}. Tokens record the ID of the index their mask was encoded
+ * against, so a mapping never has to survive a restart.
+ */
+public final class PermissionIndex {
+
+    /**
+     * Maximum number of permissions that fit in the mask.
+     */
+    public static final int MAX_PERMISSIONS = Long.SIZE;
+
+    private static final SecureRandom ID_SOURCE = new SecureRandom();
+
+    private final long id = ID_SOURCE.nextLong();
+    private final Map<String, Integer> bitByPermission;
+    private final GrantedAuthority[] authorityByBit;
+    private final Map<Long, List<GrantedAuthority>> authoritiesByMask = new ConcurrentHashMap<>();
+
+    /**
+     * @param permissionNames all known permission names
+     * @throws IllegalStateException if there are more than {@link #MAX_PERMISSIONS}
+     */
+    public PermissionIndex(Collection<String> permissionNames) {
+        List<String> permissions = permissionNames.stream()
+                .distinct()
+                .sorted()
+                .toList();
+        if (permissions.size() > MAX_PERMISSIONS) {
+            throw new IllegalStateException(String.format(
+                    "Too many permissions to encode in a token (%d, maximum %d)",
+                    permissions.size(), MAX_PERMISSIONS));
+        }
+
+        Map<String, Integer> bits = new HashMap<>();
+        GrantedAuthority[] authorities = new GrantedAuthority[permissions.size()];
+        for (int bit = 0; bit < permissions.size(); bit++) {
+            bits.put(permissions.get(bit), bit);
+            authorities[bit] = new SimpleGrantedAuthority(permissions.get(bit));
+        }
+        this.bitByPermission = Map.copyOf(bits);
+        this.authorityByBit = authorities;
+    }
+
+    /**
+     * Encode a set of authorities as a bitmask.
+     *
+     * @param authorities the authorities to encode
+     * @return the mask, or empty if any authority is not in the index
+     */
+    public OptionalLong toMask(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0L;
+        for (GrantedAuthority authority : authorities) {
+            Integer bit = bitByPermission.get(authority.getAuthority());
+            if (bit == null) {
+                return OptionalLong.empty();
+            }
+            mask |= 1L << bit;
+        }
+        return OptionalLong.of(mask);
+    }
+
+    /**
+     * Decode a bitmask into authorities. Bits outside the index are ignored.
+     *
+     * @param mask the permission mask
+     * @return immutable list of granted authorities
+     */
+    public List<GrantedAuthority> toAuthorities(long mask) {
+        return authoritiesByMask.computeIfAbsent(mask, this::decode);
+    }
+
+    /**
+     * Bit mask for a single permission.
+     *
+     * @param permission the permission name
+     * @return the permission's bit, or 0 if it is not in the index
+     */
+    public long bitOf(String permission) {
+        Integer bit = bitByPermission.get(permission);
+        return bit == null ? 0L : 1L << bit;
+    }
+
+    /**
+     * Random identifier of this index. Masks encoded against another index are meaningless here.
+     *
+     * @return the index ID
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * Number of permissions in the index.
+     *
+     * @return the permission count
+     */
+    public int size() {
+        return authorityByBit.length;
+    }
+
+    private List<GrantedAuthority> decode(long mask) {
+        List<GrantedAuthority> authorities = new ArrayList<>(Long.bitCount(mask));
+        for (int bit = 0; bit < authorityByBit.length; bit++) {
+            if ((mask & (1L << bit)) != 0) {
+                authorities.add(authorityByBit[bit]);
+            }
+        }
+        return List.copyOf(authorities);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.specdriven.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Authorizes calls to {@link RequiresPermission}-annotated methods.
+ *
+ * Each method's required permissions are compiled into a bitmask on first call and cached,
+ * and recompiled if called with a different permission index. For a {@link PermissionAuthenticationToken}
+ * encoded against the same index the decision is then a single bitwise AND.
+ * Any other authentication, or a permission missing from the index, falls back to comparing
+ * authority names, which matches what {@code hasAuthority(...)} did.
+ */
+public class RequiredPermissionAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Supplier<PermissionIndex> permissionIndex;
+    private final Map<Method, RequiredPermissions> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * @param permissionIndex supplies the current index; resolved on each call so that this
+     *                        manager can be created with the method security infrastructure,
+     *                        before JPA is ready
+     */
+    public RequiredPermissionAuthorizationManager(Supplier<PermissionIndex> permissionIndex) {
+        this.permissionIndex = permissionIndex;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        PermissionIndex index = permissionIndex.get();
+        RequiredPermissions required = compiled.get(invocation.getMethod());
+        if (required == null || required.index() != index) {
+            required = compile(invocation.getMethod(), invocation.getThis(), index);
+            compiled.put(invocation.getMethod(), required);
+        }
+        return check(authentication.get(), required) ? GRANTED : DENIED;
+    }
+
+    private static boolean check(Authentication authentication, RequiredPermissions required) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (required.mask().isPresent()
+                && authentication instanceof PermissionAuthenticationToken token
+                && token.permissionIndex() == required.index()) {
+            return token.hasAllPermissions(required.mask().getAsLong());
+        }
+        Set<String> missing = new HashSet<>(required.names());
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            missing.remove(authority.getAuthority());
+        }
+        return missing.isEmpty();
+    }
+
+    private static RequiredPermissions compile(Method method, Object target, PermissionIndex index) {
+        Method specificMethod = target == null
+                ? method
+                : AopUtils.getMostSpecificMethod(method, AopProxyUtils.ultimateTargetClass(target));
+        RequiresPermission annotation = AnnotationUtils.findAnnotation(specificMethod, RequiresPermission.class);
+        if (annotation == null) {
+            throw new IllegalStateException("No @RequiresPermission on " + specificMethod);
+        }
+        List<String> names = List.of(annotation.value());
+        OptionalLong mask = index.toMask(
+                names.stream().map(name -> (GrantedAuthority) () -> name).toList());
+        return new RequiredPermissions(names, mask, index);
+    }
+
+    /**
+     * Compiled requirement for one method.
+     *
+     * @param names permission names, used by the fallback path
+     * @param mask  bitmask of the names, or empty if any name is not in the index
+     * @param index the index the mask was compiled against
+     */
+    private record RequiredPermissions(List<String> names, OptionalLong mask, PermissionIndex index) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.specdriven.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a method to callers holding all of the given permissions.
+ * Replaces {@code @PreAuthorize("hasAuthority('...')")}: the permission names are compiled once
+ * into a bitmask, so each access decision is a single bitwise AND with no SpEL evaluation.
+ *
+ * @see RequiredPermissionAuthorizationManager
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    /**
+     * Permission names the caller must hold (e.g. "USER_CREATE").
+     */
+    String[] value();
+}
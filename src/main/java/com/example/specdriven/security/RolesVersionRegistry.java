@@ -0,0 +1,96 @@
+package com.example.specdriven.security;
+
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.config.JwtConfig;
+import com.example.specdriven.event.AfterCompletion;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks when each user's roles last changed, so permissions embedded in a JWT can be
+ * checked for staleness without a database lookup.
+ *
+ * A token records the version current when its permissions were read. The token is stale if
+ * the user's roles changed after that version. Tokens from a previous instance carry a
+ * different permission index ID and are rejected before this check.
+ * Change records are kept for one token lifetime: after that, every token
+ * issued before the change has expired anyway.
+ *
+ * At most {@code cache.roles-versions-max-size} users are tracked. When a change record is
+ * evicted to make room, its version becomes a floor: tokens stamped before it are treated as
+ * stale for every user, since the registry can no longer tell whose roles changed.
+ */
+@Component
+public class RolesVersionRegistry {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong();
+    private final Cache<UUID, Long> lastChange;
+
+    public RolesVersionRegistry(JwtConfig jwtConfig, CacheConfig cacheConfig) {
+        this.lastChange = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getRolesVersionsMaxSize())
+                .expireAfterWrite(Duration.ofMillis(Math.max(1L, jwtConfig.getExpirationMs())))
+                // Evict on the bumping thread, so the floor is raised before the entry is gone
+                .executor(Runnable::run)
+                .evictionListener((UUID userId, Long version, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        floor.accumulateAndGet(version, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Current roles version, to embed in a token.
+     * Read it before reading the user's permissions.
+     *
+     * @return the current version
+     */
+    public long currentVersion() {
+        return sequence.get();
+    }
+
+    /**
+     * Check whether permissions embedded in a token still reflect the user's roles.
+     *
+     * @param userId      the token's user ID
+     * @param permissions the permissions embedded in the token
+     * @return true if no role change has happened since the token's version
+     */
+    public boolean isCurrent(UUID userId, JwtPrincipal.EmbeddedPermissions permissions) {
+        if (permissions.version() < floor.get()) {
+            return false;
+        }
+        Long changed = lastChange.getIfPresent(userId);
+        return changed == null || changed <= permissions.version();
+    }
+
+    /**
+     * Mark a user's roles as changed, invalidating permissions embedded in earlier tokens.
+     *
+     * @param userId the user ID
+     */
+    public void bump(UUID userId) {
+        lastChange.put(userId, sequence.incrementAndGet());
+    }
+
+    @EventListener
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        AfterCompletion.runNowAndAfterCompletion(() -> bump(event.userId()));
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        AfterCompletion.runNowAndAfterCompletion(() -> bump(event.userId()));
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.specdriven.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies request paths as public or protected, and as gated by the users API feature flag
+ * or not, from a path trie built once at startup.
+ *
+ * The trie holds the OpenAPI paths: a path whose operations all declare {@code security: []} is
+ * public, and a path item marked {@code x-feature-flag: usersApi} is gated, as is everything
+ * beneath it. {@code /actuator/health/**} is always public, for load balancers. Outside
+ * production, {@code /test/**}, {@code /h2-console/**} and {@code /actuator/prometheus} are
+ * public too; in production the metrics scrape needs a token like any other route. Any other
+ * path is protected and not gated.
+ *
+ * The route is computed once per request and kept as a request attribute, so the security
+ * filter and the authorization rules read the same answer.
+ */
+@Component
+public class RouteClassifier {
+
+    /**
+     * Request attribute holding the request's {@link Route}.
+     */
+    public static final String ROUTE_ATTRIBUTE = RouteClassifier.class.getName() + ".route";
+
+    private static final String SPEC_LOCATION = "openapi.yaml";
+    private static final String FEATURE_FLAG_EXTENSION = "x-feature-flag";
+    private static final String USERS_API_FLAG = "usersApi";
+    private static final List<String> OPERATIONAL_PREFIXES = List.of("/actuator/health");
+    private static final List<String> DEVELOPMENT_PREFIXES = List.of("/test", "/h2-console", "/actuator/prometheus");
+    private static final List<String> HTTP_METHODS =
+            List.of("get", "put", "post", "delete", "options", "head", "patch", "trace");
+
+    /**
+     * Security treatment of a route.
+     */
+    public enum Route {
+        /** Public and never gated. */
+        OPEN(true, false),
+        /** Public, but only while the users API is enabled. */
+        GATED_PUBLIC(true, true),
+        /** Requires a token, and only exists while the users API is enabled. */
+        GATED_PROTECTED(false, true),
+        /** Requires a token. */
+        PROTECTED(false, false);
+
+        private final boolean open;
+        private final boolean gated;
+
+        Route(boolean open, boolean gated) {
+            this.open = open;
+            this.gated = gated;
+        }
+
+        /**
+         * @return true if the route needs no authentication
+         */
+        public boolean isPublic() {
+            return open;
+        }
+
+        /**
+         * @return true if the route is hidden while the users API feature flag is disabled
+         */
+        public boolean isGated() {
+            return gated;
+        }
+
+        static Route of(boolean open, boolean gated) {
+            if (gated) {
+                return open ? GATED_PUBLIC : GATED_PROTECTED;
+            }
+            return open ? OPEN : PROTECTED;
+        }
+    }
+
+    private final Node root;
+
+    @Autowired
+    public RouteClassifier(Environment environment) {
+        this(new ClassPathResource(SPEC_LOCATION), isProduction(environment));
+    }
+
+    /**
+     * @param spec the OpenAPI document
+     * @param production whether development-only routes stay protected
+     */
+    public RouteClassifier(Resource spec, boolean production) {
+        MutableNode builder = new MutableNode(Route.PROTECTED, Route.PROTECTED);
+        for (Map.Entry<String, Map<String, Object>> path : readPaths(spec).entrySet()) {
+            Map<String, Object> pathItem = path.getValue();
+            boolean gated = isGated(path.getKey(), pathItem);
+            MutableNode node = builder.descend(path.getKey());
+            node.self = Route.of(isPublic(pathItem), gated);
+            node.beneath = Route.of(false, gated);
+        }
+        for (String prefix : OPERATIONAL_PREFIXES) {
+            MutableNode node = builder.descend(prefix);
+            node.self = Route.OPEN;
+            node.beneath = Route.OPEN;
+        }
+        if (!production) {
+            for (String prefix : DEVELOPMENT_PREFIXES) {
+                MutableNode node = builder.descend(prefix);
+                node.self = Route.OPEN;
+                node.beneath = Route.OPEN;
+            }
+        }
+        this.root = builder.freeze(Route.PROTECTED);
+    }
+
+    /**
+     * Production is any active profile whose name contains "prod".
+     * Development-only behaviour elsewhere uses the same rule.
+     */
+    public static boolean isProduction(Environment environment) {
+        return Arrays.stream(environment.getActiveProfiles()).anyMatch(profile -> profile.contains("prod"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> readPaths(Resource spec) {
+        try (InputStream in = spec.getInputStream()) {
+            Map<String, Object> document = new Yaml().load(in);
+            Object paths = document.get("paths");
+            return paths == null ? Map.of() : (Map<String, Map<String, Object>>) paths;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read OpenAPI document " + spec, ex);
+        }
+    }
+
+    private static boolean isGated(String path, Map<String, Object> pathItem) {
+        Object flag = pathItem.get(FEATURE_FLAG_EXTENSION);
+        if (flag == null) {
+            return false;
+        }
+        if (!USERS_API_FLAG.equals(flag)) {
+            throw new IllegalStateException("Unknown feature flag '" + flag + "' on " + path);
+        }
+        return true;
+    }
+
+    /**
+     * A path is public if it has operations and every one of them opts out of security.
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean isPublic(Map<String, Object> pathItem) {
+        boolean anyOperation = false;
+        for (String method : HTTP_METHODS) {
+            Object operation = pathItem.get(method);
+            if (operation == null) {
+                continue;
+            }
+            anyOperation = true;
+            Object security = ((Map<String, Object>) operation).get("security");
+            if (!(security instanceof List<?> requirements) || !requirements.isEmpty()) {
+                return false;
+            }
+        }
+        return anyOperation;
+    }
+
+    /**
+     * Get the request's route, classifying it on first use.
+     *
+     * @param request the request
+     * @return the route
+     */
+    public Route route(HttpServletRequest request) {
+        Object route = request.getAttribute(ROUTE_ATTRIBUTE);
+        if (route instanceof Route known) {
+            return known;
+        }
+        Route classified = classify(request.getRequestURI());
+        request.setAttribute(ROUTE_ATTRIBUTE, classified);
+        return classified;
+    }
+
+    /**
+     * Classify a request path. Empty segments are ignored, so a trailing slash does not change
+     * the route.
+     *
+     * @param path the request path, may be null
+     * @return the route
+     */
+    public Route classify(String path) {
+        if (path == null) {
+            return Route.PROTECTED;
+        }
+        Node node = root;
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                Node child = node.child(path.substring(start, end));
+                if (child == null) {
+                    return node.beneath;
+                }
+                node = child;
+            }
+            start = end + 1;
+        }
+        return node.self;
+    }
+
+    /**
+     * Immutable trie node. Literal segments take precedence over a path variable.
+     *
+     * @param self route of the path ending at this node
+     * @param beneath route of paths continuing below this node that the trie has no node for
+     */
+    private record Node(Map<String, Node> literals, Node variable, Route self, Route beneath) {
+
+        Node child(String segment) {
+            Node literal = literals.get(segment);
+            return literal != null ? literal : variable;
+        }
+    }
+
+    /**
+     * Trie node while the classifier is being built. Nodes created only to reach a deeper path
+     * inherit their parent's treatment of paths beneath it.
+     */
+    private static final class MutableNode {
+
+        private final Map<String, MutableNode> literals = new HashMap<>();
+        private MutableNode variable;
+        private Route self;
+        private Route beneath;
+        private boolean explicit;
+
+        MutableNode(Route self, Route beneath) {
+            this.self = self;
+            this.beneath = beneath;
+        }
+
+        MutableNode descend(String path) {
+            MutableNode node = this;
+            for (String segment : path.split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                node = node.child(segment);
+            }
+            node.explicit = true;
+            return node;
+        }
+
+        private MutableNode child(String segment) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (variable == null) {
+                    variable = new MutableNode(null, null);
+                }
+                return variable;
+            }
+            return literals.computeIfAbsent(segment, s -> new MutableNode(null, null));
+        }
+
+        Node freeze(Route inherited) {
+            Route nodeBeneath = explicit ? beneath : inherited;
+            Route nodeSelf = explicit ? self : inherited;
+            Map<String, Node> frozen = new HashMap<>();
+            literals.forEach((segment, child) -> frozen.put(segment, child.freeze(nodeBeneath)));
+            Node frozenVariable = variable == null ? null : variable.freeze(nodeBeneath);
+            return new Node(Map.copyOf(frozen), frozenVariable, nodeSelf, nodeBeneath);
+        }
+    }
+}
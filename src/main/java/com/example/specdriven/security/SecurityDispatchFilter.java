@@ -0,0 +1,172 @@
+package com.example.specdriven.security;
+
+import com.example.specdriven.config.FeatureFlagConfig;
+import com.example.specdriven.exception.ErrorResponseFactory;
+import com.example.specdriven.exception.ErrorResponseWriter;
+import com.example.specdriven.exception.ErrorResponseWriter.EncodedError;
+import com.example.specdriven.service.RoleCatalog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * The application's single security filter: classifies the request once with the
+ * {@link RouteClassifier}, then acts on the route.
+ *
+ * <ul>
+ *   <li>Gated routes return 404 Not Found while FeatureFlag.usersApi is disabled. The response
+ *       does not reveal that the feature exists or is disabled, to prevent information
+ *       disclosure.</li>
+ *   <li>Public routes pass through without looking at the token.</li>
+ *   <li>Other routes have their Bearer token validated, and the Spring Security authentication
+ *       context is set for valid tokens. Authorities come from the token itself while its
+ *       embedded permissions are current, so steady-state requests need no database access.</li>
+ * </ul>
+ */
+@Component
+public class SecurityDispatchFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityDispatchFilter.class);
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final RouteClassifier routeClassifier;
+    private final FeatureFlagConfig featureFlagConfig;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final PermissionCache permissionCache;
+    private final RoleCatalog roleCatalog;
+    private final RolesVersionRegistry rolesVersionRegistry;
+
+    // Rejection bodies never change, so they are serialized once
+    private final EncodedError notFound;
+    private final EncodedError invalidToken;
+    private final EncodedError authenticationFailed;
+
+    public SecurityDispatchFilter(RouteClassifier routeClassifier,
+                                  FeatureFlagConfig featureFlagConfig,
+                                  JwtTokenProvider jwtTokenProvider,
+                                  ErrorResponseWriter errorResponseWriter,
+                                  PermissionCache permissionCache,
+                                  RoleCatalog roleCatalog,
+                                  RolesVersionRegistry rolesVersionRegistry) {
+        this.routeClassifier = routeClassifier;
+        this.featureFlagConfig = featureFlagConfig;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.errorResponseWriter = errorResponseWriter;
+        this.permissionCache = permissionCache;
+        this.roleCatalog = roleCatalog;
+        this.rolesVersionRegistry = rolesVersionRegistry;
+        this.notFound = errorResponseWriter.encode(ErrorResponseFactory.resourceNotFound("Resource not found"));
+        this.invalidToken = errorResponseWriter.encode(
+                ErrorResponseFactory.authenticationFailed("Invalid or expired token"));
+        this.authenticationFailed = errorResponseWriter.encode(
+                ErrorResponseFactory.authenticationFailed("Authentication failed"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RouteClassifier.Route route = routeClassifier.route(request);
+
+        // Gated endpoints do not exist while the feature flag is disabled
+        if (route.isGated() && !featureFlagConfig.isUsersApi()) {
+            logger.debug("Feature flag disabled, returning 404 for path: {}", request.getRequestURI());
+            errorResponseWriter.write(response, HttpServletResponse.SC_NOT_FOUND, notFound);
+            return;
+        }
+
+        // Skip JWT validation for public endpoints
+        if (route.isPublic()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            String jwt = extractJwtFromRequest(request);
+
+            if (jwt == null) {
+                // No token provided - let Spring Security handle unauthorized access
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Verify signature and expiry and read the subject in one pass
+            Optional<JwtPrincipal> principal = jwtTokenProvider.verifyAndExtract(jwt);
+            if (principal.isEmpty()) {
+                // Invalid or expired token
+                errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, invalidToken);
+                return;
+            }
+
+            // Valid token - set authentication in security context
+            AbstractAuthenticationToken authentication = authenticate(principal.get());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            filterChain.doFilter(request, response);
+
+        } catch (Exception ex) {
+            logger.error("Error processing JWT authentication: {}", ex.getMessage());
+            errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, authenticationFailed);
+        }
+    }
+
+    /**
+     * Build the authentication for a verified token. Permissions come from the token when its
+     * embedded permissions are still current, otherwise from the permission cache (evicted when
+     * the user's roles change). A permission missing from the index (added after startup) keeps
+     * the plain authority list so no access is lost.
+     */
+    private AbstractAuthenticationToken authenticate(JwtPrincipal principal) {
+        UUID userId = principal.userId();
+        PermissionIndex permissionIndex = roleCatalog.permissionIndex();
+        JwtPrincipal.EmbeddedPermissions embedded = principal.permissions();
+        if (embedded != null
+                && embedded.indexId() == permissionIndex.id()
+                && rolesVersionRegistry.isCurrent(userId, embedded)) {
+            return new PermissionAuthenticationToken(userId, embedded.mask(), permissionIndex);
+        }
+        List<GrantedAuthority> authorities = permissionCache.getAuthorities(userId);
+        OptionalLong mask = permissionIndex.toMask(authorities);
+        if (mask.isPresent()) {
+            return new PermissionAuthenticationToken(userId, mask.getAsLong(), permissionIndex);
+        }
+        return new UsernamePasswordAuthenticationToken(userId, null, authorities);
+    }
+
+    /**
+     * Extract JWT token from the Authorization header.
+     *
+     * @param request the HTTP request
+     * @return the JWT token, or null if not present
+     */
+    private String extractJwtFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
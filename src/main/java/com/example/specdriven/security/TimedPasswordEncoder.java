@@ -0,0 +1,72 @@
+package com.example.specdriven.security;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Password encoder that records the time spent hashing and verifying passwords.
+ * Hashing is deliberately slow and dominates login latency, so its time is exposed as the
+ * {@code password.encoder.encode} and {@code password.encoder.matches} meters.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+    private final PasswordEncoder delegate;
+
+    private final LongAdder encodes = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder matchNanos = new LongAdder();
+
+    /**
+     * @param delegate encoder that does the hashing
+     */
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long started = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            encodes.increment();
+            encodeNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long started = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            matches.increment();
+            matchNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("password.encoder.encode", this,
+                        encoder -> encoder.encodes.sum(), encoder -> encoder.encodeNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent hashing new passwords")
+                .register(registry);
+        FunctionTimer.builder("password.encoder.matches", this,
+                        encoder -> encoder.matches.sum(), encoder -> encoder.matchNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent verifying passwords against their hashes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.PasswordConfig;
+import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.security.PasswordAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hash that passwords for unknown usernames are verified against, so that a login for a
+ * username that does not exist costs the same as a wrong password for one that does.
+ *
+ * Stored hashes keep the algorithm and cost they were made with until their user's next
+ * successful login, so a dummy made by the configured encoder could be slower or faster than
+ * most real hashes. The dummy instead uses the most common algorithm and cost among a sample of
+ * stored hashes, taken on first use and again after {@code password.encoding.dummy-max-age}.
+ * With no stored hashes it uses the configured encoder, which every new hash is made with.
+ */
+@Component
+public class DummyPasswordHash {
+
+    private static final Logger logger = LoggerFactory.getLogger(DummyPasswordHash.class);
+
+    private final UserRepository userRepository;
+    private final int sampleSize;
+    private final long maxAgeNanos;
+    private final String configured;
+    private final Map<Profile, String> hashes = new ConcurrentHashMap<>();
+
+    private volatile String current;
+    private volatile long sampledAtNanos;
+
+    public DummyPasswordHash(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             PasswordConfig passwordConfig) {
+        this.userRepository = userRepository;
+        this.sampleSize = passwordConfig.getEncoding().getDummySampleSize();
+        this.maxAgeNanos = passwordConfig.getEncoding().getDummyMaxAge().toNanos();
+        this.configured = passwordEncoder.encode(randomPassword());
+    }
+
+    /**
+     * Algorithm and cost of a stored hash, which together fix the work of verifying it.
+     */
+    record Profile(PasswordAlgorithm algorithm, int cost) {
+
+        /**
+         * Read the profile of a stored hash. Hashes without an {@code {id}} prefix predate
+         * prefixes and are BCrypt.
+         *
+         * @return the profile, or empty if the hash is not in a known format
+         */
+        static Optional<Profile> of(String storedHash) {
+            if (storedHash == null) {
+                return Optional.empty();
+            }
+            PasswordAlgorithm algorithm = PasswordAlgorithm.BCRYPT;
+            String hash = storedHash;
+            if (storedHash.startsWith("{")) {
+                int end = storedHash.indexOf('}');
+                if (end < 0) {
+                    return Optional.empty();
+                }
+                String id = storedHash.substring(1, end);
+                Optional<PasswordAlgorithm> prefixed = Arrays.stream(PasswordAlgorithm.values())
+                        .filter(each -> each.id().equals(id))
+                        .findFirst();
+                if (prefixed.isEmpty()) {
+                    return Optional.empty();
+                }
+                algorithm = prefixed.get();
+                hash = storedHash.substring(end + 1);
+            }
+            OptionalInt cost = algorithm.storedCost(hash);
+            return cost.isPresent() ? Optional.of(new Profile(algorithm, cost.getAsInt())) : Optional.empty();
+        }
+    }
+
+    /**
+     * Get the dummy hash, resampling the stored hashes first if the last sample is too old.
+     *
+     * @return a prefixed hash of a random password
+     */
+    public String current() {
+        if (current == null || System.nanoTime() - sampledAtNanos >= maxAgeNanos) {
+            synchronized (this) {
+                if (current == null || System.nanoTime() - sampledAtNanos >= maxAgeNanos) {
+                    resample();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sample the stored hashes and switch to a dummy of their most common algorithm and cost.
+     * A dummy is hashed once per algorithm and cost and kept. If the sample cannot be read, the
+     * previous dummy stays in use until the next attempt.
+     */
+    public synchronized void resample() {
+        try {
+            Optional<Profile> common = userRepository.findPasswordHashes(PageRequest.of(0, sampleSize)).stream()
+                    .map(Profile::of)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                    .entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey);
+            current = common.map(profile -> hashes.computeIfAbsent(profile, DummyPasswordHash::hash))
+                    .orElse(configured);
+            common.ifPresent(profile -> logger.debug("Dummy password hash uses {} cost {}",
+                    profile.algorithm().id(), profile.cost()));
+        } catch (DataAccessException ex) {
+            logger.warn("Could not sample stored password hashes", ex);
+            if (current == null) {
+                current = configured;
+            }
+        }
+        sampledAtNanos = System.nanoTime();
+    }
+
+    private static String hash(Profile profile) {
+        return "{" + profile.algorithm().id() + "}"
+                + profile.algorithm().encoder(profile.cost()).encode(randomPassword());
+    }
+
+    private static String randomPassword() {
+        byte[] randomBytes = new byte[32];
+        new SecureRandom().nextBytes(randomBytes);
+        return Base64.getEncoder().encodeToString(randomBytes);
+    }
+}
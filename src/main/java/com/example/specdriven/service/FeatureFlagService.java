@@ -1,19 +1,23 @@
 package com.example.specdriven.service;
 
 import com.example.specdriven.config.FeatureFlagConfig;
+import com.example.specdriven.security.RouteClassifier;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for checking feature flag states.
  * Provides centralized access to feature flag configuration.
+ * Which paths are gated comes from the shared {@link RouteClassifier}.
  */
 @Service
 public class FeatureFlagService {
 
     private final FeatureFlagConfig featureFlagConfig;
+    private final RouteClassifier routeClassifier;
 
-    public FeatureFlagService(FeatureFlagConfig featureFlagConfig) {
+    public FeatureFlagService(FeatureFlagConfig featureFlagConfig, RouteClassifier routeClassifier) {
         this.featureFlagConfig = featureFlagConfig;
+        this.routeClassifier = routeClassifier;
     }
 
     /**
@@ -34,18 +38,7 @@ public class FeatureFlagService {
      * @return true if the path requires a feature flag, false otherwise
      */
     public boolean requiresFeatureFlag(String requestPath) {
-        // Health check endpoint is never gated
-        if (requestPath != null && requestPath.startsWith("/ping")) {
-            return false;
-        }
-        
-        // Users API endpoints and login require the usersApi feature flag
-        if (requestPath != null && (requestPath.startsWith("/users") || requestPath.startsWith("/login"))) {
-            return true;
-        }
-        
-        // Other endpoints don't require feature flags (yet)
-        return false;
+        return routeClassifier.classify(requestPath).isGated();
     }
 
     /**
@@ -56,17 +49,6 @@ public class FeatureFlagService {
      * @return true if the request should be blocked, false otherwise
      */
     public boolean shouldBlockRequest(String requestPath) {
-        // Health check is never blocked
-        if (requestPath != null && requestPath.startsWith("/ping")) {
-            return false;
-        }
-        
-        // Check if Users API endpoints are blocked
-        if (requestPath != null && (requestPath.startsWith("/users") || requestPath.startsWith("/login"))) {
-            return !isUsersApiEnabled();
-        }
-        
-        // Other endpoints are not blocked
-        return false;
+        return requiresFeatureFlag(requestPath) && !isUsersApiEnabled();
     }
 }
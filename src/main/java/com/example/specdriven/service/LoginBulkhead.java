@@ -0,0 +1,151 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.DaemonThreadFactory;
+import com.example.specdriven.config.LoginConfig;
+import com.example.specdriven.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded worker pool that runs login verification.
+ * Password checks are deliberately expensive; running them on a CPU-sized pool with a bounded
+ * queue caps how many servlet threads a burst of logins can tie up, leaving the rest free for
+ * other endpoints. When the queue is full a login is rejected at once with a
+ * {@link ServiceUnavailableException} whose retry delay is the estimated time to drain the
+ * current backlog.
+ *
+ * Queue depth, active workers, queue wait time and rejections are exposed as meters.
+ */
+@Component
+public class LoginBulkhead implements MeterBinder {
+
+    /**
+     * Weight of the newest sample in the moving average of service times.
+     */
+    private static final int SERVICE_TIME_SMOOTHING = 8;
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong serviceNanos;
+
+    public LoginBulkhead(LoginConfig loginConfig) {
+        LoginConfig.Bulkhead bulkhead = loginConfig.getBulkhead();
+        this.threads = bulkhead.getThreads();
+        this.serviceNanos = new AtomicLong(bulkhead.getInitialServiceTime().toNanos());
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkhead.getQueueCapacity()),
+                new DaemonThreadFactory("login"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Run a login verification on the pool, waiting for its result.
+     *
+     * @param verification the verification to run
+     * @return the verification result
+     * @throws ServiceUnavailableException if the pool and its queue are full
+     */
+    public <T> T execute(Callable<T> verification) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> run(verification, submittedAt));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many concurrent logins. Please try again later.", retryAfter());
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for login verification", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Login verification failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Estimated time until a new login would get a worker: the queued and running logins,
+     * spread over the workers, at the recent average service time.
+     */
+    Duration retryAfter() {
+        long backlog = executor.getQueue().size() + executor.getActiveCount() + 1L;
+        return Duration.ofNanos(backlog * serviceNanos.get() / threads);
+    }
+
+    /**
+     * Current queue depth, active workers, rejections and queue waits.
+     */
+    public Stats stats() {
+        return new Stats(executor.getQueue().size(), executor.getActiveCount(), rejected.sum(),
+                waits.sum(), Duration.ofNanos(waitNanos.sum()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.bulkhead.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a verification worker")
+                .register(registry);
+        Gauge.builder("login.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins being verified")
+                .register(registry);
+        FunctionCounter.builder("login.bulkhead.rejected", rejected, LongAdder::sum)
+                .description("Logins rejected because the verification queue was full")
+                .register(registry);
+        FunctionTimer.builder("login.bulkhead.wait", this,
+                        bulkhead -> bulkhead.waits.sum(), bulkhead -> bulkhead.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time logins spent queued before verification started")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> verification, long submittedAt) throws Exception {
+        long startedAt = System.nanoTime();
+        waits.increment();
+        waitNanos.add(startedAt - submittedAt);
+        try {
+            return verification.call();
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            serviceNanos.getAndUpdate(average -> average + (elapsed - average) / SERVICE_TIME_SMOOTHING);
+        }
+    }
+
+    /**
+     * Snapshot of the bulkhead's load.
+     */
+    public record Stats(int queueDepth, int active, long rejected, long waits, Duration totalWait) {
+    }
+}
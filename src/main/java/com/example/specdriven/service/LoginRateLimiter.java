@@ -0,0 +1,138 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.LoginConfig;
+import com.example.specdriven.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limits on login attempts, per submitted username and per client address.
+ * Checked before the password, so rejected attempts cost no hash: the limits cap the CPU a
+ * client can make logins burn, including logins for unknown users that check the dummy hash.
+ * Usernames are limited whether or not they exist, so a rejection reveals nothing about them.
+ *
+ * Each bucket is a single {@link AtomicLong} updated by compare-and-set (the generic cell rate
+ * algorithm form of a token bucket), and buckets live in bounded, striped Caffeine maps. A bucket
+ * idle long enough to have refilled completely expires, since a full bucket and a missing one
+ * behave the same.
+ */
+@Component
+public class LoginRateLimiter implements MeterBinder {
+
+    private static final String MESSAGE = "Too many login attempts. Please try again later.";
+
+    private final boolean enabled;
+    private final Limit byUsername;
+    private final Limit byAddress;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public LoginRateLimiter(LoginConfig loginConfig) {
+        this(loginConfig, System::nanoTime);
+    }
+
+    LoginRateLimiter(LoginConfig loginConfig, LongSupplier nanoTime) {
+        LoginConfig.RateLimit rateLimit = loginConfig.getRateLimit();
+        this.enabled = rateLimit.isEnabled();
+        this.byUsername = new Limit(rateLimit.getUsername(), rateLimit.getMaxKeys());
+        this.byAddress = new Limit(rateLimit.getAddress(), rateLimit.getMaxKeys());
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Take one login attempt from the client address's bucket and then from the username's.
+     *
+     * @param username the submitted username
+     * @param clientAddress the address the attempt came from
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void acquire(String username, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        byAddress.acquire(clientAddress, now);
+        byUsername.acquire(username, now);
+    }
+
+    /**
+     * @return attempts rejected per username and per address since startup
+     */
+    public Stats stats() {
+        return new Stats(byUsername.rejected.sum(), byAddress.rejected.sum());
+    }
+
+    /**
+     * Snapshot of rejected attempts.
+     */
+    public record Stats(long rejectedByUsername, long rejectedByAddress) {
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "username", byUsername);
+        bind(registry, "address", byAddress);
+    }
+
+    private static void bind(MeterRegistry registry, String key, Limit limit) {
+        FunctionCounter.builder("login.rate-limit.rejected", limit.rejected, LongAdder::sum)
+                .description("Login attempts rejected by the rate limit")
+                .tag("key", key)
+                .register(registry);
+        Gauge.builder("login.rate-limit.buckets", limit.buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently tracked")
+                .tag("key", key)
+                .register(registry);
+    }
+
+    /**
+     * Buckets for one kind of key, all with the same capacity and refill interval.
+     */
+    private static final class Limit {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+        private final LongAdder rejected = new LongAdder();
+
+        Limit(LoginConfig.Bucket bucket, long maxKeys) {
+            this.intervalNanos = bucket.getRefillInterval().toNanos();
+            this.burstNanos = intervalNanos * (bucket.getCapacity() - 1);
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(burstNanos + intervalNanos))
+                    .build();
+        }
+
+        /**
+         * Each bucket holds the time at which it will be full again. An attempt is admitted if
+         * that time is at most a burst ahead of now, and moves it one interval further.
+         */
+        void acquire(String key, long now) {
+            AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                long current = fullAt.get();
+                long base = Math.max(current, now);
+                long admitFrom = base - burstNanos;
+                if (now < admitFrom) {
+                    rejected.increment();
+                    throw new TooManyRequestsException(MESSAGE, Duration.ofNanos(admitFrom - now));
+                }
+                if (fullAt.compareAndSet(current, base + intervalNanos)) {
+                    return;
+                }
+            }
+        }
+    }
+}
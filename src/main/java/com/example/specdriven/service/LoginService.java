@@ -2,23 +2,35 @@ package com.example.specdriven.service;
 
 import com.example.specdriven.api.model.LoginRequest;
 import com.example.specdriven.api.model.LoginResponse;
+import com.example.specdriven.config.JwtConfig;
 import com.example.specdriven.domain.UserEntity;
 import com.example.specdriven.exception.AuthenticationException;
+import com.example.specdriven.exception.ServiceUnavailableException;
 import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.security.JwtPrincipal;
 import com.example.specdriven.security.JwtTokenProvider;
+import com.example.specdriven.security.PermissionCache;
+import com.example.specdriven.security.PermissionIndex;
+import com.example.specdriven.security.RolesVersionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
-import java.util.Base64;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Service for handling user authentication (login).
  * Implements non-enumeration by returning the same error for unknown username and wrong password.
+ * Passwords for unknown usernames are verified against a {@link DummyPasswordHash} of the same
+ * algorithm and cost as most stored hashes, so both failures also take the same time.
+ *
+ * Credentials are verified on the {@link LoginBulkhead}, so bursts of logins are bounded by its
+ * pool and queue instead of occupying every servlet thread. A successful login whose stored hash
+ * uses another algorithm or cost than the encoder's is rehashed, so hashes follow the configured
+ * cost without a migration.
  */
 @Service
 public class LoginService {
@@ -28,42 +40,49 @@ public class LoginService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
-    
-    // Pre-computed dummy hash using the same encoder for consistent timing
-    private final String dummyHash;
+    private final JwtConfig jwtConfig;
+    private final PermissionCache permissionCache;
+    private final RoleCatalog roleCatalog;
+    private final RolesVersionRegistry rolesVersionRegistry;
+    private final LoginBulkhead loginBulkhead;
+    private final DummyPasswordHash dummyPasswordHash;
 
     public LoginService(UserRepository userRepository, 
                        PasswordEncoder passwordEncoder,
-                       JwtTokenProvider jwtTokenProvider) {
+                       JwtTokenProvider jwtTokenProvider,
+                       JwtConfig jwtConfig,
+                       PermissionCache permissionCache,
+                       RoleCatalog roleCatalog,
+                       RolesVersionRegistry rolesVersionRegistry,
+                       LoginBulkhead loginBulkhead,
+                       DummyPasswordHash dummyPasswordHash) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
-        // Generate dummy hash with a secure random password for timing attack prevention
-        this.dummyHash = passwordEncoder.encode(generateSecureRandomPassword());
-    }
-
-    /**
-     * Generate a secure random password for dummy hash creation.
-     * This prevents timing analysis attacks by ensuring password comparison always occurs.
-     */
-    private static String generateSecureRandomPassword() {
-        byte[] randomBytes = new byte[32];
-        new SecureRandom().nextBytes(randomBytes);
-        return Base64.getEncoder().encodeToString(randomBytes);
+        this.jwtConfig = jwtConfig;
+        this.permissionCache = permissionCache;
+        this.roleCatalog = roleCatalog;
+        this.rolesVersionRegistry = rolesVersionRegistry;
+        this.loginBulkhead = loginBulkhead;
+        this.dummyPasswordHash = dummyPasswordHash;
     }
 
     /**
      * Authenticate a user and return a JWT token.
      * Implements non-enumeration: always performs password hash comparison even if user not found.
+     * Not transactional: the user lookup runs in its own short read on the calling thread, so no
+     * connection is held while the password is checked on the bulkhead.
      *
      * @param loginRequest the login credentials
      * @return LoginResponse containing the JWT token
      * @throws AuthenticationException if credentials are invalid
+     * @throws ServiceUnavailableException if too many logins are already being verified
      */
-    @Transactional(readOnly = true)
     public LoginResponse login(LoginRequest loginRequest) {
         String username = loginRequest.getUsername();
         String password = loginRequest.getPassword();
+        // Read for every login, so resampling costs known and unknown usernames alike
+        String dummyHash = dummyPasswordHash.current();
 
         // Find user by username
         Optional<UserEntity> userOptional = userRepository.findByUsername(username);
@@ -73,19 +92,23 @@ public class LoginService {
                 .map(UserEntity::getPasswordHash)
                 .orElse(dummyHash);
 
-        // Always perform password comparison to prevent timing attacks
-        boolean passwordMatches = passwordEncoder.matches(password, storedHash);
+        // Always perform password comparison to prevent timing attacks; known and unknown users
+        // go through the same bulkhead, so admission does not reveal whether the user exists
+        Verification verification = loginBulkhead.execute(() -> verify(password, storedHash));
 
         // If user not found or password doesn't match, throw same error (non-enumeration)
-        if (userOptional.isEmpty() || !passwordMatches) {
+        if (userOptional.isEmpty() || !verification.matches()) {
             logger.warn("Authentication failed for username: {}", username);
             throw new AuthenticationException("Invalid username or password");
         }
 
         UserEntity user = userOptional.get();
+        if (verification.rehashed() != null) {
+            storeRehashed(user, verification.rehashed());
+        }
         
         // Generate JWT token
-        String token = jwtTokenProvider.generateToken(user.getId());
+        String token = jwtTokenProvider.generateToken(user.getId(), embeddedPermissions(user));
 
         logger.info("User {} logged in successfully", username);
 
@@ -94,4 +117,61 @@ public class LoginService {
         response.setTokenType(LoginResponse.TokenTypeEnum.BEARER);
         return response;
     }
+
+    /**
+     * Outcome of checking a password on the bulkhead.
+     *
+     * @param matches whether the password matched the stored hash
+     * @param rehashed a new hash of the password if the stored one is off-target, otherwise null
+     */
+    private record Verification(boolean matches, String rehashed) {
+    }
+
+    /**
+     * Check the password, and rehash it while the plaintext is at hand if the stored hash uses
+     * another algorithm or cost than new hashes. Runs on the bulkhead.
+     */
+    private Verification verify(String password, String storedHash) {
+        if (!passwordEncoder.matches(password, storedHash)) {
+            return new Verification(false, null);
+        }
+        String rehashed = passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(password) : null;
+        return new Verification(true, rehashed);
+    }
+
+    /**
+     * Replace the stored hash unless the password changed since it was read.
+     * A failure is logged and does not fail the login; the next login tries again.
+     */
+    private void storeRehashed(UserEntity user, String rehashed) {
+        try {
+            if (userRepository.replacePasswordHash(user.getId(), user.getPasswordHash(), rehashed) == 1) {
+                logger.info("Rehashed password of user {}", user.getUsername());
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Could not store rehashed password of user {}", user.getUsername(), ex);
+        }
+    }
+
+    /**
+     * Read the user's permissions for embedding in the token.
+     * The roles version is stamped before the permissions are read, so a role change that
+     * races with this login leaves the token marked stale rather than silently out of date.
+     *
+     * @return the permissions to embed, or null if embedding is disabled or not possible
+     */
+    private JwtPrincipal.EmbeddedPermissions embeddedPermissions(UserEntity user) {
+        if (!jwtConfig.isEmbedPermissions()) {
+            return null;
+        }
+        // Read the version first: a concurrent role change then marks the token stale
+        long version = rolesVersionRegistry.currentVersion();
+        PermissionIndex permissionIndex = roleCatalog.permissionIndex();
+        OptionalLong mask = permissionIndex.toMask(permissionCache.getAuthorities(user.getId()));
+        if (mask.isEmpty()) {
+            // A permission added since the last catalog load is not in the index; fall back to per-request lookup
+            return null;
+        }
+        return new JwtPrincipal.EmbeddedPermissions(mask.getAsLong(), permissionIndex.id(), version);
+    }
 }
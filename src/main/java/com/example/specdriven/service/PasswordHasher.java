@@ -0,0 +1,63 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.DaemonThreadFactory;
+import com.example.specdriven.config.PasswordConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes passwords for user writes on a dedicated, bounded executor.
+ * Callers hash before opening a transaction, so the BCrypt cost is never paid while holding a
+ * pooled database connection. The executor caps how many hashes run at once; when its queue is
+ * full the caller hashes on its own thread, which slows intake instead of rejecting writes.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordConfig passwordConfig) {
+        this.passwordEncoder = passwordEncoder;
+        PasswordConfig.Hashing hashing = passwordConfig.getHashing();
+        this.executor = new ThreadPoolExecutor(
+                hashing.getThreads(), hashing.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashing.getQueueCapacity()),
+                new DaemonThreadFactory("password-hash"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Hash a raw password, waiting for the result.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded hash
+     */
+    public String hash(String rawPassword) {
+        Future<String> hash = executor.submit(() -> passwordEncoder.encode(rawPassword));
+        try {
+            return hash.get();
+        } catch (InterruptedException ex) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
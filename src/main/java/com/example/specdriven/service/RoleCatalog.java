@@ -0,0 +1,156 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.domain.PermissionEntity;
+import com.example.specdriven.domain.RoleEntity;
+import com.example.specdriven.domain.RolePermissionEntity;
+import com.example.specdriven.repository.PermissionRepository;
+import com.example.specdriven.repository.RolePermissionRepository;
+import com.example.specdriven.repository.RoleRepository;
+import com.example.specdriven.security.PermissionIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory catalog of roles and their permissions.
+ *
+ * Roles, permissions and role-permission mappings are seed data from the migrations, so they are
+ * loaded once at startup into an immutable snapshot: roles by ID, by name and by API
+ * {@link RoleName}, each with its permission set as a bitmask over the snapshot's
+ * {@link PermissionIndex}. Changing them takes a migration, and so a restart.
+ */
+@Component
+public class RoleCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleCatalog.class);
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final Snapshot snapshot;
+
+    public RoleCatalog(RoleRepository roleRepository,
+                       PermissionRepository permissionRepository,
+                       RolePermissionRepository rolePermissionRepository) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.snapshot = load();
+    }
+
+    /**
+     * Find a role by ID.
+     *
+     * @param roleId the role ID
+     * @return the role, or empty if no such role exists
+     */
+    public Optional<CatalogRole> findById(UUID roleId) {
+        return Optional.ofNullable(snapshot.rolesById().get(roleId));
+    }
+
+    /**
+     * Find a role by its API name.
+     *
+     * @param roleName the role name
+     * @return the role, or empty if the role is not defined in the database
+     */
+    public Optional<CatalogRole> findByRoleName(RoleName roleName) {
+        return Optional.ofNullable(snapshot.rolesByRoleName().get(roleName));
+    }
+
+    /**
+     * Find a role by its database name, including roles with no API counterpart.
+     *
+     * @param name the role name as stored in the roles table
+     * @return the role, or empty if no such role exists
+     */
+    public Optional<CatalogRole> findByName(String name) {
+        return Optional.ofNullable(snapshot.rolesByName().get(name));
+    }
+
+    /**
+     * Bit positions of all known permissions.
+     *
+     * @return the permission index
+     */
+    public PermissionIndex permissionIndex() {
+        return snapshot.permissionIndex();
+    }
+
+    private Snapshot load() {
+        List<PermissionEntity> permissions = permissionRepository.findAll();
+        List<RoleEntity> roles = roleRepository.findAll();
+        List<RolePermissionEntity> rolePermissions = rolePermissionRepository.findAll();
+
+        PermissionIndex permissionIndex = new PermissionIndex(
+                permissions.stream().map(PermissionEntity::getPermission).toList());
+        Map<UUID, Long> bitByPermissionId = new HashMap<>();
+        for (PermissionEntity permission : permissions) {
+            bitByPermissionId.put(permission.getId(), permissionIndex.bitOf(permission.getPermission()));
+        }
+        Map<UUID, Long> maskByRoleId = new HashMap<>();
+        for (RolePermissionEntity rolePermission : rolePermissions) {
+            maskByRoleId.merge(rolePermission.getRoleId(),
+                    bitByPermissionId.getOrDefault(rolePermission.getPermissionId(), 0L),
+                    (a, b) -> a | b);
+        }
+
+        Map<UUID, CatalogRole> byId = new HashMap<>();
+        Map<String, CatalogRole> byName = new HashMap<>();
+        Map<RoleName, CatalogRole> byRoleName = new EnumMap<>(RoleName.class);
+        for (RoleEntity entity : roles) {
+            RoleName roleName = toRoleName(entity.getRoleName());
+            CatalogRole role = new CatalogRole(entity.getId(), entity.getRoleName(), roleName,
+                    maskByRoleId.getOrDefault(entity.getId(), 0L));
+            byId.put(role.id(), role);
+            byName.put(role.name(), role);
+            if (roleName != null) {
+                byRoleName.put(roleName, role);
+            }
+        }
+
+        logger.info("Loaded role catalog: {} roles, {} permissions", byId.size(), permissionIndex.size());
+        return new Snapshot(Map.copyOf(byId), Map.copyOf(byName), byRoleName, permissionIndex);
+    }
+
+    /**
+     * Resolve a database role name to the API enum, without the exception {@code fromValue} throws.
+     */
+    private static RoleName toRoleName(String name) {
+        for (RoleName roleName : RoleName.values()) {
+            if (roleName.getValue().equals(name)) {
+                return roleName;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A role as held by the catalog.
+     *
+     * @param id             the role ID
+     * @param name           the role name as stored in the database
+     * @param roleName       the API role name, or null if the API does not expose this role
+     * @param permissionMask the role's permissions as a bitmask over the catalog's permission index
+     */
+    public record CatalogRole(UUID id, String name, RoleName roleName, long permissionMask) {
+    }
+
+    /**
+     * One immutable, consistent view of the catalog. The role-name map is an EnumMap that is
+     * never modified after construction.
+     */
+    private record Snapshot(Map<UUID, CatalogRole> rolesById,
+                            Map<String, CatalogRole> rolesByName,
+                            Map<RoleName, CatalogRole> rolesByRoleName,
+                            PermissionIndex permissionIndex) {
+    }
+}
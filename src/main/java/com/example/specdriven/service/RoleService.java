@@ -1,21 +1,18 @@
 package com.example.specdriven.service;
 
 import com.example.specdriven.api.model.RoleName;
-import com.example.specdriven.domain.RoleEntity;
-import com.example.specdriven.domain.UserRoleEntity;
+import com.example.specdriven.event.UserRolesChangedEvent;
 import com.example.specdriven.exception.ResourceNotFoundException;
 import com.example.specdriven.exception.ValidationException;
-import com.example.specdriven.repository.RoleRepository;
 import com.example.specdriven.repository.UserRepository;
 import com.example.specdriven.repository.UserRoleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,21 +34,28 @@ public class RoleService {
             .collect(Collectors.toSet());
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
     private final UserRoleRepository userRoleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RoleService(UserRepository userRepository,
-                       RoleRepository roleRepository,
-                       UserRoleRepository userRoleRepository) {
+                       RoleCatalog roleCatalog,
+                       UserRoleRepository userRoleRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCatalog = roleCatalog;
         this.userRoleRepository = userRoleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Assign a role to a user (idempotent operation).
      * If the role is already assigned, this operation is a no-op.
      *
+     * The role ID comes from the in-memory catalog and the assignment is a single conditional
+     * insert, so concurrent assignments of the same role cannot collide. Only when nothing was
+     * inserted is the user looked up, to tell an existing assignment from an unknown user.
+     *
      * @param userId the user ID
      * @param roleName the role to assign
      * @throws ResourceNotFoundException if user not found
@@ -59,31 +63,26 @@ public class RoleService {
      */
     @Transactional
     public void assignRole(UUID userId, RoleName roleName) {
-        // Validate user exists
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with ID: " + userId);
-        }
-
         // Get role name value
         String roleNameValue = roleName.getValue();
 
         // Validate role name
         validateRoleName(roleNameValue);
 
-        // Find the role entity
-        RoleEntity role = roleRepository.findByRoleName(roleNameValue)
-                .orElseThrow(() -> new ValidationException("Role not found: " + roleNameValue));
+        // Find the role in the catalog
+        RoleCatalog.CatalogRole role = roleCatalog.findByRoleName(roleName).orElse(null);
+        if (role == null) {
+            requireUser(userId);
+            throw new ValidationException("Role not found: " + roleNameValue);
+        }
 
-        // Check if already assigned
-        List<UserRoleEntity> existingAssignment = userRoleRepository.findByUserIdAndRoleId(userId, role.getId());
-        if (!existingAssignment.isEmpty()) {
+        // Insert the assignment unless the user already holds it
+        if (userRoleRepository.insertIfAbsent(userId, role.id()) == 0) {
+            requireUser(userId);
             logger.debug("Role {} already assigned to user {}, operation is idempotent", roleNameValue, userId);
             return;
         }
-
-        // Create new assignment
-        UserRoleEntity userRole = new UserRoleEntity(userId, role.getId(), LocalDateTime.now());
-        userRoleRepository.save(userRole);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(userId, role.id(), true));
 
         logger.info("Assigned role {} to user {}", roleNameValue, userId);
     }
@@ -92,31 +91,46 @@ public class RoleService {
      * Remove a role from a user (idempotent operation).
      * If the role is not assigned, this operation is a no-op.
      *
+     * A single delete; the user is looked up only when nothing was deleted.
+     *
      * @param userId the user ID
      * @param roleName the role to remove
      * @throws ResourceNotFoundException if user not found
      */
     @Transactional
     public void removeRole(UUID userId, RoleName roleName) {
-        // Validate user exists
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with ID: " + userId);
-        }
-
         // Get role name value
         String roleNameValue = roleName.getValue();
 
-        // Find the role entity (if role doesn't exist, nothing to remove)
-        RoleEntity role = roleRepository.findByRoleName(roleNameValue).orElse(null);
+        // Find the role in the catalog (if role doesn't exist, nothing to remove)
+        RoleCatalog.CatalogRole role = roleCatalog.findByRoleName(roleName).orElse(null);
         if (role == null) {
+            requireUser(userId);
             logger.debug("Role {} not found, nothing to remove from user {}", roleNameValue, userId);
             return;
         }
 
         // Delete the assignment if it exists
-        userRoleRepository.deleteByUserIdAndRoleId(userId, role.getId());
+        if (userRoleRepository.deleteByUserIdAndRoleId(userId, role.id()) == 0) {
+            requireUser(userId);
+            logger.debug("Role {} not assigned to user {}, operation is idempotent", roleNameValue, userId);
+            return;
+        }
+        eventPublisher.publishEvent(new UserRolesChangedEvent(userId, role.id(), false));
+
+        logger.info("Removed role {} from user {}", roleNameValue, userId);
+    }
 
-        logger.info("Removed role {} from user {} (if it was assigned)", roleNameValue, userId);
+    /**
+     * Validate that a user exists.
+     *
+     * @param userId the user ID
+     * @throws ResourceNotFoundException if user not found
+     */
+    private void requireUser(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
     }
 
     /**
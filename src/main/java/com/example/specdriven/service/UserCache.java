@@ -0,0 +1,107 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.event.AfterCompletion;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.example.specdriven.event.UserUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent cache of fully assembled {@link User} DTOs keyed by user ID.
+ * Caffeine's frequency-based admission keeps hot profiles resident while one-off reads of
+ * cold users cannot push them out.
+ *
+ * Entries are evicted when a user is updated or deleted or their roles change. Evictions are
+ * repeated once the surrounding transaction completes; see {@link AfterCompletion}. Cached DTOs
+ * are shared between callers and must not be modified.
+ *
+ * Hit, miss and eviction counts are exposed as {@code cache.*} meters tagged {@code cache=users}.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCache.class);
+
+    private final Cache<UUID, User> cache;
+
+    public UserCache(CacheConfig cacheConfig) {
+        CacheConfig.Spec spec = cacheConfig.getUsers();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl());
+        if (spec.isRecordStats()) {
+            builder.recordStats();
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * Get a user, assembling it with the loader on a miss.
+     * Exceptions from the loader propagate and nothing is cached.
+     *
+     * @param userId the user ID
+     * @param loader loads and assembles the user
+     * @return the cached or freshly loaded user
+     */
+    public User get(UUID userId, Function<UUID, User> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Remove the cached user.
+     *
+     * @param userId the user ID
+     */
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Hit, miss and eviction counters for sizing the cache.
+     * All zero unless {@code cache.users.record-stats} is enabled.
+     *
+     * @return snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        evictNowAndAfterCompletion(event.userId());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        evictNowAndAfterCompletion(event.userId());
+    }
+
+    @EventListener
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        evictNowAndAfterCompletion(event.userId());
+    }
+
+    private void evictNowAndAfterCompletion(UUID userId) {
+        AfterCompletion.runNowAndAfterCompletion(() -> evict(userId));
+        logger.debug("Evicted cached user {}", userId);
+    }
+}
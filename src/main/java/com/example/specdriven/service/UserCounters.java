@@ -0,0 +1,140 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.event.UserCreatedEvent;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.repository.UserRoleRepository;
+import com.example.specdriven.repository.UserSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory user counts backing approximate totals when listing users.
+ * Holds the number of users and the number of users per role, so unfiltered and role-only
+ * listings can report totals without a COUNT query.
+ *
+ * Counts are loaded from the database on first use, adjusted by user and role events once
+ * their transaction commits, and reloaded after {@code cache.user-counts-max-age} to correct
+ * any drift from concurrent reloads or changes made outside the application.
+ */
+@Component
+public class UserCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCounters.class);
+
+    private final UserRepository userRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final long maxAgeNanos;
+
+    private final AtomicLong users = new AtomicLong();
+    private final Map<UUID, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile long loadedAtNanos;
+
+    public UserCounters(UserRepository userRepository, UserRoleRepository userRoleRepository, CacheConfig cacheConfig) {
+        this.userRepository = userRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.maxAgeNanos = cacheConfig.getUserCountsMaxAge().toNanos();
+    }
+
+    /**
+     * Approximate number of users matching a filter.
+     * Only unfiltered and role-only filters are counted; any other filter has no estimate.
+     *
+     * @param filter the listing filter
+     * @return approximate count, or empty if the filter is not counted
+     */
+    public OptionalLong estimate(UserSpecification filter) {
+        if (filter.username() != null || filter.emailAddress() != null || filter.nameContains() != null) {
+            return OptionalLong.empty();
+        }
+        reloadIfStale();
+        if (filter.roleId() == null) {
+            return OptionalLong.of(Math.max(0, users.get()));
+        }
+        AtomicLong roleCount = usersByRole.get(filter.roleId());
+        return OptionalLong.of(roleCount == null ? 0 : Math.max(0, roleCount.get()));
+    }
+
+    /**
+     * Reload all counts from the database.
+     */
+    public synchronized void reload() {
+        long total = userRepository.count();
+        Map<UUID, AtomicLong> byRole = new ConcurrentHashMap<>();
+        for (UserRoleRepository.RoleUserCount count : userRoleRepository.countUsersByRole()) {
+            byRole.put(count.getRoleId(), new AtomicLong(count.getUserCount()));
+        }
+        users.set(total);
+        usersByRole.keySet().retainAll(byRole.keySet());
+        usersByRole.putAll(byRole);
+        loadedAtNanos = System.nanoTime();
+        loaded = true;
+        logger.debug("Reloaded user counts: {} users, {} roles", total, byRole.size());
+    }
+
+    @EventListener
+    public void onUserCreated(UserCreatedEvent event) {
+        afterCommit(() -> users.incrementAndGet());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        afterCommit(() -> {
+            users.decrementAndGet();
+            event.roleIds().forEach(roleId -> adjustRole(roleId, -1));
+        });
+    }
+
+    @EventListener
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        afterCommit(() -> adjustRole(event.roleId(), event.assigned() ? 1 : -1));
+    }
+
+    private void reloadIfStale() {
+        if (!loaded || System.nanoTime() - loadedAtNanos >= maxAgeNanos) {
+            synchronized (this) {
+                if (!loaded || System.nanoTime() - loadedAtNanos >= maxAgeNanos) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private void adjustRole(UUID roleId, long delta) {
+        usersByRole.computeIfAbsent(roleId, id -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /**
+     * Apply a change once the surrounding transaction commits, so rolled back writes are never
+     * counted. Before the first load there is nothing to adjust; the load will see the change.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (loaded) {
+                change.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (loaded) {
+                    change.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.exception.ValidationException;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the (createdAt, id) order used for keyset pagination of users.
+ * Encoded as base64url of the epoch second, nanosecond and ID so clients treat it as opaque.
+ *
+ * @param createdAt creation time of the last user on the previous page
+ * @param id        ID of the last user on the previous page
+ */
+public record UserCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public UserCursor {
+        // Columns hold microseconds; a finer in-memory value would skip rows sharing the microsecond
+        createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Cursor positioned at the given user.
+     *
+     * @param user the last user on a page
+     * @return cursor for the page after it
+     */
+    public static UserCursor of(UserEntity user) {
+        return new UserCursor(user.getCreatedAt(), user.getId());
+    }
+
+    /**
+     * Decode a cursor received from a client.
+     *
+     * @param value the opaque cursor string
+     * @return the decoded cursor
+     * @throws ValidationException if the value is not a cursor issued by {@link #encode()}
+     */
+    public static UserCursor decode(String value) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(value));
+            if (buffer.remaining() != ENCODED_BYTES) {
+                throw new ValidationException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new UserCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encode this cursor for a response.
+     *
+     * @return URL-safe opaque string
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(createdAt.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -1,24 +1,31 @@
 package com.example.specdriven.service;
 
 import com.example.specdriven.api.model.*;
-import com.example.specdriven.domain.RoleEntity;
 import com.example.specdriven.domain.UserEntity;
 import com.example.specdriven.domain.UserRoleEntity;
+import com.example.specdriven.event.UserCreatedEvent;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserUpdatedEvent;
 import com.example.specdriven.exception.ConflictException;
 import com.example.specdriven.exception.ResourceNotFoundException;
 import com.example.specdriven.exception.ValidationException;
 import com.example.specdriven.mapper.UserMapper;
-import com.example.specdriven.repository.RoleRepository;
 import com.example.specdriven.repository.UserRepository;
 import com.example.specdriven.repository.UserRoleRepository;
+import com.example.specdriven.repository.UserSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,38 +38,66 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private static final int MAX_PAGE_SIZE = 100;
+    private static final String UNIQUE_VIOLATION = "23505";
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
     private final UserRoleRepository userRoleRepository;
     private final UserMapper userMapper;
+    private final UserCounters userCounters;
+    private final UserCache userCache;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(UserRepository userRepository,
-                      RoleRepository roleRepository,
+                      RoleCatalog roleCatalog,
                       UserRoleRepository userRoleRepository,
-                      UserMapper userMapper) {
+                      UserMapper userMapper,
+                      UserCounters userCounters,
+                      UserCache userCache,
+                      PasswordHasher passwordHasher,
+                      PlatformTransactionManager transactionManager,
+                      ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCatalog = roleCatalog;
         this.userRoleRepository = userRoleRepository;
         this.userMapper = userMapper;
+        this.userCounters = userCounters;
+        this.userCache = userCache;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Create a new user.
-     * Validates email uniqueness before creation.
+     * Issues a single INSERT; email uniqueness is enforced by the database constraint rather
+     * than a prior lookup, so concurrent creates with the same email cannot both succeed.
+     * The password is hashed before the transaction opens, so no connection is held meanwhile.
      *
      * @param request the create user request
      * @return the created User DTO
      * @throws ConflictException if email address already exists
      */
-    @Transactional
     public User createUser(CreateUserRequest request) {
-        // Validate email uniqueness
-        validateEmailUniqueness(request.getEmailAddress(), null);
+        String passwordHash = passwordHasher.hash(request.getPassword());
+        return transactionTemplate.execute(status -> insertUser(request, passwordHash));
+    }
 
-        // Create entity and save
-        UserEntity entity = userMapper.toEntity(request);
-        UserEntity savedEntity = userRepository.save(entity);
+    private User insertUser(CreateUserRequest request, String passwordHash) {
+        // Create entity and insert, flushing so a duplicate email surfaces here
+        UserEntity entity = userMapper.toEntity(request, passwordHash);
+        UserEntity savedEntity;
+        try {
+            savedEntity = userRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new ConflictException("Email address already exists: " + request.getEmailAddress(), ex);
+            }
+            throw ex;
+        }
+        eventPublisher.publishEvent(new UserCreatedEvent(savedEntity.getId()));
 
         logger.info("Created user with ID: {}", savedEntity.getId());
 
@@ -72,14 +107,18 @@ public class UserService {
 
     /**
      * Get a user by ID.
-     * Loads the user's roles as well.
+     * Served from {@link UserCache}; on a miss the user and their roles are loaded and assembled.
+     * Not transactional, so a hit opens no transaction and takes no connection.
      *
      * @param userId the user ID
      * @return the User DTO with roles
      * @throws ResourceNotFoundException if user not found
      */
-    @Transactional(readOnly = true)
     public User getUserById(UUID userId) {
+        return userCache.get(userId, this::loadUser);
+    }
+
+    private User loadUser(UUID userId) {
         UserEntity entity = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
@@ -92,6 +131,7 @@ public class UserService {
     /**
      * Update an existing user.
      * Validates email uniqueness if email is being changed.
+     * A new password is hashed before the transaction opens, so no connection is held meanwhile.
      *
      * @param userId the user ID
      * @param request the update request
@@ -99,8 +139,12 @@ public class UserService {
      * @throws ResourceNotFoundException if user not found
      * @throws ConflictException if new email already exists
      */
-    @Transactional
     public User updateUser(UUID userId, UpdateUserRequest request) {
+        String passwordHash = request.getPassword() != null ? passwordHasher.hash(request.getPassword()) : null;
+        return transactionTemplate.execute(status -> applyUpdate(userId, request, passwordHash));
+    }
+
+    private User applyUpdate(UUID userId, UpdateUserRequest request, String passwordHash) {
         UserEntity entity = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
@@ -111,8 +155,9 @@ public class UserService {
         }
 
         // Apply updates
-        UserEntity updatedEntity = userMapper.updateEntity(request, entity);
+        UserEntity updatedEntity = userMapper.updateEntity(request, entity, passwordHash);
         UserEntity savedEntity = userRepository.save(updatedEntity);
+        eventPublisher.publishEvent(new UserUpdatedEvent(userId));
 
         logger.info("Updated user with ID: {}", userId);
 
@@ -134,7 +179,12 @@ public class UserService {
             throw new ResourceNotFoundException("User not found with ID: " + userId);
         }
 
+        // Listeners need the roles the cascade is about to remove
+        List<UUID> roleIds = userRoleRepository.findByUserId(userId).stream()
+                .map(UserRoleEntity::getRoleId)
+                .toList();
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, roleIds));
         logger.info("Deleted user with ID: {}", userId);
     }
 
@@ -157,6 +207,19 @@ public class UserService {
         }
     }
 
+    /**
+     * Whether a constraint violation is a unique violation, identified by its SQLSTATE.
+     * The email address is the only unique column a new user can collide on.
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return UNIQUE_VIOLATION.equals(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+
     /**
      * Load roles for a user.
      *
@@ -164,183 +227,157 @@ public class UserService {
      * @return list of Role DTOs
      */
     private List<Role> loadUserRoles(UUID userId) {
-        List<UserRoleEntity> userRoles = userRoleRepository.findByUserId(userId);
-        
-        return userRoles.stream()
-                .map(userRole -> {
-                    Optional<RoleEntity> roleEntity = roleRepository.findById(userRole.getRoleId());
-                    return roleEntity.map(userMapper::toRoleDto).orElse(null);
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return loadRolesByUser(List.of(userId)).getOrDefault(userId, Collections.emptyList());
+    }
+
+    /**
+     * Load roles for several users with a single query for their role assignments.
+     * Roles are resolved from the in-memory catalog; roles the API does not expose are skipped.
+     *
+     * @param userIds the user IDs
+     * @return Role DTOs keyed by user ID; users without roles are absent
+     */
+    private Map<UUID, List<Role>> loadRolesByUser(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<UserRoleEntity> assignments = userRoleRepository.findByUserIdIn(userIds);
+        if (assignments.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, List<Role>> rolesByUser = new HashMap<>();
+        for (UserRoleEntity assignment : assignments) {
+            Role role = roleCatalog.findById(assignment.getRoleId())
+                    .map(userMapper::toRoleDto)
+                    .orElse(null);
+            if (role != null) {
+                rolesByUser.computeIfAbsent(assignment.getUserId(), id -> new ArrayList<>())
+                        .add(role);
+            }
+        }
+        return rolesByUser;
     }
 
     /**
      * List users with pagination and optional filters.
+     * Users are returned in (createdAt, id) order. A page is addressed either by number or by a
+     * cursor from a previous response; cursor pages seek straight to their position instead of
+     * skipping the rows before it.
+     *
+     * Only EXACT totals run a COUNT query. Otherwise one row beyond the page is fetched to
+     * determine hasNext, and APPROXIMATE totals come from {@link UserCounters}.
      *
-     * @param page 1-based page number
+     * @param page 1-based page number, required unless a cursor is given
      * @param pageSize number of items per page
      * @param username optional exact username filter
      * @param emailAddress optional exact email filter
      * @param name optional case-insensitive partial name filter
      * @param roleName optional role filter
+     * @param cursor optional cursor from a previous page's nextCursor
+     * @param totals how totals are computed; EXACT if null
      * @return UserPage with matching users and pagination metadata
-     * @throws ValidationException if pagination parameters are invalid
+     * @throws ValidationException if pagination parameters or the cursor are invalid
      */
     @Transactional(readOnly = true)
-    public UserPage listUsers(Integer page, Integer pageSize, String username, 
-                              String emailAddress, String name, RoleName roleName) {
+    public UserPage listUsers(Integer page, Integer pageSize, String username, String emailAddress,
+                              String name, RoleName roleName, String cursor, TotalsMode totals) {
         // Validate pagination parameters
-        validatePaginationParams(page, pageSize);
+        validatePaginationParams(page, pageSize, cursor);
+        UserCursor after = cursor == null ? null : UserCursor.decode(cursor);
+        TotalsMode totalsMode = totals == null ? TotalsMode.EXACT : totals;
 
-        // Create pageable (Spring Data uses 0-based page index)
-        Pageable pageable = PageRequest.of(page - 1, pageSize);
-
-        Page<UserEntity> userPage;
-
-        // Handle role filtering separately (requires joining user_roles table)
+        UUID roleId = null;
         if (roleName != null) {
-            userPage = listUsersByRole(roleName.getValue(), username, emailAddress, name, pageable);
-        } else {
-            userPage = listUsersByFilters(username, emailAddress, name, pageable);
+            Optional<RoleCatalog.CatalogRole> role = roleCatalog.findByRoleName(roleName);
+            if (role.isEmpty()) {
+                // Role doesn't exist, return empty page
+                Long noUsers = totalsMode == TotalsMode.NONE ? null : 0L;
+                return toUserPage(Collections.emptyList(), page, pageSize, noUsers, false);
+            }
+            roleId = role.get().id();
         }
 
-        // Map to UserPage DTO
-        return toUserPage(userPage, page, pageSize);
-    }
+        UserSpecification filter = new UserSpecification(username, emailAddress, name, roleId);
+        if (after == null && totalsMode == TotalsMode.EXACT) {
+            // Create pageable (Spring Data uses 0-based page index) with a stable order
+            Pageable pageable = PageRequest.of(page - 1, pageSize, UserSpecification.LIST_ORDER);
 
-    /**
-     * Validate pagination parameters.
-     */
-    private void validatePaginationParams(Integer page, Integer pageSize) {
-        if (page == null || page < 1) {
-            throw new ValidationException("Page must be >= 1");
+            // Page query plus count query for any combination of filters
+            Page<UserEntity> userPage = userRepository.findAll(filter, pageable);
+            return toUserPage(userPage.getContent(), page, pageSize, userPage.getTotalElements(), userPage.hasNext());
         }
-        if (pageSize == null || pageSize < 1) {
-            throw new ValidationException("Page size must be >= 1");
-        }
-        if (pageSize > MAX_PAGE_SIZE) {
-            throw new ValidationException("Page size must be <= " + MAX_PAGE_SIZE);
-        }
-    }
 
-    /**
-     * List users by filters (without role filter).
-     */
-    private Page<UserEntity> listUsersByFilters(String username, String emailAddress, 
-                                                 String name, Pageable pageable) {
-        // Determine which query to use based on filters provided
-        boolean hasUsername = username != null && !username.isEmpty();
-        boolean hasEmail = emailAddress != null && !emailAddress.isEmpty();
-        boolean hasName = name != null && !name.isEmpty();
-
-        if (hasUsername && hasEmail && hasName) {
-            return userRepository.findByUsernameAndEmailAddressAndNameContainingIgnoreCase(
-                    username, emailAddress, name, pageable);
-        } else if (hasUsername && hasEmail) {
-            return userRepository.findByUsernameAndEmailAddress(username, emailAddress, pageable);
-        } else if (hasUsername && hasName) {
-            return userRepository.findByUsernameAndNameContainingIgnoreCase(username, name, pageable);
-        } else if (hasEmail && hasName) {
-            return userRepository.findByEmailAddressAndNameContainingIgnoreCase(emailAddress, name, pageable);
-        } else if (hasUsername) {
-            return userRepository.findByUsername(username, pageable);
-        } else if (hasEmail) {
-            return userRepository.findByEmailAddress(emailAddress, pageable);
-        } else if (hasName) {
-            return userRepository.findByNameContainingIgnoreCase(name, pageable);
-        } else {
-            return userRepository.findAll(pageable);
-        }
+        // Fetch one row beyond the page to learn whether another page follows
+        List<UserEntity> rows = after == null
+                ? userRepository.findWindow(filter, UserSpecification.LIST_ORDER, (long) (page - 1) * pageSize, pageSize + 1)
+                : userRepository.findWindow(filter.and(UserSpecification.after(after.createdAt(), after.id())),
+                        UserSpecification.LIST_ORDER, 0, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<UserEntity> content = hasNext ? rows.subList(0, pageSize) : rows;
+        return toUserPage(content, page, pageSize, totalItems(filter, totalsMode), hasNext);
     }
 
     /**
-     * List users by role (with optional additional filters).
+     * Total matching users for a page fetched without a count, or null if not reported.
      */
-    private Page<UserEntity> listUsersByRole(String roleName, String username,
-                                              String emailAddress, String name, Pageable pageable) {
-        // First, find the role
-        RoleEntity role = roleRepository.findByRoleName(roleName)
-                .orElse(null);
-        
-        if (role == null) {
-            // Role doesn't exist, return empty page
-            return Page.empty(pageable);
-        }
-
-        // Get user IDs with this role
-        List<UserRoleEntity> userRoles = userRoleRepository.findByRoleId(role.getId());
-        List<UUID> userIds = userRoles.stream()
-                .map(UserRoleEntity::getUserId)
-                .collect(Collectors.toList());
-
-        if (userIds.isEmpty()) {
-            return Page.empty(pageable);
-        }
-
-        // Get users by IDs with pagination
-        Page<UserEntity> usersWithRole = userRepository.findByIdIn(userIds, pageable);
-
-        // Apply additional filters in memory if necessary
-        if (username != null || emailAddress != null || name != null) {
-            List<UserEntity> filtered = usersWithRole.getContent().stream()
-                    .filter(user -> matchesFilters(user, username, emailAddress, name))
-                    .collect(Collectors.toList());
-            
-            // Calculate proper pagination offset (safely convert long to int)
-            int start = Math.toIntExact(pageable.getOffset());
-            int end = Math.min(filtered.size(), start + pageable.getPageSize());
-            
-            // Handle case where start exceeds filtered size
-            List<UserEntity> pageContent;
-            if (start >= filtered.size()) {
-                pageContent = java.util.Collections.emptyList();
-            } else {
-                pageContent = filtered.subList(start, end);
+    private Long totalItems(UserSpecification filter, TotalsMode totalsMode) {
+        return switch (totalsMode) {
+            case EXACT -> userRepository.count(filter);
+            case APPROXIMATE -> {
+                OptionalLong estimate = userCounters.estimate(filter);
+                yield estimate.isPresent() ? estimate.getAsLong() : null;
             }
-            
-            return new org.springframework.data.domain.PageImpl<>(
-                    pageContent, pageable, filtered.size());
-        }
-
-        return usersWithRole;
+            case NONE -> null;
+        };
     }
 
     /**
-     * Check if a user matches the given filters.
+     * Validate pagination parameters.
      */
-    private boolean matchesFilters(UserEntity user, String username, 
-                                   String emailAddress, String name) {
-        if (username != null && !username.equals(user.getUsername())) {
-            return false;
+    private void validatePaginationParams(Integer page, Integer pageSize, String cursor) {
+        if (cursor != null) {
+            if (page != null) {
+                throw new ValidationException("Page and cursor cannot be combined");
+            }
+        } else if (page == null || page < 1) {
+            throw new ValidationException("Page must be >= 1");
         }
-        if (emailAddress != null && !emailAddress.equals(user.getEmailAddress())) {
-            return false;
+        if (pageSize == null || pageSize < 1) {
+            throw new ValidationException("Page size must be >= 1");
         }
-        if (name != null && (user.getName() == null || 
-                !user.getName().toLowerCase().contains(name.toLowerCase()))) {
-            return false;
+        if (pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be <= " + MAX_PAGE_SIZE);
         }
-        return true;
     }
 
     /**
-     * Convert Page<UserEntity> to UserPage DTO.
+     * Convert a page of entities to UserPage DTO.
+     * Totals are left out when totalItems is null.
      */
-    private UserPage toUserPage(Page<UserEntity> page, Integer pageNum, Integer pageSize) {
-        List<User> users = page.getContent().stream()
-                .map(entity -> {
-                    List<Role> roles = loadUserRoles(entity.getId());
-                    return userMapper.toDto(entity, roles);
-                })
+    private UserPage toUserPage(List<UserEntity> content, Integer pageNum, int pageSize,
+                                Long totalItems, boolean hasNext) {
+        // Load roles for the whole page at once rather than per user
+        Map<UUID, List<Role>> rolesByUser = loadRolesByUser(content.stream()
+                .map(UserEntity::getId)
+                .toList());
+        List<User> users = content.stream()
+                .map(entity -> userMapper.toDto(entity,
+                        rolesByUser.getOrDefault(entity.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
 
         UserPage userPage = new UserPage();
         userPage.setItems(users);
         userPage.setPage(pageNum);
         userPage.setPageSize(pageSize);
-        userPage.setTotalItems((int) page.getTotalElements());
-        userPage.setTotalPages(page.getTotalPages());
+        if (totalItems != null) {
+            userPage.setTotalItems(totalItems.intValue());
+            userPage.setTotalPages((int) ((totalItems + pageSize - 1) / pageSize));
+        }
+        userPage.setHasNext(hasNext);
+        if (hasNext && !content.isEmpty()) {
+            userPage.setNextCursor(UserCursor.of(content.get(content.size() - 1)).encode());
+        }
 
         return userPage;
     }
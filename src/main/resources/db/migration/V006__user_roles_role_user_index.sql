@@ -0,0 +1,5 @@
+-- V006__user_roles_role_user_index.sql
+-- Cover role-filtered user listing: find a role's members and join to users from the index alone
+
+DROP INDEX IF EXISTS idx_user_roles_role;
+CREATE INDEX idx_user_roles_role_user ON user_roles(role_id, user_id);
@@ -0,0 +1,4 @@
+-- V007__users_created_at_id_index.sql
+-- Serve the stable (created_at, id) listing order and keyset seeks without a sort
+
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
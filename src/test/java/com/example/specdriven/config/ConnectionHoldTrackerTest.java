@@ -0,0 +1,120 @@
+package com.example.specdriven.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConnectionHoldTracker.
+ * Tests DataSource wrapping, hold time recording, and that a disabled tracker wraps nothing.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectionHoldTrackerTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionHoldTracker tracker;
+    private DataSource tracked;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        tracker = new ConnectionHoldTracker(true);
+        tracked = (DataSource) tracker.postProcessAfterInitialization(dataSource, "dataSource");
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void postProcess_OtherBeans_ReturnedUnchanged() {
+        Object bean = new Object();
+
+        assertSame(bean, tracker.postProcessAfterInitialization(bean, "other"));
+        assertSame(tracked, tracker.postProcessAfterInitialization(tracked, "dataSource"));
+    }
+
+    @Test
+    void postProcess_Disabled_ReturnsDataSourceUnchanged() {
+        ConnectionHoldTracker disabled = new ConnectionHoldTracker(false);
+
+        assertFalse(disabled.isEnabled());
+        assertSame(dataSource, disabled.postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+
+    @Test
+    void constructor_ProductionProfile_DisabledUnlessConfigured() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+        MockEnvironment forced = new MockEnvironment().withProperty("jdbc-diagnostics.connection-hold", "true");
+        forced.setActiveProfiles("prod");
+
+        assertTrue(new ConnectionHoldTracker(new MockEnvironment()).isEnabled());
+        assertFalse(new ConnectionHoldTracker(production).isEnabled());
+        assertTrue(new ConnectionHoldTracker(forced).isEnabled());
+    }
+
+    @Test
+    void close_RecordsHoldTime() throws Exception {
+        Connection held = tracked.getConnection();
+        Thread.sleep(20);
+        held.close();
+
+        ConnectionHoldTracker.Snapshot snapshot = tracker.snapshot();
+        assertEquals(1, snapshot.holds());
+        assertTrue(snapshot.max().toMillis() >= 20);
+        assertEquals(snapshot.max(), snapshot.average());
+        verify(connection).close();
+    }
+
+    @Test
+    void close_Twice_RecordedOnce() throws SQLException {
+        Connection held = tracked.getConnection();
+
+        held.close();
+        held.close();
+
+        assertEquals(1, tracker.snapshot().holds());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void openConnection_NotRecorded() throws SQLException {
+        tracked.getConnection();
+
+        assertEquals(0, tracker.snapshot().holds());
+    }
+
+    @Test
+    void trackedConnection_DelegatesAndExposesTarget() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(false);
+        Connection held = tracked.getConnection();
+
+        assertFalse(held.getAutoCommit());
+        assertSame(connection, ((ConnectionProxy) held).getTargetConnection());
+        assertEquals(held, held);
+        assertNotEquals(held, connection);
+    }
+
+    @Test
+    void reset_DiscardsRecordedHolds() throws SQLException {
+        tracked.getConnection().close();
+
+        tracker.reset();
+
+        assertEquals(0, tracker.snapshot().holds());
+        assertEquals(0, tracker.snapshot().maxNanos());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.specdriven.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DaemonThreadFactory.
+ * Tests thread naming and that threads are daemons.
+ */
+class DaemonThreadFactoryTest {
+
+    @Test
+    void newThread_NumberedDaemonThreads() {
+        DaemonThreadFactory factory = new DaemonThreadFactory("login");
+        Runnable task = () -> { };
+
+        Thread first = factory.newThread(task);
+        Thread second = factory.newThread(task);
+
+        assertEquals("login-1", first.getName());
+        assertEquals("login-2", second.getName());
+        assertTrue(first.isDaemon());
+        assertTrue(second.isDaemon());
+    }
+
+    @Test
+    void newThread_FactoriesNumberIndependently() {
+        new DaemonThreadFactory("login").newThread(() -> { });
+
+        assertEquals("password-hash-1", new DaemonThreadFactory("password-hash").newThread(() -> { }).getName());
+    }
+}
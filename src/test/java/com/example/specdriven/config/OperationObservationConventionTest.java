@@ -0,0 +1,66 @@
+package com.example.specdriven.config;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OperationObservationConvention.
+ * Tests the operation tag for matched and unmatched requests, alongside the default tags.
+ */
+class OperationObservationConventionTest {
+
+    private final OperationObservationConvention convention = new OperationObservationConvention();
+
+    /**
+     * Stands in for a controller implementing a generated API interface.
+     */
+    static class Handler {
+        public void listUsers() {
+        }
+    }
+
+    private static ServerRequestObservationContext context(MockHttpServletRequest request) {
+        return new ServerRequestObservationContext(request, new MockHttpServletResponse());
+    }
+
+    private String operation(ServerRequestObservationContext context) {
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals(OperationObservationConvention.OPERATION_KEY))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_MatchedHandler_TagsMethodName() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Handler(), Handler.class.getMethod("listUsers")));
+
+        assertEquals("listUsers", operation(context(request)));
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_NoHandler_TagsNone() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/missing");
+
+        assertEquals(OperationObservationConvention.NONE, operation(context(request)));
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_KeepsDefaultKeys() {
+        ServerRequestObservationContext context = context(new MockHttpServletRequest("GET", "/ping"));
+
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream()
+                .anyMatch(keyValue -> keyValue.getKey().equals("uri")));
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream()
+                .anyMatch(keyValue -> keyValue.getKey().equals("status")));
+    }
+}
@@ -1,15 +1,18 @@
 package com.example.specdriven.config;
 
+import com.example.specdriven.security.PasswordAlgorithm;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Integration tests for PasswordEncoderConfig.
- * Verifies that BCryptPasswordEncoder bean is properly configured.
+ * Verifies that the delegating password encoder bean is properly configured, and that legacy
+ * and off-target hashes still verify but need an upgrade.
  */
 @SpringBootTest
 class PasswordEncoderConfigTest {
@@ -30,7 +33,7 @@ class PasswordEncoderConfigTest {
         
         assertNotNull(encoded);
         assertNotEquals(rawPassword, encoded);
-        assertTrue(encoded.startsWith("$2a$") || encoded.startsWith("$2b$")); // BCrypt format
+        assertTrue(encoded.startsWith("{bcrypt}$2a$") || encoded.startsWith("{bcrypt}$2b$")); // Prefixed BCrypt format
     }
 
     @Test
@@ -64,4 +67,46 @@ class PasswordEncoderConfigTest {
         assertTrue(passwordEncoder.matches(rawPassword, encoded1));
         assertTrue(passwordEncoder.matches(rawPassword, encoded2));
     }
+
+    @Test
+    void passwordEncoder_NewHash_NeedsNoUpgrade() {
+        String encoded = passwordEncoder.encode("testPassword123");
+
+        assertFalse(passwordEncoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void passwordEncoder_UnprefixedBcryptHash_MatchesAndNeedsUpgrade() {
+        String legacy = new BCryptPasswordEncoder(4).encode("testPassword123");
+
+        assertTrue(passwordEncoder.matches("testPassword123", legacy));
+        assertTrue(passwordEncoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void passwordEncoder_OtherAlgorithmHash_MatchesAndNeedsUpgrade() {
+        String pbkdf2 = "{pbkdf2}" + PasswordAlgorithm.PBKDF2.encoder(1000).encode("testPassword123");
+
+        assertTrue(passwordEncoder.matches("testPassword123", pbkdf2));
+        assertTrue(passwordEncoder.upgradeEncoding(pbkdf2));
+    }
+
+    @Test
+    void passwordEncoder_FixedCost_SkipsCalibration() {
+        PasswordConfig passwordConfig = new PasswordConfig();
+        passwordConfig.getEncoding().setAlgorithm(PasswordAlgorithm.ARGON2);
+        passwordConfig.getEncoding().setCost(1);
+
+        PasswordEncoder encoder = new PasswordEncoderConfig().passwordEncoder(passwordConfig);
+        String encoded = encoder.encode("testPassword123");
+
+        assertTrue(encoded.startsWith("{argon2}$argon2id$"));
+        assertEquals(1, PasswordAlgorithm.ARGON2.storedCost(encoded.substring("{argon2}".length())).getAsInt());
+        assertTrue(encoder.matches("testPassword123", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+        // Hashes of the previous default algorithm still verify, and are moved over
+        String bcrypt = passwordEncoder.encode("testPassword123");
+        assertTrue(encoder.matches("testPassword123", bcrypt));
+        assertTrue(encoder.upgradeEncoding(bcrypt));
+    }
 }
@@ -0,0 +1,163 @@
+package com.example.specdriven.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StatementCountFilter.
+ * Tests the count headers outside production, that they are set before the body commits the
+ * response, the per-endpoint meters, and that requests pass through while the tracker is disabled.
+ */
+class StatementCountFilterTest {
+
+    private StatementTracker tracker;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new StatementTracker(true);
+        request = new MockHttpServletRequest("GET", "/users/123");
+        response = new MockHttpServletResponse();
+    }
+
+    /**
+     * A chain that executes {@code statements} statements of 1 ms each, then writes a body.
+     */
+    private FilterChain executing(int statements, String body) {
+        return (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                tracker.record("select " + i, TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{userId}");
+            if (body != null) {
+                res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+                res.flushBuffer();
+            }
+        };
+    }
+
+    @Test
+    void doFilter_NonProduction_AddsHeaders() throws Exception {
+        new StatementCountFilter(tracker, true).doFilter(request, response, executing(3, "{}"));
+
+        assertEquals("3", response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+        assertEquals("3.000", response.getHeader(StatementCountFilter.TIME_HEADER));
+        assertTrue(response.isCommitted());
+        assertEquals("{}", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_NoBody_HeadersSetAfterChain() throws Exception {
+        new StatementCountFilter(tracker, true).doFilter(request, response, executing(2, null));
+
+        assertEquals("2", response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void doFilter_SendError_HeadersSetBeforeError() throws Exception {
+        FilterChain chain = (req, res) -> {
+            tracker.record("select 1", 1_000);
+            ((HttpServletResponse) res).sendError(404);
+        };
+
+        new StatementCountFilter(tracker, true).doFilter(request, response, chain);
+
+        assertEquals(404, response.getStatus());
+        assertEquals("1", response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void doFilter_Production_NoHeaders() throws Exception {
+        new StatementCountFilter(tracker, false).doFilter(request, response, executing(3, "{}"));
+
+        assertNull(response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+        assertNull(response.getHeader(StatementCountFilter.TIME_HEADER));
+    }
+
+    @Test
+    void constructor_ProductionProfile_NoHeaders() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+
+        new StatementCountFilter(tracker, environment).doFilter(request, response, executing(1, "{}"));
+
+        assertNull(response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void constructor_OtherProfile_AddsHeaders() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+
+        new StatementCountFilter(tracker, environment).doFilter(request, response, executing(1, "{}"));
+
+        assertEquals("1", response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void doFilter_StatementsOutsideRequest_NotCounted() throws Exception {
+        tracker.record("select before", 1_000);
+
+        new StatementCountFilter(tracker, true).doFilter(request, response, executing(0, "{}"));
+
+        assertEquals("0", response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void doFilter_BoundRegistry_RecordsPerEndpoint() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementCountFilter filter = new StatementCountFilter(tracker, false);
+        filter.bindTo(registry);
+
+        filter.doFilter(request, response, executing(2, "{}"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/456"), new MockHttpServletResponse(),
+                executing(4, "{}"));
+
+        DistributionSummary statements = registry.get("http.server.requests.db.statements")
+                .tag("method", "GET").tag("uri", "/users/{userId}").summary();
+        assertEquals(2, statements.count());
+        assertEquals(6, statements.totalAmount());
+        assertEquals(4, statements.max());
+        Timer time = registry.get("http.server.requests.db.time")
+                .tag("method", "GET").tag("uri", "/users/{userId}").timer();
+        assertEquals(6, time.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void doFilter_UnmatchedRequest_RecordedAsUnknown() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementCountFilter filter = new StatementCountFilter(tracker, false);
+        filter.bindTo(registry);
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertEquals(1, registry.get("http.server.requests.db.statements").tag("uri", "UNKNOWN").summary().count());
+    }
+
+    @Test
+    void doFilter_TrackerDisabled_PassesThrough() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementCountFilter filter = new StatementCountFilter(new StatementTracker(false), true);
+        filter.bindTo(registry);
+
+        filter.doFilter(request, response, executing(3, "{}"));
+
+        assertNull(response.getHeader(StatementCountFilter.STATEMENTS_HEADER));
+        assertNull(registry.find("http.server.requests.db.statements").summary());
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.specdriven.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StatementTracker.
+ * Tests DataSource wrapping, counting of statement executions per thread, nesting of
+ * recordings, SQL capture, and that a disabled tracker wraps nothing.
+ */
+@ExtendWith(MockitoExtension.class)
+class StatementTrackerTest {
+
+    private static final String SELECT = "select * from users where id = ?";
+    private static final String INSERT = "insert into user_roles values (?, ?, ?)";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private StatementTracker tracker;
+    private DataSource tracked;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        tracker = new StatementTracker(true);
+        tracked = (DataSource) tracker.postProcessAfterInitialization(dataSource, "dataSource");
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    }
+
+    @Test
+    void postProcess_OtherBeans_ReturnedUnchanged() {
+        Object bean = new Object();
+
+        assertSame(bean, tracker.postProcessAfterInitialization(bean, "other"));
+        assertSame(tracked, tracker.postProcessAfterInitialization(tracked, "dataSource"));
+    }
+
+    @Test
+    void postProcess_Disabled_ReturnsDataSourceUnchanged() {
+        StatementTracker disabled = new StatementTracker(false);
+
+        assertFalse(disabled.isEnabled());
+        assertSame(dataSource, disabled.postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+
+    @Test
+    void constructor_ProductionProfile_DisabledUnlessConfigured() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+        MockEnvironment forced = new MockEnvironment().withProperty("jdbc-diagnostics.statements", "true");
+        forced.setActiveProfiles("prod");
+
+        assertTrue(new StatementTracker(new MockEnvironment()).isEnabled());
+        assertFalse(new StatementTracker(production).isEnabled());
+        assertTrue(new StatementTracker(forced).isEnabled());
+    }
+
+    @Test
+    void getConnection_ReturnsProxyExposingTarget() throws SQLException {
+        Connection proxied = tracked.getConnection();
+
+        assertInstanceOf(ConnectionProxy.class, proxied);
+        assertSame(connection, ((ConnectionProxy) proxied).getTargetConnection());
+    }
+
+    @Test
+    void execute_WithinRecording_CountedWithSql() throws SQLException {
+        try (StatementTracker.Recording recording = tracker.start(true)) {
+            Connection proxied = tracked.getConnection();
+            PreparedStatement select = proxied.prepareStatement(SELECT);
+            assertSame(resultSet, select.executeQuery());
+            proxied.createStatement().execute("select 1");
+
+            assertEquals(2, recording.statements());
+            assertEquals(List.of(SELECT, "select 1"), recording.sql());
+            assertFalse(recording.time().isNegative());
+        }
+        verify(preparedStatement).executeQuery();
+        verify(statement).execute("select 1");
+    }
+
+    @Test
+    void execute_WithoutCapture_CountsOnly() throws SQLException {
+        try (StatementTracker.Recording recording = tracker.start(false)) {
+            tracked.getConnection().prepareStatement(SELECT).executeQuery();
+
+            assertEquals(1, recording.statements());
+            assertTrue(recording.sql().isEmpty());
+        }
+    }
+
+    @Test
+    void executeBatch_CountedOnce() throws SQLException {
+        try (StatementTracker.Recording recording = tracker.start(true)) {
+            PreparedStatement insert = tracked.getConnection().prepareStatement(INSERT);
+            insert.addBatch();
+            insert.addBatch();
+            insert.executeBatch();
+
+            assertEquals(1, recording.statements());
+            assertEquals(List.of(INSERT), recording.sql());
+        }
+        verify(preparedStatement, times(2)).addBatch();
+    }
+
+    @Test
+    void execute_Failing_StillCountedAndRethrown() throws SQLException {
+        SQLException failure = new SQLException("constraint violated");
+        when(preparedStatement.executeUpdate()).thenThrow(failure);
+
+        try (StatementTracker.Recording recording = tracker.start(false)) {
+            PreparedStatement insert = tracked.getConnection().prepareStatement(INSERT);
+
+            assertSame(failure, assertThrows(SQLException.class, insert::executeUpdate));
+            assertEquals(1, recording.statements());
+        }
+    }
+
+    @Test
+    void execute_NestedRecordings_BothCountInnerOnlyWhileOpen() throws SQLException {
+        PreparedStatement select = tracked.getConnection().prepareStatement(SELECT);
+
+        try (StatementTracker.Recording outer = tracker.start(false)) {
+            select.executeQuery();
+            try (StatementTracker.Recording inner = tracker.start(false)) {
+                select.executeQuery();
+                assertEquals(1, inner.statements());
+            }
+            select.executeQuery();
+
+            assertEquals(3, outer.statements());
+        }
+    }
+
+    @Test
+    void execute_NoRecording_NotCounted() throws SQLException {
+        PreparedStatement select = tracked.getConnection().prepareStatement(SELECT);
+        select.executeQuery();
+
+        try (StatementTracker.Recording recording = tracker.start(false)) {
+            assertEquals(0, recording.statements());
+        }
+    }
+
+    @Test
+    void execute_OtherThread_NotCounted() throws Exception {
+        PreparedStatement select = tracked.getConnection().prepareStatement(SELECT);
+
+        try (StatementTracker.Recording recording = tracker.start(false)) {
+            Thread other = new Thread(() -> {
+                try {
+                    select.executeQuery();
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            other.start();
+            other.join();
+
+            assertEquals(0, recording.statements());
+        }
+    }
+
+    @Test
+    void statementProxy_EqualityByIdentity() throws SQLException {
+        Connection proxied = tracked.getConnection();
+        PreparedStatement first = proxied.prepareStatement(SELECT);
+        PreparedStatement second = proxied.prepareStatement(SELECT);
+        Set<Statement> open = new HashSet<>(List.of(first, second));
+
+        assertTrue(open.remove(first));
+        assertTrue(open.remove(second));
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void close_PassedThrough() throws SQLException {
+        Connection proxied = tracked.getConnection();
+        proxied.prepareStatement(SELECT).close();
+        proxied.close();
+
+        verify(preparedStatement).close();
+        verify(connection).close();
+    }
+}
@@ -100,4 +100,16 @@ class UserEntityTest {
         assertEquals(now, entity.getCreatedAt());
         assertEquals(now, entity.getUpdatedAt());
     }
+
+    @Test
+    void isNew_UntilPersistedOrLoaded() {
+        UserEntity entity = new UserEntity(UUID.randomUUID(), "testuser", "Test User", "test@example.com",
+                "hashedPassword123", LocalDateTime.now(), LocalDateTime.now());
+
+        assertTrue(entity.isNew());
+
+        entity.markNotNew();
+
+        assertFalse(entity.isNew());
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.specdriven.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AfterCompletion.
+ * Tests that actions run once outside a transaction, and again after commit or rollback inside one.
+ */
+class AfterCompletionTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+
+    @Test
+    void runNowAndAfterCompletion_NoTransaction_RunsOnce() {
+        AfterCompletion.runNowAndAfterCompletion(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runNowAndAfterCompletion_Committed_RunsAgain() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCompletion.runNowAndAfterCompletion(runs::incrementAndGet);
+        assertEquals(1, runs.get());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void runNowAndAfterCompletion_RolledBack_RunsAgain() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCompletion.runNowAndAfterCompletion(runs::incrementAndGet);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.specdriven.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ErrorMetrics.
+ * Tests counting by code, and that codes counted before and after binding are exported.
+ */
+class ErrorMetricsTest {
+
+    private final ErrorMetrics errorMetrics = new ErrorMetrics();
+
+    @Test
+    void increment_CountsPerCode() {
+        errorMetrics.increment(ErrorResponseFactory.RESOURCE_NOT_FOUND);
+        errorMetrics.increment(ErrorResponseFactory.RESOURCE_NOT_FOUND);
+        errorMetrics.increment(ErrorResponseFactory.CONFLICT);
+
+        assertEquals(2, errorMetrics.count(ErrorResponseFactory.RESOURCE_NOT_FOUND));
+        assertEquals(1, errorMetrics.count(ErrorResponseFactory.CONFLICT));
+        assertEquals(0, errorMetrics.count(ErrorResponseFactory.INTERNAL_ERROR));
+    }
+
+    @Test
+    void bindTo_ExportsCodesCountedBeforeBinding() {
+        errorMetrics.increment(ErrorResponseFactory.VALIDATION_FAILED);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        errorMetrics.bindTo(registry);
+        errorMetrics.increment(ErrorResponseFactory.VALIDATION_FAILED);
+
+        assertEquals(2, registry.get("api.errors").tag("code", ErrorResponseFactory.VALIDATION_FAILED)
+                .functionCounter().count());
+    }
+
+    @Test
+    void bindTo_ExportsCodesFirstCountedAfterBinding() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        errorMetrics.bindTo(registry);
+
+        errorMetrics.increment(ErrorResponseFactory.TOO_MANY_REQUESTS);
+
+        assertEquals(1, registry.get("api.errors").tag("code", ErrorResponseFactory.TOO_MANY_REQUESTS)
+                .functionCounter().count());
+        assertTrue(registry.find("api.errors").tag("code", ErrorResponseFactory.CONFLICT).meters().isEmpty());
+    }
+}
@@ -82,6 +82,26 @@ class ErrorResponseFactoryTest {
         assertEquals(message, response.getMessage());
     }
 
+    @Test
+    void forbidden_CreatesResponseWithCorrectCode() {
+        String message = "Access denied";
+        ErrorResponse response = ErrorResponseFactory.forbidden(message);
+
+        assertNotNull(response);
+        assertEquals(ErrorResponseFactory.FORBIDDEN, response.getCode());
+        assertEquals(message, response.getMessage());
+    }
+
+    @Test
+    void tooManyRequests_CreatesResponseWithCorrectCode() {
+        String message = "Too many login attempts";
+        ErrorResponse response = ErrorResponseFactory.tooManyRequests(message);
+
+        assertNotNull(response);
+        assertEquals(ErrorResponseFactory.TOO_MANY_REQUESTS, response.getCode());
+        assertEquals(message, response.getMessage());
+    }
+
     @Test
     void errorCodes_AreStableConstants() {
         // Verify error codes are defined as expected stable values
@@ -90,8 +110,10 @@ class ErrorResponseFactoryTest {
         assertEquals("CONFLICT", ErrorResponseFactory.CONFLICT);
         assertEquals("AUTHENTICATION_REQUIRED", ErrorResponseFactory.AUTHENTICATION_REQUIRED);
         assertEquals("AUTHENTICATION_FAILED", ErrorResponseFactory.AUTHENTICATION_FAILED);
+        assertEquals("FORBIDDEN", ErrorResponseFactory.FORBIDDEN);
         assertEquals("INTERNAL_ERROR", ErrorResponseFactory.INTERNAL_ERROR);
         assertEquals("SERVICE_UNAVAILABLE", ErrorResponseFactory.SERVICE_UNAVAILABLE);
+        assertEquals("TOO_MANY_REQUESTS", ErrorResponseFactory.TOO_MANY_REQUESTS);
     }
 
     @Test
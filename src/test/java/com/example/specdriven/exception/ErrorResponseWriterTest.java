@@ -0,0 +1,99 @@
+package com.example.specdriven.exception;
+
+import com.example.specdriven.api.model.ErrorResponse;
+import com.example.specdriven.exception.ErrorResponseWriter.EncodedError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ErrorResponseWriter.
+ * Verifies that pre-encoded and dynamic errors produce the same JSON body as the ObjectMapper,
+ * with status, content type and Content-Length set.
+ */
+class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorMetrics errorMetrics = new ErrorMetrics();
+    private final ErrorResponseWriter writer = new ErrorResponseWriter(objectMapper, errorMetrics);
+
+    private ErrorResponse read(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readValue(response.getContentAsByteArray(), ErrorResponse.class);
+    }
+
+    @Test
+    void write_EncodedError_WritesBodyAndHeaders() throws Exception {
+        EncodedError encoded = writer.encode(ErrorResponseFactory.authenticationRequired("Authentication required"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(response, HttpServletResponse.SC_UNAUTHORIZED, encoded);
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals(encoded.length(), response.getContentLength());
+        assertEquals(encoded.length(), response.getContentAsByteArray().length);
+        ErrorResponse body = read(response);
+        assertEquals(ErrorResponseFactory.AUTHENTICATION_REQUIRED, body.getCode());
+        assertEquals("Authentication required", body.getMessage());
+    }
+
+    @Test
+    void write_EncodedError_SameBytesAsObjectMapper() throws Exception {
+        ErrorResponse error = ErrorResponseFactory.resourceNotFound("Resource not found");
+        EncodedError encoded = writer.encode(error);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(response, HttpServletResponse.SC_NOT_FOUND, encoded);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(error), response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_EncodedError_ReusableAcrossResponses() throws Exception {
+        EncodedError encoded = writer.encode(ErrorResponseFactory.forbidden("Access denied"));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        writer.write(first, HttpServletResponse.SC_FORBIDDEN, encoded);
+        writer.write(second, HttpServletResponse.SC_FORBIDDEN, encoded);
+
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals(ErrorResponseFactory.FORBIDDEN, read(second).getCode());
+        assertEquals(2, errorMetrics.count(ErrorResponseFactory.FORBIDDEN));
+    }
+
+    @Test
+    void write_DynamicError_WritesBodyAndHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(response, HttpServletResponse.SC_BAD_REQUEST,
+                ErrorResponseFactory.validationFailed("Field 'émail' is invalid"));
+
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        // Content-Length counts UTF-8 bytes, not characters
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        ErrorResponse body = read(response);
+        assertEquals(ErrorResponseFactory.VALIDATION_FAILED, body.getCode());
+        assertEquals("Field 'émail' is invalid", body.getMessage());
+        assertEquals(1, errorMetrics.count(ErrorResponseFactory.VALIDATION_FAILED));
+    }
+
+    @Test
+    void encode_IsJsonWithCodeAndMessage() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertDoesNotThrow(() -> writer.write(response, HttpServletResponse.SC_UNAUTHORIZED,
+                writer.encode(ErrorResponseFactory.authenticationFailed("Invalid or expired token"))));
+
+        String json = new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"code\":\"AUTHENTICATION_FAILED\""));
+        assertTrue(json.contains("\"message\":\"Invalid or expired token\""));
+    }
+}
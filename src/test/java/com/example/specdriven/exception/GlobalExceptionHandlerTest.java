@@ -4,6 +4,7 @@ import com.example.specdriven.api.model.ErrorResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
@@ -15,20 +16,31 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for GlobalExceptionHandler.
- * Verifies exception to HTTP status code and ErrorResponse mapping.
+ * Verifies exception to HTTP status code and ErrorResponse mapping, that client errors are
+ * logged through the sampled logger while server errors bypass it, and that errors are counted
+ * by code.
  */
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
 
+    @Mock
+    private SampledErrorLogger errorLogger;
+
+    @Mock
+    private ErrorMetrics errorMetrics;
+
     @InjectMocks
     private GlobalExceptionHandler globalExceptionHandler;
 
@@ -124,6 +136,8 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
         assertEquals(ErrorResponseFactory.RESOURCE_NOT_FOUND, response.getBody().getCode());
         assertEquals("User not found", response.getBody().getMessage());
+        verify(errorLogger).warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User not found");
+        verify(errorMetrics).increment(ErrorResponseFactory.RESOURCE_NOT_FOUND);
     }
 
     @Test
@@ -152,6 +166,47 @@ class GlobalExceptionHandlerTest {
         assertEquals("Invalid credentials", response.getBody().getMessage());
     }
 
+    @Test
+    void handleServiceUnavailable_Returns503WithRetryAfterRoundedUp() {
+        ServiceUnavailableException exception =
+                new ServiceUnavailableException("Too many concurrent logins", Duration.ofMillis(2_100));
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+                .handleServiceUnavailable(exception, webRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(ErrorResponseFactory.SERVICE_UNAVAILABLE, response.getBody().getCode());
+        assertEquals("Too many concurrent logins", response.getBody().getMessage());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void handleServiceUnavailable_SubSecondDelay_RetryAfterAtLeastOne() {
+        ServiceUnavailableException exception =
+                new ServiceUnavailableException("Too many concurrent logins", Duration.ZERO);
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+                .handleServiceUnavailable(exception, webRequest);
+
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void handleTooManyRequests_Returns429WithRetryAfterRoundedUp() {
+        TooManyRequestsException exception =
+                new TooManyRequestsException("Too many login attempts", Duration.ofMillis(11_500));
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler
+                .handleTooManyRequests(exception, webRequest);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(ErrorResponseFactory.TOO_MANY_REQUESTS, response.getBody().getCode());
+        assertEquals("Too many login attempts", response.getBody().getMessage());
+        assertEquals("12", response.getHeaders().getFirst("Retry-After"));
+    }
+
     @Test
     void handleDataAccessException_Returns503WithServiceUnavailableCode() {
         DataAccessResourceFailureException exception = 
@@ -178,6 +233,8 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
         assertEquals(ErrorResponseFactory.INTERNAL_ERROR, response.getBody().getCode());
         assertTrue(response.getBody().getMessage().contains("unexpected error"));
+        verifyNoInteractions(errorLogger);
+        verify(errorMetrics).increment(ErrorResponseFactory.INTERNAL_ERROR);
     }
 
     @Test
@@ -0,0 +1,190 @@
+package com.example.specdriven.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SampledErrorLogger.
+ * Tests that one error per code is logged per interval, that skipped errors are reported as a
+ * count when the code recurs or the interval is flushed, and that codes are sampled
+ * independently, using a fake clock.
+ */
+@ExtendWith(MockitoExtension.class)
+class SampledErrorLoggerTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(10);
+    private static final String SKIPPED = "Skipped logging {} further {} errors since the last one logged";
+
+    @Mock
+    private Logger logger;
+
+    private final AtomicLong now = new AtomicLong();
+    private SampledErrorLogger errorLogger;
+
+    @BeforeEach
+    void setUp() {
+        errorLogger = new SampledErrorLogger(INTERVAL, logger, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void warn_FirstError_Logged() {
+        errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User 1");
+
+        verify(logger).warn("Resource not found: {}", "User 1");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_RepeatedWithinInterval_OnlyFirstLogged() {
+        for (int i = 0; i < 100; i++) {
+            errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User " + i);
+        }
+
+        verify(logger).warn("Resource not found: {}", "User 0");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_AfterInterval_LogsSkippedCountThenError() {
+        for (int i = 0; i < 5; i++) {
+            errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User " + i);
+        }
+
+        advance(INTERVAL);
+        errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User 5");
+
+        InOrder inOrder = inOrder(logger);
+        inOrder.verify(logger).warn("Resource not found: {}", "User 0");
+        inOrder.verify(logger).warn(SKIPPED, 4L, ErrorResponseFactory.RESOURCE_NOT_FOUND);
+        inOrder.verify(logger).warn("Resource not found: {}", "User 5");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_AfterQuietInterval_NoSkippedLine() {
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "first");
+
+        advance(INTERVAL.multipliedBy(3));
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "second");
+
+        verify(logger).warn("Conflict: {}", "first");
+        verify(logger).warn("Conflict: {}", "second");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_CodesSampledIndependently() {
+        errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User 1");
+        errorLogger.warn(ErrorResponseFactory.VALIDATION_FAILED, "Validation failed: {}", "bad email");
+        errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User 2");
+
+        verify(logger).warn("Resource not found: {}", "User 1");
+        verify(logger).warn("Validation failed: {}", "bad email");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void flush_FloodThatStops_ReportsSkippedCount() {
+        for (int i = 0; i < 5; i++) {
+            errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User " + i);
+        }
+
+        advance(INTERVAL);
+        errorLogger.flush();
+        errorLogger.flush();
+
+        InOrder inOrder = inOrder(logger);
+        inOrder.verify(logger).warn("Resource not found: {}", "User 0");
+        inOrder.verify(logger).warn(SKIPPED, 4L, ErrorResponseFactory.RESOURCE_NOT_FOUND);
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void flush_WithinInterval_ReportsNothing() {
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "first");
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "second");
+
+        errorLogger.flush();
+
+        verify(logger).warn("Conflict: {}", "first");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void flush_ThenNextError_NotReportedTwice() {
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "first");
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "second");
+
+        advance(INTERVAL);
+        errorLogger.flush();
+        errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "third");
+
+        InOrder inOrder = inOrder(logger);
+        inOrder.verify(logger).warn("Conflict: {}", "first");
+        inOrder.verify(logger).warn(SKIPPED, 1L, ErrorResponseFactory.CONFLICT);
+        inOrder.verify(logger).warn("Conflict: {}", "third");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_ZeroInterval_LogsEverything() {
+        errorLogger = new SampledErrorLogger(Duration.ZERO, logger, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            errorLogger.warn(ErrorResponseFactory.CONFLICT, "Conflict: {}", "duplicate");
+        }
+
+        verify(logger, times(3)).warn("Conflict: {}", "duplicate");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_Concurrent_LogsOnceAndCountsTheRest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User");
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        advance(INTERVAL);
+        errorLogger.warn(ErrorResponseFactory.RESOURCE_NOT_FOUND, "Resource not found: {}", "User");
+
+        verify(logger, times(2)).warn("Resource not found: {}", "User");
+        verify(logger).warn(SKIPPED, 199L, ErrorResponseFactory.RESOURCE_NOT_FOUND);
+        verifyNoMoreInteractions(logger);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.specdriven.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServiceUnavailableException.
+ * Verifies exception creation, message and retry delay handling.
+ */
+class ServiceUnavailableExceptionTest {
+
+    @Test
+    void constructor_SetsMessageAndRetryAfter() {
+        ServiceUnavailableException exception =
+                new ServiceUnavailableException("Too many logins", Duration.ofSeconds(3));
+
+        assertEquals("Too many logins", exception.getMessage());
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+    }
+
+    @Test
+    void isRuntimeException() {
+        ServiceUnavailableException exception = new ServiceUnavailableException("Test", Duration.ofSeconds(1));
+
+        assertInstanceOf(RuntimeException.class, exception);
+    }
+}
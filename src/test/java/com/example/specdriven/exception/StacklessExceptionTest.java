@@ -0,0 +1,72 @@
+package com.example.specdriven.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StacklessException.
+ * Verifies that every domain exception skips stack capture and suppression while keeping its
+ * message and cause.
+ */
+class StacklessExceptionTest {
+
+    static Stream<Arguments> exceptions() {
+        return Stream.of(
+                Arguments.of((Supplier<StacklessException>) () -> new ResourceNotFoundException("missing")),
+                Arguments.of((Supplier<StacklessException>) () -> new ValidationException("invalid")),
+                Arguments.of((Supplier<StacklessException>) () -> new ConflictException("conflict")),
+                Arguments.of((Supplier<StacklessException>) () -> new AuthenticationException("denied")),
+                Arguments.of((Supplier<StacklessException>) () ->
+                        new ServiceUnavailableException("busy", Duration.ofSeconds(1))),
+                Arguments.of((Supplier<StacklessException>) () ->
+                        new TooManyRequestsException("slow down", Duration.ofSeconds(1))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("exceptions")
+    void constructor_DoesNotCaptureStackTrace(Supplier<StacklessException> factory) {
+        StacklessException exception = factory.get();
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertNotNull(exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @MethodSource("exceptions")
+    void addSuppressed_IsIgnored(Supplier<StacklessException> factory) {
+        StacklessException exception = factory.get();
+
+        exception.addSuppressed(new IllegalStateException("cleanup failed"));
+
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    @ParameterizedTest
+    @MethodSource("exceptions")
+    void fillInStackTrace_StaysEmpty(Supplier<StacklessException> factory) {
+        StacklessException exception = factory.get();
+
+        exception.fillInStackTrace();
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void constructor_WithCause_KeepsCauseStackTrace() {
+        IllegalStateException cause = new IllegalStateException("root");
+
+        ConflictException exception = new ConflictException("conflict", cause);
+
+        assertSame(cause, exception.getCause());
+        assertEquals(0, exception.getStackTrace().length);
+        assertTrue(cause.getStackTrace().length > 0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.specdriven.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TooManyRequestsException.
+ * Verifies exception creation, message and retry delay handling.
+ */
+class TooManyRequestsExceptionTest {
+
+    @Test
+    void constructor_SetsMessageAndRetryAfter() {
+        TooManyRequestsException exception =
+                new TooManyRequestsException("Too many login attempts", Duration.ofSeconds(12));
+
+        assertEquals("Too many login attempts", exception.getMessage());
+        assertEquals(Duration.ofSeconds(12), exception.getRetryAfter());
+    }
+
+    @Test
+    void isRuntimeException() {
+        TooManyRequestsException exception = new TooManyRequestsException("Test", Duration.ofSeconds(1));
+
+        assertInstanceOf(RuntimeException.class, exception);
+    }
+}
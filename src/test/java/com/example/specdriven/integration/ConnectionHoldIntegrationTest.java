@@ -0,0 +1,89 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.CreateUserRequest;
+import com.example.specdriven.api.model.UpdateUserRequest;
+import com.example.specdriven.config.ConnectionHoldTracker;
+import com.example.specdriven.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for connection hold time on user writes.
+ * Passwords are hashed before the write transaction opens, so a create or password change
+ * holds its connection for the statements only, well under the cost of one hash.
+ *
+ * Not transactional, so each write takes and returns its own connection. Runs isolated because
+ * it reads the shared connection hold times.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Isolated
+class ConnectionHoldIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ConnectionHoldTracker connectionHoldTracker;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Duration hashCost;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder.encode("WarmUp123!");
+        long start = System.nanoTime();
+        passwordEncoder.encode("Password123!");
+        hashCost = Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (userId != null) {
+            userService.deleteUser(userId);
+        }
+    }
+
+    @Test
+    void createUser_HoldsConnectionForLessThanOneHash() {
+        connectionHoldTracker.reset();
+
+        userId = userService.createUser(new CreateUserRequest(
+                "holdcreate", "Hold Create", "Password123!", "holdcreate@example.com")).getId();
+
+        ConnectionHoldTracker.Snapshot snapshot = connectionHoldTracker.snapshot();
+        assertEquals(1, snapshot.holds());
+        assertTrue(snapshot.max().compareTo(hashCost) < 0,
+                () -> "Held " + snapshot.max() + ", one hash costs " + hashCost);
+    }
+
+    @Test
+    void updateUser_NewPassword_HoldsConnectionForLessThanOneHash() {
+        userId = userService.createUser(new CreateUserRequest(
+                "holdupdate", "Hold Update", "Password123!", "holdupdate@example.com")).getId();
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setPassword("NewPassword123!");
+        connectionHoldTracker.reset();
+
+        userService.updateUser(userId, request);
+
+        ConnectionHoldTracker.Snapshot snapshot = connectionHoldTracker.snapshot();
+        assertEquals(1, snapshot.holds());
+        assertTrue(snapshot.max().compareTo(hashCost) < 0,
+                () -> "Held " + snapshot.max() + ", one hash costs " + hashCost);
+    }
+}
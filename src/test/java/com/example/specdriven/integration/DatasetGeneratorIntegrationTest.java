@@ -0,0 +1,116 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.LoginRequest;
+import com.example.specdriven.integration.support.DatasetGenerator;
+import com.example.specdriven.integration.support.DatasetGenerator.GeneratedUser;
+import com.example.specdriven.integration.support.DatasetGenerator.Options;
+import com.example.specdriven.integration.support.DatasetGenerator.Summary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for DatasetGenerator against the migrated schema.
+ * Tests that the loaded rows match the generated users and the reported summary, that generated
+ * users can log in, and that unknown roles are rejected before anything is inserted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class DatasetGeneratorIntegrationTest {
+
+    private static final Options OPTIONS = Options.of(2_500).withSeed(20_24L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    @Test
+    void load_InsertsUsersAndRoleAssignmentsMatchingSummary() {
+        long usersBefore = count("SELECT COUNT(*) FROM users");
+
+        Summary summary = new DatasetGenerator(jdbcTemplate).load(OPTIONS);
+
+        assertEquals(2_500, summary.users());
+        assertEquals(usersBefore + 2_500, count("SELECT COUNT(*) FROM users"));
+        // Generated users were created in early 2020; anyone else was created now
+        for (Map.Entry<String, Long> holders : summary.holdersByRole().entrySet()) {
+            assertEquals(holders.getValue(), count("SELECT COUNT(*) FROM user_roles ur "
+                    + "JOIN roles r ON r.id = ur.role_id JOIN users u ON u.id = ur.user_id "
+                    + "WHERE r.role_name = ? AND u.created_at < TIMESTAMP '2021-01-01 00:00:00'",
+                    holders.getKey()), holders.getKey());
+        }
+        assertEquals(2_500L, summary.holdersByRole().get("USER"));
+        assertTrue(summary.holdersByRole().get("ADMIN") > 0);
+    }
+
+    @Test
+    void load_RowsMatchGeneratedUsers() {
+        new DatasetGenerator(jdbcTemplate).load(OPTIONS);
+        List<GeneratedUser> users = DatasetGenerator.users(OPTIONS);
+
+        for (GeneratedUser user : List.of(users.get(0), users.get(1_234), users.get(users.size() - 1))) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT username, name, email_address, password_hash FROM users WHERE id = ?", user.id());
+            assertEquals(user.username(), row.get("username"));
+            assertEquals(user.name(), row.get("name"));
+            assertEquals(user.emailAddress(), row.get("email_address"));
+            assertEquals(DatasetGenerator.passwordHash(OPTIONS), row.get("password_hash"));
+            List<String> roles = jdbcTemplate.queryForList("SELECT r.role_name FROM user_roles ur "
+                    + "JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = ? ORDER BY r.role_name",
+                    String.class, user.id());
+            assertEquals(user.roles(), roles);
+        }
+    }
+
+    @Test
+    void load_GeneratedUserCanLogIn() throws Exception {
+        new DatasetGenerator(jdbcTemplate).load(OPTIONS);
+        GeneratedUser user = DatasetGenerator.users(OPTIONS).get(42);
+
+        LoginRequest request = new LoginRequest();
+        request.setUsername(user.username());
+        request.setPassword(DatasetGenerator.DEFAULT_PASSWORD);
+
+        mockMvc.perform(post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", not(emptyString())));
+    }
+
+    @Test
+    void load_UnknownRole_RejectedBeforeInsert() {
+        long usersBefore = count("SELECT COUNT(*) FROM users");
+        DatasetGenerator generator = new DatasetGenerator(jdbcTemplate);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.load(OPTIONS.withRoleMix(Map.of("SUPERUSER", 0.5))));
+        assertEquals(usersBefore, count("SELECT COUNT(*) FROM users"));
+    }
+}
@@ -7,6 +7,7 @@ import com.example.specdriven.api.model.User;
 import com.example.specdriven.domain.UserEntity;
 import com.example.specdriven.integration.support.IntegrationTestHelper;
 import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.service.LoginBulkhead;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -53,6 +56,12 @@ class LoginIntegrationTest {
     @Autowired
     private IntegrationTestHelper testHelper;
 
+    @Autowired
+    private LoginBulkhead loginBulkhead;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final String TEST_USERNAME = "testuser";
     private static final String TEST_PASSWORD = "TestPassword123!";
     private static final String TEST_EMAIL = "test@example.com";
@@ -106,6 +115,78 @@ class LoginIntegrationTest {
                 .andExpect(jsonPath("$.tokenType").value("Bearer"));
     }
 
+    @Test
+    void login_KnownAndUnknownUsers_BothVerifiedOnBulkhead() throws Exception {
+        // Given: A user exists in the database
+        createTestUser();
+        long waitsBefore = loginBulkhead.stats().waits();
+
+        // When: One login for the user and one for an unknown username
+        mockMvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(TEST_USERNAME, TEST_PASSWORD))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("nosuchuser", TEST_PASSWORD))))
+                .andExpect(status().isBadRequest());
+
+        // Then: Both password checks ran on the bulkhead (other tests may add more)
+        assertTrue(loginBulkhead.stats().waits() >= waitsBefore + 2);
+    }
+
+    @Test
+    void login_LegacyHash_RehashedOnce() throws Exception {
+        // Given: A user whose hash predates ID prefixes and uses another cost
+        UserEntity user = createTestUser();
+        String legacyHash = new BCryptPasswordEncoder(4).encode(TEST_PASSWORD);
+        user.setPasswordHash(legacyHash);
+        userRepository.flush();
+        LoginRequest loginRequest = new LoginRequest(TEST_USERNAME, TEST_PASSWORD);
+
+        // When: The user logs in
+        mockMvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        // Then: The stored hash was replaced by a current one for the same password
+        String rehashed = storedHash(user.getId());
+        assertNotEquals(legacyHash, rehashed);
+        assertTrue(rehashed.startsWith("{bcrypt}"));
+        assertFalse(passwordEncoder.upgradeEncoding(rehashed));
+        assertTrue(passwordEncoder.matches(TEST_PASSWORD, rehashed));
+
+        // And: The next login keeps it
+        mockMvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+        assertEquals(rehashed, storedHash(user.getId()));
+    }
+
+    @Test
+    void login_WrongPasswordOnLegacyHash_KeepsHash() throws Exception {
+        // Given: A user with a legacy hash
+        UserEntity user = createTestUser();
+        String legacyHash = new BCryptPasswordEncoder(4).encode(TEST_PASSWORD);
+        user.setPasswordHash(legacyHash);
+        userRepository.flush();
+
+        // When: A login fails
+        mockMvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(TEST_USERNAME, "WrongPassword123!"))))
+                .andExpect(status().isUnauthorized());
+
+        // Then: Nothing was rehashed
+        assertEquals(legacyHash, storedHash(user.getId()));
+    }
+
+    private String storedHash(UUID userId) {
+        return jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE id = ?", String.class, userId);
+    }
+
     // ============================================
     // T050: login_ValidToken_AllowsAccessToProtectedEndpoint
     // ============================================
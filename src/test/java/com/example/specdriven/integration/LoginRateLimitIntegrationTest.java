@@ -0,0 +1,95 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.LoginRequest;
+import com.example.specdriven.integration.support.IntegrationTestHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for login rate limiting.
+ * Attempts over the per-username or per-address limit get 429 with Retry-After before any
+ * password is checked, for existing and unknown usernames alike.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "login.rate-limit.username.capacity=2",
+    "login.rate-limit.username.refill-interval=1h",
+    "login.rate-limit.address.capacity=5",
+    "login.rate-limit.address.refill-interval=1h"
+})
+@Transactional
+class LoginRateLimitIntegrationTest {
+
+    private static final String PASSWORD = "RatePassword123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IntegrationTestHelper testHelper;
+
+    private ResultActions login(String username, String password, String address) throws Exception {
+        return mockMvc.perform(post("/login")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(username, password))));
+    }
+
+    @Test
+    void login_OverUsernameLimit_Returns429WithRetryAfter() throws Exception {
+        testHelper.createUser("ratelimited", "Rate Limited", "ratelimited@example.com", PASSWORD);
+
+        login("ratelimited", "WrongPassword123!", "192.0.2.10").andExpect(status().isUnauthorized());
+        login("ratelimited", "WrongPassword123!", "192.0.2.11").andExpect(status().isUnauthorized());
+
+        // Even the right password is not checked once the username is over its limit
+        login("ratelimited", PASSWORD, "192.0.2.12")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value("TOO_MANY_REQUESTS"))
+                .andExpect(jsonPath("$.message").value("Too many login attempts. Please try again later."));
+    }
+
+    @Test
+    void login_UnknownUsernameOverLimit_SameResponse() throws Exception {
+        login("nosuchrateuser", PASSWORD, "192.0.2.20").andExpect(status().isUnauthorized());
+        login("nosuchrateuser", PASSWORD, "192.0.2.21").andExpect(status().isUnauthorized());
+
+        login("nosuchrateuser", PASSWORD, "192.0.2.22")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("TOO_MANY_REQUESTS"));
+    }
+
+    @Test
+    void login_OverAddressLimit_Returns429ForAnyUsername() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            login("spray" + i, PASSWORD, "198.51.100.30").andExpect(status().isUnauthorized());
+        }
+
+        login("spray5", PASSWORD, "198.51.100.30")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        // Another address is unaffected
+        login("spray5", PASSWORD, "198.51.100.31").andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.specdriven.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the metrics endpoint.
+ * Verifies that /actuator/health and, outside production, /actuator/prometheus are public, and
+ * that the scrape includes per-operation request timers, error counts and the pool, cache and
+ * hot path meters.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void health_IsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void actuator_OtherEndpoints_NotPublic() throws Exception {
+        mockMvc.perform(get("/actuator/env"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_IsPublicAndExportsHotPathMeters() throws Exception {
+        mockMvc.perform(get("/ping")).andExpect(status().isOk());
+        mockMvc.perform(get("/users/" + UUID.randomUUID()).header("Authorization", "Bearer not-a-valid-token"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket"),
+                        containsString("operation=\"ping\""),
+                        containsString("api_errors_total{code=\"AUTHENTICATION_FAILED\""),
+                        containsString("jwt_verify_seconds_count"),
+                        containsString("permissions_lookup_seconds_count"),
+                        containsString("password_encoder_matches_seconds_count"),
+                        containsString("cache_gets_total{cache=\"users\""),
+                        containsString("hikaricp_connections_active"),
+                        containsString("login_bulkhead_wait_seconds_count"))));
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.specdriven.integration;
 
 import com.example.specdriven.api.model.*;
+import com.example.specdriven.domain.UserEntity;
 import com.example.specdriven.integration.support.IntegrationTestHelper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -12,7 +13,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -60,4 +63,45 @@ class PermissionIntegrationTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.code").value("FORBIDDEN"));
     }
+
+    @Test
+    void roleChange_TakesEffectOnNextRequestWithSameToken() throws Exception {
+        String adminToken = testHelper.createAdminUserAndGetToken(mockMvc, "perm_admin", "Password123!", "perm_admin@example.com");
+        UserEntity user = testHelper.createUser("perm_user", "Perm User", "perm_user@example.com", "Password123!");
+        String userToken = testHelper.loginAndGetToken(mockMvc, "perm_user", "Password123!");
+
+        CreateUserRequest request = new CreateUserRequest(
+                "newuser_cached", "New User Cached", "Password123!", "new_cached@example.com");
+
+        // No roles yet: denied (and the empty permission set is now cached)
+        mockMvc.perform(post("/users")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        // Granting ADMIN must evict the cached permissions
+        mockMvc.perform(put("/users/" + user.getId() + "/roles/ADMIN")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/users")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // Removing it again must take effect just as quickly
+        mockMvc.perform(delete("/users/" + user.getId() + "/roles/ADMIN")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        CreateUserRequest secondRequest = new CreateUserRequest(
+                "newuser_cached2", "New User Cached 2", "Password123!", "new_cached2@example.com");
+        mockMvc.perform(post("/users")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(secondRequest)))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,190 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.CreateUserRequest;
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.integration.support.IntegrationTestHelper;
+import com.example.specdriven.repository.UserSpecification;
+import com.example.specdriven.service.RoleService;
+import com.example.specdriven.service.UserCounters;
+import com.example.specdriven.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for assigning and removing roles under contention.
+ * Assignment and removal are single statements; hammering the same (user, role) pair from many
+ * threads never fails, leaves at most one assignment, and publishes a change event only for
+ * calls that actually changed a row, so the role counters match the table afterwards.
+ *
+ * Not transactional: each call commits in its own transaction so concurrent calls really
+ * contend, and the user is deleted afterwards. Runs isolated because it reads the shared
+ * Hibernate statistics and role counters.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Isolated
+class RoleAssignmentConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int CALLS = 64;
+    private static final UserSpecification ADMINS =
+            new UserSpecification(null, null, null, IntegrationTestHelper.ADMIN_ROLE_ID);
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private boolean statisticsPreviouslyEnabled;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsPreviouslyEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        userId = userService.createUser(new CreateUserRequest(
+                "roleconcurrent", "Role Concurrent", "Password123!", "roleconcurrent@example.com")).getId();
+        userCounters.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(statisticsPreviouslyEnabled);
+        userService.deleteUser(userId);
+    }
+
+    private long adminAssignments() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles WHERE user_id = ? AND role_id = ?",
+                Long.class, userId, IntegrationTestHelper.ADMIN_ROLE_ID);
+        return count == null ? 0 : count;
+    }
+
+    private long totalAdmins() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles WHERE role_id = ?", Long.class, IntegrationTestHelper.ADMIN_ROLE_ID);
+        return count == null ? 0 : count;
+    }
+
+    private long statementsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Run {@value #CALLS} calls over {@value #THREADS} threads, released together, and fail on
+     * the first call that threw.
+     */
+    private void hammer(IntConsumer call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                int callNumber = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    call.accept(callNumber);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException ex) {
+                    fail("Concurrent role call failed", ex.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void assignAndRemove_AreSingleStatements() {
+        assertEquals(1, statementsFor(() -> roleService.assignRole(userId, RoleName.ADMIN)));
+        assertEquals(1, statementsFor(() -> roleService.removeRole(userId, RoleName.ADMIN)));
+    }
+
+    @Test
+    void noOps_CheckUserOnce() {
+        roleService.assignRole(userId, RoleName.ADMIN);
+
+        // Nothing inserted, so one more statement tells "already assigned" from "unknown user"
+        assertEquals(2, statementsFor(() -> roleService.assignRole(userId, RoleName.ADMIN)));
+        roleService.removeRole(userId, RoleName.ADMIN);
+        assertEquals(2, statementsFor(() -> roleService.removeRole(userId, RoleName.ADMIN)));
+    }
+
+    @Test
+    void assignRole_ConcurrentSamePair_AssignsOnce() throws Exception {
+        long adminsBefore = userCounters.estimate(ADMINS).orElseThrow();
+
+        hammer(i -> roleService.assignRole(userId, RoleName.ADMIN));
+
+        assertEquals(1, adminAssignments());
+        // Exactly one call published a change
+        assertEquals(adminsBefore + 1, userCounters.estimate(ADMINS).orElseThrow());
+    }
+
+    @Test
+    void removeRole_ConcurrentSamePair_RemovesOnce() throws Exception {
+        roleService.assignRole(userId, RoleName.ADMIN);
+        long adminsBefore = userCounters.estimate(ADMINS).orElseThrow();
+
+        hammer(i -> roleService.removeRole(userId, RoleName.ADMIN));
+
+        assertEquals(0, adminAssignments());
+        assertEquals(adminsBefore - 1, userCounters.estimate(ADMINS).orElseThrow());
+    }
+
+    @Test
+    void assignAndRemove_ConcurrentMix_CountersMatchTable() throws Exception {
+        hammer(i -> {
+            if (i % 2 == 0) {
+                roleService.assignRole(userId, RoleName.ADMIN);
+            } else {
+                roleService.removeRole(userId, RoleName.ADMIN);
+            }
+        });
+
+        assertTrue(adminAssignments() <= 1);
+        assertEquals(totalAdmins(), userCounters.estimate(ADMINS).orElseThrow());
+    }
+}
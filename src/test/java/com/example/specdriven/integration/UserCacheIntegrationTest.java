@@ -0,0 +1,118 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.CreateUserRequest;
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.api.model.UpdateUserRequest;
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.exception.ResourceNotFoundException;
+import com.example.specdriven.service.RoleService;
+import com.example.specdriven.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the user cache behind getUserById.
+ * Repeated reads are served without statements, and every write path that changes what
+ * getUserById returns makes the next read see the change.
+ *
+ * Runs isolated because it reads the shared Hibernate statistics.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Isolated
+class UserCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private boolean statisticsPreviouslyEnabled;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsPreviouslyEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        userId = userService.createUser(new CreateUserRequest(
+                "cacheduser", "Cached User", "Password123!", "cacheduser@example.com")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(statisticsPreviouslyEnabled);
+    }
+
+    private long statementsFor(Supplier<User> read) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        read.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void getUserById_SecondRead_RunsNoStatements() {
+        long miss = statementsFor(() -> userService.getUserById(userId));
+        long hit = statementsFor(() -> userService.getUserById(userId));
+
+        assertTrue(miss > 0);
+        assertEquals(0, hit);
+    }
+
+    @Test
+    void getUserById_AfterUpdate_ReturnsUpdatedUser() {
+        userService.getUserById(userId);
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setName("Renamed User");
+
+        userService.updateUser(userId, request);
+
+        assertEquals("Renamed User", userService.getUserById(userId).getName());
+    }
+
+    @Test
+    void getUserById_AfterRoleChanges_ReturnsCurrentRoles() {
+        assertTrue(userService.getUserById(userId).getRoles().isEmpty());
+
+        roleService.assignRole(userId, RoleName.ADMIN);
+        assertEquals(RoleName.ADMIN, userService.getUserById(userId).getRoles().get(0).getRoleName());
+
+        roleService.removeRole(userId, RoleName.ADMIN);
+        assertTrue(userService.getUserById(userId).getRoles().isEmpty());
+    }
+
+    @Test
+    void getUserById_AfterDelete_ThrowsNotFound() {
+        userService.getUserById(userId);
+
+        userService.deleteUser(userId);
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(userId));
+    }
+}
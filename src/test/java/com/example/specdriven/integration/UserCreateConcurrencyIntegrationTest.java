@@ -0,0 +1,162 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.CreateUserRequest;
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.exception.ConflictException;
+import com.example.specdriven.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for creating users under contention.
+ * A create is a single INSERT, and the email unique constraint alone decides which of several
+ * concurrent creates with the same email wins; the others get a ConflictException.
+ *
+ * Not transactional: each create commits in its own transaction so concurrent creates really
+ * contend, and the created users are deleted afterwards. Runs isolated because it reads the
+ * shared Hibernate statistics.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Isolated
+class UserCreateConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final String EMAIL_PATTERN = "concurrent-%@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private boolean statisticsPreviouslyEnabled;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsPreviouslyEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(statisticsPreviouslyEnabled);
+        jdbcTemplate.update("DELETE FROM users WHERE email_address LIKE ?", EMAIL_PATTERN);
+    }
+
+    private static CreateUserRequest request(String username, String email) {
+        return new CreateUserRequest(username, "Concurrent User", "Password123!", email);
+    }
+
+    private long usersWithEmail(String email) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email_address = ?", Long.class, email);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Run {@value #THREADS} creates at once, released together, and collect their outcomes:
+     * the created user, or the exception the create threw.
+     */
+    private List<Object> createConcurrently(IntFunction<CreateUserRequest> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<User>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                CreateUserRequest request = requests.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createUser(request);
+                }));
+            }
+            start.countDown();
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<User> future : futures) {
+                try {
+                    outcomes.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    outcomes.add(ex.getCause());
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createUser_RunsSingleInsert() {
+        userService.createUser(request("concurrent0", "concurrent-0@example.com"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void createUser_DuplicateEmail_RunsSingleStatementAndConflicts() {
+        userService.createUser(request("concurrent0", "concurrent-0@example.com"));
+        statistics.clear();
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> userService.createUser(request("concurrent1", "concurrent-0@example.com")));
+
+        assertTrue(exception.getMessage().contains("Email address already exists"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, usersWithEmail("concurrent-0@example.com"));
+    }
+
+    @Test
+    void createUser_ConcurrentSameEmail_ExactlyOneSucceeds() throws Exception {
+        String email = "concurrent-same@example.com";
+
+        List<Object> outcomes = createConcurrently(i -> request("concurrent" + i, email));
+
+        long created = outcomes.stream().filter(User.class::isInstance).count();
+        long conflicts = outcomes.stream().filter(ConflictException.class::isInstance).count();
+        assertEquals(1, created, () -> "Outcomes: " + outcomes);
+        assertEquals(THREADS - 1, conflicts, () -> "Outcomes: " + outcomes);
+        assertEquals(1, usersWithEmail(email));
+        // One INSERT per attempt, whether it won or lost
+        assertEquals(THREADS, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createUser_ConcurrentDistinctEmails_AllSucceed() throws Exception {
+        List<Object> outcomes = createConcurrently(i -> request("concurrent" + i, "concurrent-" + i + "@example.com"));
+
+        assertTrue(outcomes.stream().allMatch(User.class::isInstance), () -> "Outcomes: " + outcomes);
+        for (int i = 0; i < THREADS; i++) {
+            assertEquals(1, usersWithEmail("concurrent-" + i + "@example.com"));
+        }
+        assertEquals(THREADS, statistics.getPrepareStatementCount());
+    }
+}
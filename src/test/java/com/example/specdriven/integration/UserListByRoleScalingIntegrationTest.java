@@ -0,0 +1,253 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.api.model.TotalsMode;
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.api.model.UserPage;
+import com.example.specdriven.integration.support.IntegrationTestHelper;
+import com.example.specdriven.integration.support.StatementBudgetExtension;
+import com.example.specdriven.service.UserCursor;
+import com.example.specdriven.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scaling tests for listing users by role on a large seeded dataset.
+ * Role filtering must be a single joined, paginated query: totals are exact, filters apply
+ * before paging, and the work per request does not depend on how many users hold the role.
+ *
+ * Seeds {@value #USER_COUNT} users with plain JDBC batches inside the test transaction, created
+ * a millisecond apart as real sign-ups are. Every user holds USER, every 10th also ADMIN. Also
+ * checks that a deep cursor page costs the same statements, and scans the same rows, as an early
+ * one. Runs isolated because it reads the shared Hibernate statistics.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Isolated
+class UserListByRoleScalingIntegrationTest {
+
+    private static final int USER_COUNT = 50_000;
+    private static final int ADMIN_EVERY = 10;
+    private static final int BATCH_SIZE = 1_000;
+    private static final String NAME_PREFIX = "Scale User ";
+    private static final int PAGE_SIZE = 25;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final Pattern INDEX_RANGE_START =
+            Pattern.compile("IDX_USERS_CREATED_AT_ID: (\\w+\\.)?CREATED_AT >=");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @RegisterExtension
+    StatementBudgetExtension statementBudget = new StatementBudgetExtension();
+
+    private Statistics statistics;
+    private boolean statisticsPreviouslyEnabled;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsPreviouslyEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(statisticsPreviouslyEnabled);
+    }
+
+    private void seed() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> roles = new ArrayList<>(BATCH_SIZE * 2);
+        for (int i = 0; i < USER_COUNT; i++) {
+            UUID id = UUID.randomUUID();
+            Timestamp createdAt = Timestamp.valueOf(start.plusNanos(i * 1_000_000L));
+            users.add(new Object[]{id, String.format("scale_%05d", i), String.format(NAME_PREFIX + "%05d", i),
+                    String.format("scale_%05d@example.com", i), "not-a-real-hash", createdAt, createdAt});
+            roles.add(new Object[]{id, IntegrationTestHelper.USER_ROLE_ID, createdAt});
+            if (i % ADMIN_EVERY == 0) {
+                roles.add(new Object[]{id, IntegrationTestHelper.ADMIN_ROLE_ID, createdAt});
+            }
+            if (users.size() == BATCH_SIZE || i == USER_COUNT - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (id, username, name, email_address, password_hash, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+                jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id, assigned_at) VALUES (?, ?, ?)",
+                        roles);
+                users.clear();
+                roles.clear();
+            }
+        }
+    }
+
+    private UserPage listAdmins(int page, int pageSize, String username, String name) {
+        // The name prefix keeps assertions to the seeded users
+        return userService.listUsers(page, pageSize, username, null, name == null ? NAME_PREFIX : name, RoleName.ADMIN, null, null);
+    }
+
+    @Test
+    void listUsers_RoleFilter_ReportsExactTotals() {
+        UserPage firstPage = listAdmins(1, 50, null, null);
+        UserPage lastPage = listAdmins(100, 50, null, null);
+        UserPage pastEnd = listAdmins(101, 50, null, null);
+
+        assertEquals(USER_COUNT / ADMIN_EVERY, firstPage.getTotalItems());
+        assertEquals(100, firstPage.getTotalPages());
+        assertEquals(50, firstPage.getItems().size());
+        assertEquals(50, lastPage.getItems().size());
+        assertTrue(pastEnd.getItems().isEmpty());
+        assertEquals(USER_COUNT / ADMIN_EVERY, pastEnd.getTotalItems());
+    }
+
+    @Test
+    void listUsers_RoleFilter_EveryUserOnPageHoldsRole() {
+        UserPage page = listAdmins(37, 100, null, null);
+
+        assertEquals(100, page.getItems().size());
+        for (User user : page.getItems()) {
+            assertTrue(user.getRoles().stream().anyMatch(role -> role.getRoleName() == RoleName.ADMIN),
+                    () -> user.getUsername() + " does not hold ADMIN");
+            int index = Integer.parseInt(user.getUsername().substring("scale_".length()));
+            assertEquals(0, index % ADMIN_EVERY);
+        }
+    }
+
+    @Test
+    void listUsers_RoleAndFieldFilters_AppliedBeforePaging() {
+        // scale_04990 .. scale_04999 match the name; only scale_04990 holds ADMIN
+        UserPage byName = listAdmins(1, 10, null, NAME_PREFIX + "0499");
+        UserPage matchingUsername = listAdmins(1, 10, "scale_04990", null);
+        UserPage nonAdminUsername = listAdmins(1, 10, "scale_04991", null);
+
+        assertEquals(1, byName.getTotalItems());
+        assertEquals("scale_04990", byName.getItems().get(0).getUsername());
+        assertEquals(1, matchingUsername.getTotalItems());
+        assertEquals(0, nonAdminUsername.getTotalItems());
+        assertTrue(nonAdminUsername.getItems().isEmpty());
+    }
+
+    @Test
+    void listUsers_RoleFilter_LoadsOnlyThePage() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        UserPage page = userService.listUsers(20, 25, null, null, null, RoleName.USER, null, null);
+
+        // page query, count query, role assignments for the page
+        assertEquals(25, page.getItems().size());
+        assertTrue(page.getTotalItems() >= USER_COUNT);
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements but got " + statistics.getPrepareStatementCount());
+        assertTrue(statistics.getEntityLoadCount() <= 25 + 25 * 2,
+                "Loaded " + statistics.getEntityLoadCount() + " entities for a page of 25");
+    }
+
+    @Test
+    void listUsers_DeepCursorPage_MatchesOffsetPageInConstantStatements() {
+        // Position of the 45,000th user; the cursor page holds users 45,001 to 45,025
+        UserCursor cursor = jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM users ORDER BY created_at, id LIMIT 1 OFFSET 44999",
+                (rs, rowNum) -> new UserCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getObject(2, UUID.class)));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        UserPage byCursor = userService.listUsers(null, 25, null, null, null, null, cursor.encode(), null);
+        long cursorStatements = statistics.getPrepareStatementCount();
+        UserPage byOffset = userService.listUsers(1801, 25, null, null, null, null, null, null);
+
+        // page query, count query, role assignments for the page
+        assertTrue(cursorStatements <= 3, "Expected at most 3 statements but got " + cursorStatements);
+        assertEquals(usernames(byOffset), usernames(byCursor));
+        assertEquals(25, byCursor.getItems().size());
+        assertEquals(byOffset.getNextCursor(), byCursor.getNextCursor());
+    }
+
+    @Test
+    void listUsers_DeepCursorPage_ScansSameRowsAsEarlyPage() throws Exception {
+        String earlyPlan = cursorPagePlan(cursorAt(PAGE_SIZE));
+        String deepPlan = cursorPagePlan(cursorAt(45_000));
+
+        // The scan starts at the cursor in the (created_at, id) index and stops after the page
+        assertTrue(INDEX_RANGE_START.matcher(deepPlan).find(), "No index range start in plan:\n" + deepPlan);
+        long earlyRows = scanCount(earlyPlan);
+        long deepRows = scanCount(deepPlan);
+        assertTrue(deepRows <= 2L * (PAGE_SIZE + 1),
+                "Deep cursor page scanned " + deepRows + " rows, early page " + earlyRows);
+        assertTrue(deepRows <= earlyRows + PAGE_SIZE,
+                "Deep cursor page scanned " + deepRows + " rows, early page " + earlyRows);
+    }
+
+    /**
+     * Position of the user at a zero-based offset in the list order.
+     */
+    private UserCursor cursorAt(int offset) {
+        return jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM users ORDER BY created_at, id LIMIT 1 OFFSET " + (offset - 1),
+                (rs, rowNum) -> new UserCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getObject(2, UUID.class)));
+    }
+
+    /**
+     * Run the page query Hibernate generates for a cursor page through EXPLAIN ANALYZE.
+     * Parameters bind in predicate order: the cursor time three times, the cursor ID, then the
+     * row limit.
+     */
+    private String cursorPagePlan(UserCursor cursor) throws Exception {
+        String pageSql = statementBudget.record(() -> userService.listUsers(null, PAGE_SIZE, null, null, null,
+                        null, cursor.encode(), TotalsMode.NONE)).sql().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).replace(" ", "").contains("created_at>=?"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No keyset page query was executed"));
+        Object[] parameters = new Object[(int) pageSql.chars().filter(c -> c == '?').count()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = i < 3 ? cursor.createdAt() : i == 3 ? cursor.id() : PAGE_SIZE + 1;
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + pageSql, String.class, parameters)
+                .replace("\"", "");
+    }
+
+    private static long scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertTrue(matcher.find(), "No scan count in plan:\n" + plan);
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static List<String> usernames(UserPage page) {
+        return page.getItems().stream().map(User::getUsername).toList();
+    }
+}
@@ -1,16 +1,19 @@
 package com.example.specdriven.integration;
 
 import com.example.specdriven.api.model.*;
+import com.example.specdriven.config.StatementCountFilter;
 import com.example.specdriven.domain.RoleEntity;
 import com.example.specdriven.domain.UserEntity;
 import com.example.specdriven.domain.UserRoleEntity;
 import com.example.specdriven.integration.support.IntegrationTestHelper;
+import com.example.specdriven.integration.support.StatementBudgetExtension;
 import com.example.specdriven.repository.RoleRepository;
 import com.example.specdriven.repository.UserRepository;
 import com.example.specdriven.repository.UserRoleRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -22,9 +25,13 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,6 +66,9 @@ class UserListIntegrationTest {
     @Autowired
     private IntegrationTestHelper testHelper;
 
+    @RegisterExtension
+    StatementBudgetExtension statementBudget = new StatementBudgetExtension();
+
     private static final String AUTH_USERNAME = "listauth";
     private static final String AUTH_PASSWORD = "AuthPassword123!";
     private static final String AUTH_EMAIL = "listauth@example.com";
@@ -261,6 +271,133 @@ class UserListIntegrationTest {
                 .andExpect(jsonPath("$.items[0].username").value("multifilter1"));
     }
 
+    private UserPage getUsers(String... params) throws Exception {
+        var request = get("/users").header("Authorization", "Bearer " + authToken);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), UserPage.class);
+    }
+
+    @Test
+    void listUsers_FollowingCursors_VisitsEveryUserOnce() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            createTestUser("cursoruser" + i, "Cursor User " + i, "cursoruser" + i + "@example.com");
+        }
+
+        UserPage page = getUsers("page", "1", "pageSize", "3", "name", "Cursor User");
+        List<String> seen = new ArrayList<>();
+        page.getItems().forEach(user -> seen.add(user.getUsername()));
+        while (page.getNextCursor() != null) {
+            page = getUsers("cursor", page.getNextCursor(), "pageSize", "3", "name", "Cursor User");
+            assertNull(page.getPage());
+            assertEquals(7, page.getTotalItems());
+            page.getItems().forEach(user -> seen.add(user.getUsername()));
+        }
+
+        assertEquals(7, seen.size());
+        assertEquals(7, new HashSet<>(seen).size());
+    }
+
+    @Test
+    void listUsers_CursorMatchesOffsetOrder() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            createTestUser("orderuser" + i, "Order User " + i, "orderuser" + i + "@example.com");
+        }
+
+        UserPage firstPage = getUsers("page", "1", "pageSize", "2", "name", "Order User");
+        UserPage secondByOffset = getUsers("page", "2", "pageSize", "2", "name", "Order User");
+        UserPage secondByCursor = getUsers("cursor", firstPage.getNextCursor(), "pageSize", "2", "name", "Order User");
+
+        assertEquals(secondByOffset.getItems(), secondByCursor.getItems());
+        assertNull(secondByCursor.getNextCursor());
+    }
+
+    @Test
+    void listUsers_UserInsertedBetweenPages_NoSkipsOrDuplicates() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            createTestUser("stableuser" + i, "Stable User " + i, "stableuser" + i + "@example.com");
+        }
+        UserPage firstPage = getUsers("page", "1", "pageSize", "2", "name", "Stable User");
+
+        // A user created now sorts after every existing one
+        createTestUser("stableuser4", "Stable User 4", "stableuser4@example.com");
+        UserPage secondPage = getUsers("cursor", firstPage.getNextCursor(), "pageSize", "2", "name", "Stable User");
+        UserPage thirdPage = getUsers("cursor", secondPage.getNextCursor(), "pageSize", "2", "name", "Stable User");
+
+        List<String> seen = new ArrayList<>();
+        for (UserPage page : List.of(firstPage, secondPage, thirdPage)) {
+            page.getItems().forEach(user -> seen.add(user.getUsername()));
+        }
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+        assertEquals("stableuser4", seen.get(4));
+    }
+
+    @Test
+    void listUsers_PageWithCursor_Returns400() throws Exception {
+        createTestUser("bothuser0", "Both User 0", "bothuser0@example.com");
+        createTestUser("bothuser1", "Both User 1", "bothuser1@example.com");
+        String cursor = getUsers("page", "1", "pageSize", "1", "name", "Both User").getNextCursor();
+
+        mockMvc.perform(get("/users")
+                .param("page", "1")
+                .param("pageSize", "1")
+                .param("cursor", cursor)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listUsers_MalformedCursor_Returns400() throws Exception {
+        mockMvc.perform(get("/users")
+                .param("pageSize", "10")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"));
+    }
+
+    @Test
+    void listUsers_TotalsNone_OmitsTotalsAndReportsHasNext() throws Exception {
+        createTestUser("nototals0", "No Totals 0", "nototals0@example.com");
+        createTestUser("nototals1", "No Totals 1", "nototals1@example.com");
+
+        UserPage firstPage = getUsers("page", "1", "pageSize", "1", "name", "No Totals", "totals", "NONE");
+        UserPage lastPage = getUsers("page", "2", "pageSize", "1", "name", "No Totals", "totals", "NONE");
+
+        assertTrue(firstPage.getHasNext());
+        assertNull(firstPage.getTotalItems());
+        assertNull(firstPage.getTotalPages());
+        assertFalse(lastPage.getHasNext());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void listUsers_DefaultTotals_AreExact() throws Exception {
+        createTestUser("exacttotals0", "Exact Totals 0", "exacttotals0@example.com");
+        createTestUser("exacttotals1", "Exact Totals 1", "exacttotals1@example.com");
+
+        UserPage page = getUsers("page", "1", "pageSize", "1", "name", "Exact Totals");
+
+        assertEquals(2, page.getTotalItems());
+        assertEquals(2, page.getTotalPages());
+        assertTrue(page.getHasNext());
+    }
+
+    @Test
+    void listUsers_UnknownTotalsMode_Returns400() throws Exception {
+        mockMvc.perform(get("/users")
+                .param("page", "1")
+                .param("pageSize", "10")
+                .param("totals", "SOMETIMES")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+
     // T117: listUsers_MissingPagination_Returns400
     @Test
     void listUsers_MissingPagination_Returns400() throws Exception {
@@ -352,4 +489,66 @@ class UserListIntegrationTest {
                 .andExpect(status().isOk())  // Default behavior: ignore unknown params
                 .andExpect(jsonPath("$.items").isArray());
     }
+
+    // Statement budgets: page query, exact count, role assignments for the page.
+    // Authentication uses the permissions embedded in the token, so it adds none.
+    @Test
+    void listUsers_FullPage_WithinStatementBudget() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            UserEntity user = createTestUser("budgetuser" + i, "Budget User " + i, "budgetuser" + i + "@example.com");
+            userRoleRepository.save(new UserRoleEntity(user.getId(), IntegrationTestHelper.USER_ROLE_ID, LocalDateTime.now()));
+        }
+
+        statementBudget.atMost(3, () -> mockMvc.perform(get("/users")
+                        .param("page", "1")
+                        .param("pageSize", "20")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(20)));
+    }
+
+    @Test
+    void listUsers_RoleFilter_WithinStatementBudget() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            UserEntity user = createTestUser("budgetadmin" + i, "Budget Admin " + i, "budgetadmin" + i + "@example.com");
+            userRoleRepository.save(new UserRoleEntity(user.getId(), IntegrationTestHelper.ADMIN_ROLE_ID, LocalDateTime.now()));
+        }
+
+        statementBudget.atMost(3, () -> mockMvc.perform(get("/users")
+                        .param("page", "1")
+                        .param("pageSize", "20")
+                        .param("roleName", "ADMIN")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void listUsers_TotalsNone_WithinStatementBudget() throws Exception {
+        createTestUser("budgetnone", "Budget None", "budgetnone@example.com");
+
+        // page query with one extra row, role assignments for the page
+        statementBudget.atMost(2, () -> mockMvc.perform(get("/users")
+                        .param("page", "1")
+                        .param("pageSize", "10")
+                        .param("totals", "NONE")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void listUsers_ResponseReportsStatementCount() throws Exception {
+        createTestUser("headeruser", "Header User", "headeruser@example.com");
+        userRepository.flush();
+
+        MvcResult result = mockMvc.perform(get("/users")
+                        .param("page", "1")
+                        .param("pageSize", "10")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(StatementCountFilter.TIME_HEADER))
+                .andReturn();
+
+        int statements = Integer.parseInt(result.getResponse().getHeader(StatementCountFilter.STATEMENTS_HEADER));
+        assertTrue(statements >= 1 && statements <= 3, "Unexpected statement count " + statements);
+    }
 }
@@ -0,0 +1,172 @@
+package com.example.specdriven.integration;
+
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.api.model.TotalsMode;
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.api.model.UserPage;
+import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.domain.UserRoleEntity;
+import com.example.specdriven.integration.support.IntegrationTestHelper;
+import com.example.specdriven.integration.support.StatementBudgetExtension;
+import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.repository.UserRoleRepository;
+import com.example.specdriven.service.UserCounters;
+import com.example.specdriven.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the number of SQL statements issued when listing users.
+ * Page assembly must use a fixed number of statements regardless of page size.
+ * Statements are counted per thread by {@link StatementBudgetExtension}, so this class can run
+ * alongside others.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserListQueryCountIntegrationTest {
+
+    private static final int USER_COUNT = 120;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @RegisterExtension
+    StatementBudgetExtension statementBudget = new StatementBudgetExtension();
+
+    private UUID userWithTwoRoles;
+
+    @BeforeEach
+    void setUp() {
+        // Every user has the USER role; every other user also has ADMIN
+        LocalDateTime now = LocalDateTime.now();
+        List<UserRoleEntity> assignments = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            UserEntity user = new UserEntity();
+            user.setId(UUID.randomUUID());
+            user.setUsername(String.format("querycount_%03d", i));
+            user.setName("Query Count " + i);
+            user.setEmailAddress(String.format("querycount_%03d@example.com", i));
+            user.setPasswordHash("not-a-real-hash");
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            userRepository.save(user);
+
+            assignments.add(new UserRoleEntity(user.getId(), IntegrationTestHelper.USER_ROLE_ID, now));
+            if (i % 2 == 0) {
+                assignments.add(new UserRoleEntity(user.getId(), IntegrationTestHelper.ADMIN_ROLE_ID, now));
+                userWithTwoRoles = user.getId();
+            }
+        }
+        userRoleRepository.saveAll(assignments);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Run a call against an empty persistence context and return the statements it executed.
+     */
+    private int statementsFor(Callable<?> call) throws Exception {
+        clear();
+        return statementBudget.record(call).statements();
+    }
+
+    /**
+     * Run a call against an empty persistence context, failing if it executed more than
+     * {@code maxStatements} statements.
+     */
+    private <T> T atMost(int maxStatements, Callable<T> call) throws Exception {
+        clear();
+        return statementBudget.atMost(maxStatements, call);
+    }
+
+    private void clear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listUsers_FullPage_UsesConstantStatements() throws Exception {
+        // page query, count query, role assignments for the page; roles come from the catalog
+        UserPage result = atMost(3, () -> userService.listUsers(1, 100, null, null, null, null, null, null));
+
+        assertEquals(100, result.getItems().size());
+        assertTrue(result.getItems().stream()
+                .filter(user -> user.getUsername().startsWith("querycount_"))
+                .allMatch(user -> !user.getRoles().isEmpty()));
+    }
+
+    @Test
+    void listUsers_StatementCount_DoesNotGrowWithPageSize() throws Exception {
+        int smallPage = statementsFor(() -> userService.listUsers(1, 10, null, null, null, null, null, null));
+        int largePage = statementsFor(() -> userService.listUsers(1, 100, null, null, null, null, null, null));
+
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void listUsers_RoleFilter_StatementCountDoesNotGrowWithPageSize() throws Exception {
+        int smallPage = statementsFor(() -> userService.listUsers(1, 10, null, null, null, RoleName.USER, null, null));
+        int largePage = statementsFor(() -> userService.listUsers(1, 100, null, null, null, RoleName.USER, null, null));
+
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void listUsers_TotalsNone_SkipsCountQuery() throws Exception {
+        // page query with one extra row, role assignments for the page
+        UserPage result = atMost(2, () -> userService.listUsers(1, 10, null, null, null, null,
+                null, TotalsMode.NONE));
+
+        assertEquals(10, result.getItems().size());
+        assertTrue(result.getHasNext());
+        assertNull(result.getTotalItems());
+    }
+
+    @Test
+    void listUsers_TotalsApproximate_ServedFromCounters() throws Exception {
+        // Load the counters inside this transaction so they include the seeded users
+        userCounters.reload();
+
+        UserPage result = atMost(2, () -> userService.listUsers(1, 10, null, null, null, RoleName.USER,
+                null, TotalsMode.APPROXIMATE));
+        UserPage exact = userService.listUsers(1, 10, null, null, null, RoleName.USER, null, TotalsMode.EXACT);
+
+        assertEquals(exact.getTotalItems(), result.getTotalItems());
+        assertEquals(exact.getItems(), result.getItems());
+    }
+
+    @Test
+    void getUserById_UserWithSeveralRoles_UsesConstantStatements() throws Exception {
+        // user, role assignments
+        User result = atMost(2, () -> userService.getUserById(userWithTwoRoles));
+
+        assertEquals(2, result.getRoles().size());
+    }
+}
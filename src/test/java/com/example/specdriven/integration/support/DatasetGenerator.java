@@ -0,0 +1,321 @@
+package com.example.specdriven.integration.support;
+
+import com.example.specdriven.security.PasswordAlgorithm;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Generates a large, deterministic dataset of users and role assignments and bulk-loads it into
+ * the Flyway-managed schema with batched JDBC inserts, bypassing JPA.
+ *
+ * The same options always produce the same rows: IDs, names, emails, creation times and role
+ * assignments all come from one random sequence seeded from {@link Options#seed()}, and the
+ * dataset for N users is the first N users of any larger one. Names and email domains are drawn
+ * with a skew towards the common ones, and creation times increase with irregular gaps. Each
+ * role is held by the configured fraction of users, independently of the others.
+ *
+ * Every user gets the same password. It is hashed once per dataset, with a salt derived from the
+ * seed, so logins work and the hash is as deterministic as the rest.
+ *
+ * From tests, construct it with the test's JdbcTemplate so rows join the test transaction.
+ * From the command line, {@link #main(String[])} migrates the target database first; see the
+ * generateDataset Gradle task.
+ */
+public class DatasetGenerator {
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final String DEFAULT_PASSWORD = "DatasetPassword123!";
+    public static final int DEFAULT_HASH_COST = 10;
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long MAX_CREATION_GAP_MILLIS = Duration.ofMinutes(2).toMillis();
+
+    // Most common first: the skewed draw picks early entries far more often
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William",
+            "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+            "Charles", "Karen", "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony",
+            "Margaret", "Mark", "Sandra", "Wei", "Priya", "Mohammed", "Sofia", "Hiroshi", "Olga",
+            "Kwame", "Lucia", "Ahmed", "Ingrid", "Mateo", "Aisha", "Chen", "Freya", "Rahul", "Zoe"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez",
+            "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez",
+            "Clark", "Ramirez", "Lewis", "Robinson", "Nguyen", "Kim", "Patel", "Wang", "Muller",
+            "Rossi", "Kowalski", "Okafor", "Tanaka", "Silva", "Ivanova", "Haddad", "O'Brien", "Novak"};
+    private static final String[] EMAIL_DOMAINS = {
+            "example.com", "example.org", "example.net", "mail.example.com", "corp.example.com",
+            "students.example.edu", "example.co.uk"};
+
+    private static final String INSERT_USER = "INSERT INTO users (id, username, name, email_address, "
+            + "password_hash, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id, assigned_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * What to generate.
+     *
+     * @param seed seed of the random sequence; equal options give equal datasets
+     * @param users number of users
+     * @param roleMix fraction of users holding each role, by role name
+     * @param password password of every user
+     * @param hashCost BCrypt strength of the password hash
+     */
+    public record Options(long seed, int users, Map<String, Double> roleMix, String password, int hashCost) {
+
+        public Options {
+            if (users < 0) {
+                throw new IllegalArgumentException("users must be >= 0");
+            }
+            roleMix.forEach((role, fraction) -> {
+                if (fraction < 0 || fraction > 1) {
+                    throw new IllegalArgumentException("Fraction of " + role + " must be between 0 and 1");
+                }
+            });
+            // Sorted, so the draws per user do not depend on the caller's map order
+            roleMix = Collections.unmodifiableMap(new TreeMap<>(roleMix));
+        }
+
+        /**
+         * Every user holds USER, 1% also ADMIN and 5% also GUEST.
+         */
+        public static Options of(int users) {
+            return new Options(DEFAULT_SEED, users, Map.of("USER", 1.0, "ADMIN", 0.01, "GUEST", 0.05),
+                    DEFAULT_PASSWORD, DEFAULT_HASH_COST);
+        }
+
+        public Options withSeed(long seed) {
+            return new Options(seed, users, roleMix, password, hashCost);
+        }
+
+        public Options withRoleMix(Map<String, Double> roleMix) {
+            return new Options(seed, users, roleMix, password, hashCost);
+        }
+
+        public Options withHashCost(int hashCost) {
+            return new Options(seed, users, roleMix, password, hashCost);
+        }
+    }
+
+    /**
+     * One generated user.
+     */
+    public record GeneratedUser(UUID id, String username, String name, String emailAddress,
+                                LocalDateTime createdAt, List<String> roles) {
+    }
+
+    /**
+     * What a load inserted.
+     *
+     * @param users users inserted
+     * @param holdersByRole users holding each role
+     * @param elapsed time the load took
+     */
+    public record Summary(long users, Map<String, Long> holdersByRole, Duration elapsed) {
+    }
+
+    /**
+     * Generate the users without touching the database.
+     *
+     * @param options what to generate
+     * @param consumer receives the users in creation order
+     */
+    public static void forEachUser(Options options, Consumer<GeneratedUser> consumer) {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        long createdAtMillis = 0;
+        for (int i = 0; i < options.users(); i++) {
+            UUID id = randomUuid(random);
+            String first = skewed(random, FIRST_NAMES);
+            String last = skewed(random, LAST_NAMES);
+            String name = random.nextInt(10) < 3
+                    ? first + " " + (char) ('A' + random.nextInt(26)) + ". " + last
+                    : first + " " + last;
+            String localPart = (first + "." + last).toLowerCase(Locale.ROOT).replace("'", "");
+            String username = (first.charAt(0) + last).toLowerCase(Locale.ROOT).replace("'", "") + i;
+            String email = localPart + i + "@" + skewed(random, EMAIL_DOMAINS);
+            createdAtMillis += 1 + random.nextLong(MAX_CREATION_GAP_MILLIS);
+            List<String> roles = new ArrayList<>(options.roleMix().size());
+            for (Map.Entry<String, Double> role : options.roleMix().entrySet()) {
+                if (random.nextDouble() < role.getValue()) {
+                    roles.add(role.getKey());
+                }
+            }
+            consumer.accept(new GeneratedUser(id, username, name, email,
+                    FIRST_CREATED_AT.plus(Duration.ofMillis(createdAtMillis)), List.copyOf(roles)));
+        }
+    }
+
+    /**
+     * Generate the users into a list; for small datasets.
+     */
+    public static List<GeneratedUser> users(Options options) {
+        List<GeneratedUser> users = new ArrayList<>(options.users());
+        forEachUser(options, users::add);
+        return users;
+    }
+
+    /**
+     * The password hash every generated user gets, in the application's stored format.
+     * The salt comes from the seed, so equal options give equal hashes.
+     */
+    public static String passwordHash(Options options) {
+        try {
+            SecureRandom saltSource = SecureRandom.getInstance("SHA1PRNG");
+            saltSource.setSeed(options.seed());
+            String hash = BCrypt.hashpw(options.password(), BCrypt.gensalt(options.hashCost(), saltSource));
+            return "{" + PasswordAlgorithm.BCRYPT.id() + "}" + hash;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA1PRNG is not available", ex);
+        }
+    }
+
+    /**
+     * Insert the dataset in batches. Roles must already exist.
+     *
+     * @param options what to generate
+     * @return what was inserted
+     */
+    public Summary load(Options options) {
+        long started = System.nanoTime();
+        Map<String, UUID> roleIds = roleIds(options.roleMix().keySet());
+        String passwordHash = passwordHash(options);
+        Map<String, Long> holdersByRole = new LinkedHashMap<>();
+        options.roleMix().keySet().forEach(role -> holdersByRole.put(role, 0L));
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> userRoles = new ArrayList<>(BATCH_SIZE * 2);
+
+        forEachUser(options, user -> {
+            Timestamp createdAt = Timestamp.valueOf(user.createdAt());
+            users.add(new Object[]{user.id(), user.username(), user.name(), user.emailAddress(),
+                    passwordHash, createdAt, createdAt});
+            for (String role : user.roles()) {
+                userRoles.add(new Object[]{user.id(), roleIds.get(role), createdAt});
+                holdersByRole.merge(role, 1L, Long::sum);
+            }
+            if (users.size() == BATCH_SIZE) {
+                flush(users, userRoles);
+            }
+        });
+        flush(users, userRoles);
+
+        return new Summary(options.users(), holdersByRole, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void flush(List<Object[]> users, List<Object[]> userRoles) {
+        if (!users.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER, users);
+        }
+        if (!userRoles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+        }
+        users.clear();
+        userRoles.clear();
+    }
+
+    private Map<String, UUID> roleIds(Iterable<String> roleNames) {
+        Map<String, UUID> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT role_name, id FROM roles",
+                rs -> {
+                    existing.put(rs.getString(1), rs.getObject(2, UUID.class));
+                });
+        Map<String, UUID> roleIds = new HashMap<>();
+        for (String roleName : roleNames) {
+            UUID id = existing.get(roleName);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown role " + roleName + "; known roles are " + existing.keySet());
+            }
+            roleIds.put(roleName, id);
+        }
+        return roleIds;
+    }
+
+    /**
+     * Random version 4 UUID from the seeded sequence.
+     */
+    private static UUID randomUuid(SplittableRandom random) {
+        long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    /**
+     * Pick an entry, favouring the front of the array roughly the way real name frequencies
+     * fall off.
+     */
+    private static String skewed(SplittableRandom random, String[] values) {
+        double u = random.nextDouble();
+        return values[(int) (values.length * u * u * u)];
+    }
+
+    /**
+     * Load a dataset into a database from the command line, after migrating its schema.
+     * Arguments are {@code name=value} pairs: url, username, password (of the database), users,
+     * seed, and roles as {@code ROLE=fraction,...}.
+     */
+    public static void main(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value but got " + arg);
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        String url = arguments.getOrDefault("url",
+                "jdbc:h2:file:./build/dataset/specdriven;MODE=PostgreSQL;DATABASE_TO_UPPER=FALSE");
+        Options options = Options.of(Integer.parseInt(arguments.getOrDefault("users", "1000000")))
+                .withSeed(Long.parseLong(arguments.getOrDefault("seed", Long.toString(DEFAULT_SEED))));
+        if (arguments.containsKey("roles")) {
+            options = options.withRoleMix(parseRoleMix(arguments.get("roles")));
+        }
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                url, arguments.getOrDefault("username", "sa"), arguments.getOrDefault("password", ""), true);
+        try {
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            Summary summary = new DatasetGenerator(new JdbcTemplate(dataSource)).load(options);
+            System.out.printf("Loaded %d users (seed %d) into %s in %d ms; role holders: %s%n",
+                    summary.users(), options.seed(), url, summary.elapsed().toMillis(), summary.holdersByRole());
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private static Map<String, Double> parseRoleMix(String roles) {
+        Map<String, Double> roleMix = new HashMap<>();
+        for (String entry : roles.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected ROLE=fraction but got " + entry);
+            }
+            roleMix.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+        return roleMix;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.specdriven.integration.support;
+
+import com.example.specdriven.integration.support.DatasetGenerator.GeneratedUser;
+import com.example.specdriven.integration.support.DatasetGenerator.Options;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DatasetGenerator.
+ * Tests that generation is deterministic per seed, that smaller datasets are prefixes of larger
+ * ones, that identities are unique, and that role fractions follow the configured mix.
+ */
+class DatasetGeneratorTest {
+
+    private static final Options OPTIONS = Options.of(5_000).withHashCost(4);
+
+    @Test
+    void users_SameSeed_SameUsers() {
+        assertEquals(DatasetGenerator.users(OPTIONS), DatasetGenerator.users(OPTIONS));
+    }
+
+    @Test
+    void users_DifferentSeed_DifferentUsers() {
+        List<GeneratedUser> first = DatasetGenerator.users(OPTIONS);
+        List<GeneratedUser> second = DatasetGenerator.users(OPTIONS.withSeed(7L));
+
+        assertNotEquals(first.get(0).id(), second.get(0).id());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void users_SmallerDataset_IsPrefixOfLarger() {
+        List<GeneratedUser> small = DatasetGenerator.users(Options.of(100));
+        List<GeneratedUser> large = DatasetGenerator.users(Options.of(1_000));
+
+        assertEquals(small, large.subList(0, 100));
+    }
+
+    @Test
+    void users_RoleMixOrder_DoesNotChangeUsers() {
+        Options forward = OPTIONS.withRoleMix(Map.of("USER", 1.0, "ADMIN", 0.1));
+        Options reordered = OPTIONS.withRoleMix(orderedMix());
+
+        assertEquals(DatasetGenerator.users(forward), DatasetGenerator.users(reordered));
+    }
+
+    private static Map<String, Double> orderedMix() {
+        Map<String, Double> mix = new LinkedHashMap<>();
+        mix.put("ADMIN", 0.1);
+        mix.put("USER", 1.0);
+        return mix;
+    }
+
+    @Test
+    void users_IdsUsernamesAndEmailsUnique() {
+        List<GeneratedUser> users = DatasetGenerator.users(OPTIONS);
+        Set<UUID> ids = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        for (GeneratedUser user : users) {
+            assertTrue(ids.add(user.id()), "duplicate id " + user.id());
+            assertTrue(usernames.add(user.username()), "duplicate username " + user.username());
+            assertTrue(emails.add(user.emailAddress()), "duplicate email " + user.emailAddress());
+            assertEquals(4, user.id().version());
+            assertTrue(user.emailAddress().matches("[a-z.]+\\d+@[a-z.]+"), user.emailAddress());
+        }
+    }
+
+    @Test
+    void users_CreatedAtStrictlyIncreasing() {
+        List<GeneratedUser> users = DatasetGenerator.users(OPTIONS);
+
+        for (int i = 1; i < users.size(); i++) {
+            assertTrue(users.get(i).createdAt().isAfter(users.get(i - 1).createdAt()));
+        }
+    }
+
+    @Test
+    void users_NamesSkewedTowardsCommonOnes() {
+        List<GeneratedUser> users = DatasetGenerator.users(OPTIONS);
+
+        long james = users.stream().filter(user -> user.name().startsWith("James ")).count();
+        long zoe = users.stream().filter(user -> user.name().startsWith("Zoe ")).count();
+
+        assertTrue(james > zoe * 5, "James " + james + ", Zoe " + zoe);
+    }
+
+    @Test
+    void users_RoleFractionsFollowMix() {
+        List<GeneratedUser> users = DatasetGenerator.users(OPTIONS);
+
+        long userHolders = users.stream().filter(user -> user.roles().contains("USER")).count();
+        long adminHolders = users.stream().filter(user -> user.roles().contains("ADMIN")).count();
+        long guestHolders = users.stream().filter(user -> user.roles().contains("GUEST")).count();
+
+        assertEquals(5_000, userHolders);
+        assertEquals(50, adminHolders, 25);
+        assertEquals(250, guestHolders, 60);
+    }
+
+    @Test
+    void passwordHash_DeterministicAndMatchesPassword() {
+        String hash = DatasetGenerator.passwordHash(OPTIONS);
+
+        assertEquals(hash, DatasetGenerator.passwordHash(OPTIONS));
+        assertNotEquals(hash, DatasetGenerator.passwordHash(OPTIONS.withSeed(7L)));
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(BCrypt.checkpw(DatasetGenerator.DEFAULT_PASSWORD, hash.substring("{bcrypt}".length())));
+    }
+
+    @Test
+    void options_FractionOutOfRange_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> OPTIONS.withRoleMix(Map.of("ADMIN", 1.5)));
+        assertThrows(IllegalArgumentException.class, () -> Options.of(-1));
+    }
+}
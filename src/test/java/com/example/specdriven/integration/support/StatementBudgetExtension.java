@@ -0,0 +1,80 @@
+package com.example.specdriven.integration.support;
+
+import com.example.specdriven.config.StatementTracker;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts a maximum number of SQL statements for a single call, such as one MockMvc request.
+ * Register it in a Spring Boot test with {@code @RegisterExtension}, then wrap the call:
+ * <pre>
+ * statementBudget.atMost(3, () -&gt; mockMvc.perform(get("/users")).andExpect(status().isOk()));
+ * </pre>
+ * A call over budget fails with every statement it executed.
+ *
+ * Inside a test transaction, Hibernate defers writes until it flushes, which a rolled back test
+ * never does. The persistence context is therefore flushed before the call, so earlier writes
+ * are not counted, and after it, so the call's own deferred writes are. Counting is per thread:
+ * statements executed on other threads are not seen.
+ */
+public class StatementBudgetExtension implements BeforeEachCallback {
+
+    private StatementTracker statementTracker;
+    private EntityManager entityManager;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        statementTracker = applicationContext.getBean(StatementTracker.class);
+        entityManager = applicationContext.getBeanProvider(EntityManager.class).getIfUnique();
+    }
+
+    /**
+     * Run a call and fail if it executed more than {@code maxStatements} statements.
+     *
+     * @param maxStatements the budget
+     * @param call the call to measure
+     * @return what the call returned
+     */
+    public <T> T atMost(int maxStatements, Callable<T> call) throws Exception {
+        flush();
+        try (StatementTracker.Recording recording = statementTracker.start(true)) {
+            T result = call.call();
+            flush();
+            if (recording.statements() > maxStatements) {
+                fail("Expected at most " + maxStatements + " statements but got " + recording.statements()
+                        + ":\n  " + String.join("\n  ", recording.sql()));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Run a call and return the statements it executed, with their SQL.
+     *
+     * @param call the call to measure
+     * @return the closed recording
+     */
+    public StatementTracker.Recording record(Callable<?> call) throws Exception {
+        flush();
+        try (StatementTracker.Recording recording = statementTracker.start(true)) {
+            call.call();
+            flush();
+            return recording;
+        }
+    }
+
+    private void flush() {
+        if (entityManager != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+}
@@ -3,35 +3,26 @@ package com.example.specdriven.mapper;
 import com.example.specdriven.api.model.*;
 import com.example.specdriven.domain.RoleEntity;
 import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.service.RoleCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for UserMapper.
- * Tests DTO/Entity conversions and password hashing.
+ * Tests DTO/Entity conversions; passwords arrive already hashed.
  */
-@ExtendWith(MockitoExtension.class)
 class UserMapperTest {
 
-    @Mock
-    private PasswordEncoder passwordEncoder;
-
     private UserMapper userMapper;
 
     @BeforeEach
     void setUp() {
-        userMapper = new UserMapper(passwordEncoder);
+        userMapper = new UserMapper();
     }
 
     // =====================================
@@ -43,10 +34,9 @@ class UserMapperTest {
         // Given
         CreateUserRequest request = new CreateUserRequest(
                 "testuser", "Test User", "Password123!", "test@example.com");
-        when(passwordEncoder.encode("Password123!")).thenReturn("$2a$10$hashedpassword");
 
         // When
-        UserEntity result = userMapper.toEntity(request);
+        UserEntity result = userMapper.toEntity(request, "$2a$10$hashedpassword");
 
         // Then
         assertNotNull(result);
@@ -60,17 +50,16 @@ class UserMapperTest {
     }
 
     @Test
-    void toEntity_CallsPasswordEncoder() {
+    void toEntity_NeverStoresRawPassword() {
         // Given
         CreateUserRequest request = new CreateUserRequest(
                 "user", "User", "MyPassword!", "user@example.com");
-        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
 
         // When
-        userMapper.toEntity(request);
+        UserEntity result = userMapper.toEntity(request, "encoded");
 
         // Then
-        verify(passwordEncoder).encode("MyPassword!");
+        assertEquals("encoded", result.getPasswordHash());
     }
 
     @Test
@@ -78,11 +67,10 @@ class UserMapperTest {
         // Given
         CreateUserRequest request = new CreateUserRequest(
                 "user", "User", "Password!", "user@example.com");
-        when(passwordEncoder.encode(anyString())).thenReturn("hash");
 
         // When
-        UserEntity entity1 = userMapper.toEntity(request);
-        UserEntity entity2 = userMapper.toEntity(request);
+        UserEntity entity1 = userMapper.toEntity(request, "hash");
+        UserEntity entity2 = userMapper.toEntity(request, "hash");
 
         // Then
         assertNotEquals(entity1.getId(), entity2.getId());
@@ -202,10 +190,8 @@ class UserMapperTest {
         request.setEmailAddress("new@example.com");
         request.setPassword("NewPassword!");
 
-        when(passwordEncoder.encode("NewPassword!")).thenReturn("newhash");
-
         // When
-        UserEntity result = userMapper.updateEntity(request, entity);
+        UserEntity result = userMapper.updateEntity(request, entity, "newhash");
 
         // Then
         assertEquals("newuser", result.getUsername());
@@ -230,7 +216,7 @@ class UserMapperTest {
         // username, email, password are null
 
         // When
-        UserEntity result = userMapper.updateEntity(request, entity);
+        UserEntity result = userMapper.updateEntity(request, entity, null);
 
         // Then
         assertEquals("originaluser", result.getUsername()); // Unchanged
@@ -240,7 +226,7 @@ class UserMapperTest {
     }
 
     @Test
-    void updateEntity_PasswordOnly_HashesNewPassword() {
+    void updateEntity_PasswordOnly_StoresNewHash() {
         // Given
         UserEntity entity = new UserEntity();
         entity.setId(UUID.randomUUID());
@@ -252,18 +238,15 @@ class UserMapperTest {
         UpdateUserRequest request = new UpdateUserRequest();
         request.setPassword("BrandNewPassword!");
 
-        when(passwordEncoder.encode("BrandNewPassword!")).thenReturn("brandnewhash");
-
         // When
-        UserEntity result = userMapper.updateEntity(request, entity);
+        UserEntity result = userMapper.updateEntity(request, entity, "brandnewhash");
 
         // Then
         assertEquals("brandnewhash", result.getPasswordHash());
-        verify(passwordEncoder).encode("BrandNewPassword!");
     }
 
     @Test
-    void updateEntity_NoPassword_DoesNotCallEncoder() {
+    void updateEntity_NoPassword_KeepsExistingHash() {
         // Given
         UserEntity entity = new UserEntity();
         entity.setId(UUID.randomUUID());
@@ -276,11 +259,10 @@ class UserMapperTest {
         request.setName("New Name");
 
         // When
-        UserEntity result = userMapper.updateEntity(request, entity);
+        UserEntity result = userMapper.updateEntity(request, entity, null);
 
         // Then
         assertEquals("existinghash", result.getPasswordHash());
-        verify(passwordEncoder, never()).encode(anyString());
     }
 
     @Test
@@ -298,7 +280,7 @@ class UserMapperTest {
         // Empty update
 
         // When
-        UserEntity result = userMapper.updateEntity(request, entity);
+        UserEntity result = userMapper.updateEntity(request, entity, null);
 
         // Then
         assertNotEquals(originalTime, result.getUpdatedAt());
@@ -361,4 +343,27 @@ class UserMapperTest {
         assertNotNull(result.getPermissions());
         assertTrue(result.getPermissions().isEmpty());
     }
+
+    @Test
+    void toRoleDto_CatalogRole_UsesResolvedRoleName() {
+        // Given
+        RoleCatalog.CatalogRole catalogRole = new RoleCatalog.CatalogRole(UUID.randomUUID(), "ADMIN", RoleName.ADMIN, 0b11L);
+
+        // When
+        Role result = userMapper.toRoleDto(catalogRole);
+
+        // Then
+        assertEquals(RoleName.ADMIN, result.getRoleName());
+        assertNotNull(result.getPermissions());
+        assertTrue(result.getPermissions().isEmpty());
+    }
+
+    @Test
+    void toRoleDto_CatalogRoleWithoutApiName_ReturnsNull() {
+        // Given
+        RoleCatalog.CatalogRole catalogRole = new RoleCatalog.CatalogRole(UUID.randomUUID(), "GUEST", null, 0L);
+
+        // When / Then
+        assertNull(userMapper.toRoleDto(catalogRole));
+    }
 }
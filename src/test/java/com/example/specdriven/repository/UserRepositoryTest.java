@@ -1,6 +1,8 @@
 package com.example.specdriven.repository;
 
 import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.domain.UserRoleEntity;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,6 +11,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,9 +28,17 @@ import static org.junit.jupiter.api.Assertions.*;
 @Transactional
 class UserRepositoryTest {
 
+    private static final UUID GUEST_ROLE_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void save_CreatesNewUser() {
         UserEntity user = createTestUser("testuser", "test@example.com");
@@ -41,6 +52,18 @@ class UserRepositoryTest {
         assertEquals("test@example.com", saved.getEmailAddress());
     }
 
+    @Test
+    void save_NewUser_PersistsSameInstance() {
+        UserEntity user = createTestUser("testuser", "test@example.com");
+        assertTrue(user.isNew());
+
+        UserEntity saved = userRepository.save(user);
+
+        // merge() would return a managed copy; persist() manages the instance itself
+        assertSame(user, saved);
+        assertFalse(saved.isNew());
+    }
+
     @Test
     void findById_ReturnsUser_WhenExists() {
         UserEntity user = createTestUser("testuser", "test@example.com");
@@ -103,6 +126,31 @@ class UserRepositoryTest {
         assertFalse(found.isPresent());
     }
 
+    @Test
+    void replacePasswordHash_CurrentHashMatches_ReplacesHash() {
+        UserEntity user = userRepository.saveAndFlush(createTestUser("testuser", "test@example.com"));
+        LocalDateTime updatedAt = user.getUpdatedAt();
+
+        int replaced = userRepository.replacePasswordHash(user.getId(), "$2a$10$hashedPassword", "{bcrypt}$2a$12$rehashed");
+        entityManager.clear();
+
+        assertEquals(1, replaced);
+        UserEntity reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("{bcrypt}$2a$12$rehashed", reloaded.getPasswordHash());
+        assertEquals(updatedAt.withNano(0), reloaded.getUpdatedAt().withNano(0));
+    }
+
+    @Test
+    void replacePasswordHash_HashChangedMeanwhile_LeavesHash() {
+        UserEntity user = userRepository.saveAndFlush(createTestUser("testuser", "test@example.com"));
+
+        int replaced = userRepository.replacePasswordHash(user.getId(), "$2a$10$someOtherHash", "{bcrypt}$2a$12$rehashed");
+        entityManager.clear();
+
+        assertEquals(0, replaced);
+        assertEquals("$2a$10$hashedPassword", userRepository.findById(user.getId()).orElseThrow().getPasswordHash());
+    }
+
     @Test
     void count_ReturnsZero_WhenNoUsers() {
         long count = userRepository.count();
@@ -184,6 +232,140 @@ class UserRepositoryTest {
         assertEquals(saved.getId(), updated.getId());
     }
 
+    @Test
+    void findAllWithSpecification_Role_PagesAndCountsAllRoleMembers() {
+        for (int i = 0; i < 5; i++) {
+            saveWithRole(createTestUser("guest" + i, "guest" + i + "@example.com"), GUEST_ROLE_ID);
+        }
+        userRepository.save(createTestUser("norole", "norole@example.com"));
+        userRepository.flush();
+
+        Page<UserEntity> lastPage = userRepository.findAll(
+                new UserSpecification(null, null, null, GUEST_ROLE_ID), PageRequest.of(2, 2));
+
+        assertEquals(5, lastPage.getTotalElements());
+        assertEquals(3, lastPage.getTotalPages());
+        assertEquals(1, lastPage.getContent().size());
+    }
+
+    @Test
+    void findAllWithSpecification_RoleAndFields_AppliesFiltersBeforePaging() {
+        for (int i = 0; i < 6; i++) {
+            UserEntity user = createTestUser("guest" + i, "guest" + i + "@example.com");
+            user.setName(i % 2 == 0 ? "Alpha Guest " + i : "Beta Guest " + i);
+            saveWithRole(user, GUEST_ROLE_ID);
+        }
+        userRepository.flush();
+
+        Page<UserEntity> byName = userRepository.findAll(
+                new UserSpecification(null, null, "alpha", GUEST_ROLE_ID), PageRequest.of(0, 2));
+        Page<UserEntity> byUsernameAndEmail = userRepository.findAll(
+                new UserSpecification("guest3", "guest3@example.com", null, GUEST_ROLE_ID), PageRequest.of(0, 2));
+
+        assertEquals(3, byName.getTotalElements());
+        assertEquals(2, byName.getContent().size());
+        assertTrue(byName.getContent().stream().allMatch(user -> user.getName().startsWith("Alpha")));
+        assertEquals(1, byUsernameAndEmail.getTotalElements());
+        assertEquals("guest3", byUsernameAndEmail.getContent().get(0).getUsername());
+    }
+
+    @Test
+    void findAllWithSpecification_NameWithWildcard_MatchesLiterally() {
+        UserEntity percent = createTestUser("percent", "percent@example.com");
+        percent.setName("100% Guest");
+        saveWithRole(percent, GUEST_ROLE_ID);
+        UserEntity digits = createTestUser("digits", "digits@example.com");
+        digits.setName("1000 Guest");
+        saveWithRole(digits, GUEST_ROLE_ID);
+        userRepository.flush();
+
+        Page<UserEntity> page = userRepository.findAll(
+                new UserSpecification(null, null, "0%", GUEST_ROLE_ID), PageRequest.of(0, 10));
+
+        assertEquals(List.of("percent"), page.getContent().stream().map(UserEntity::getUsername).toList());
+    }
+
+    @Test
+    void findAllWithSpecification_NameWithUnderscore_MatchesLiterally() {
+        UserEntity underscore = createTestUser("underscore", "underscore@example.com");
+        underscore.setName("Snake_Case");
+        UserEntity space = createTestUser("space", "space@example.com");
+        space.setName("Snake Case");
+        userRepository.save(underscore);
+        userRepository.save(space);
+        userRepository.flush();
+
+        Page<UserEntity> page = userRepository.findAll(
+                new UserSpecification(null, null, "SNAKE_", null), PageRequest.of(0, 10));
+
+        assertEquals(List.of("underscore"), page.getContent().stream().map(UserEntity::getUsername).toList());
+    }
+
+    @Test
+    void findAllWithSpecification_FieldFiltersWithoutRole_CombinesWithAnd() {
+        userRepository.save(createTestUser("match", "match@example.com"));
+        userRepository.save(createTestUser("match", "other@example.com"));
+        userRepository.save(createTestUser("nomatch", "nomatch@example.com"));
+        userRepository.flush();
+
+        Page<UserEntity> byUsername = userRepository.findAll(
+                new UserSpecification("match", null, null, null), PageRequest.of(0, 10));
+        Page<UserEntity> byUsernameAndEmail = userRepository.findAll(
+                new UserSpecification("match", "other@example.com", "test user", null), PageRequest.of(0, 10));
+
+        assertEquals(2, byUsername.getTotalElements());
+        assertEquals(1, byUsernameAndEmail.getTotalElements());
+        assertEquals("other@example.com", byUsernameAndEmail.getContent().get(0).getEmailAddress());
+    }
+
+    @Test
+    void findAllWithSpecification_EmptyFilters_MatchesFindAll() {
+        userRepository.save(createTestUser("user1", "user1@example.com"));
+        userRepository.save(createTestUser("user2", "user2@example.com"));
+        userRepository.flush();
+
+        Page<UserEntity> filtered = userRepository.findAll(
+                new UserSpecification("", "", "", null), PageRequest.of(0, 10));
+
+        assertEquals(userRepository.findAll(PageRequest.of(0, 10)).getTotalElements(), filtered.getTotalElements());
+    }
+
+    @Test
+    void findByWithKeyset_ReturnsUsersAfterPositionInListOrder() {
+        LocalDateTime sameInstant = LocalDateTime.of(2024, 1, 1, 12, 0);
+        UserEntity first = createTestUser("keyset1", "keyset1@example.com");
+        UserEntity second = createTestUser("keyset2", "keyset2@example.com");
+        UserEntity third = createTestUser("keyset3", "keyset3@example.com");
+        first.setCreatedAt(sameInstant);
+        second.setCreatedAt(sameInstant);
+        third.setCreatedAt(sameInstant.plusSeconds(1));
+        userRepository.saveAll(List.of(first, second, third));
+        userRepository.flush();
+        UserSpecification filter = new UserSpecification(null, null, null, null);
+
+        List<UserEntity> ordered = userRepository.findBy(filter,
+                query -> query.sortBy(UserSpecification.LIST_ORDER).all()).stream()
+                .filter(user -> user.getUsername().startsWith("keyset"))
+                .toList();
+        UserEntity lowest = ordered.get(0);
+        List<UserEntity> after = userRepository.findBy(
+                filter.and(UserSpecification.after(lowest.getCreatedAt(), lowest.getId())),
+                query -> query.sortBy(UserSpecification.LIST_ORDER).limit(10).all());
+
+        // Ties on createdAt are broken by ID, so the other user from the same instant comes next
+        assertEquals(3, ordered.size());
+        assertEquals("keyset3", ordered.get(2).getUsername());
+        assertEquals(List.of(ordered.get(1).getId(), third.getId()),
+                after.stream().filter(user -> user.getUsername().startsWith("keyset")).map(UserEntity::getId).toList());
+        assertFalse(after.stream().anyMatch(user -> user.getId().equals(lowest.getId())));
+    }
+
+    private void saveWithRole(UserEntity user, UUID roleId) {
+        userRepository.save(user);
+        userRepository.flush();
+        userRoleRepository.save(new UserRoleEntity(user.getId(), roleId, LocalDateTime.now()));
+    }
+
     private UserEntity createTestUser(String username, String email) {
         UserEntity user = new UserEntity();
         // Manual ID assignment required because the migration doesn't have UUID auto-generation (DEFAULT random_uuid())
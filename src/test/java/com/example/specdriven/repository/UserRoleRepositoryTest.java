@@ -138,6 +138,31 @@ class UserRoleRepositoryTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void insertIfAbsent_InsertsMapping() {
+        assertEquals(1, userRoleRepository.insertIfAbsent(testUser.getId(), adminRole.getId()));
+
+        List<UserRoleEntity> result = userRoleRepository.findByUserIdAndRoleId(testUser.getId(), adminRole.getId());
+        assertEquals(1, result.size());
+        assertNotNull(result.get(0).getAssignedAt());
+    }
+
+    @Test
+    void insertIfAbsent_AlreadyAssigned_InsertsNothing() {
+        userRoleRepository.insertIfAbsent(testUser.getId(), adminRole.getId());
+
+        assertEquals(0, userRoleRepository.insertIfAbsent(testUser.getId(), adminRole.getId()));
+        assertEquals(1, userRoleRepository.findByUserId(testUser.getId()).size());
+    }
+
+    @Test
+    void insertIfAbsent_UnknownUser_InsertsNothing() {
+        UUID unknownUser = UUID.randomUUID();
+
+        assertEquals(0, userRoleRepository.insertIfAbsent(unknownUser, adminRole.getId()));
+        assertTrue(userRoleRepository.findByUserId(unknownUser).isEmpty());
+    }
+
     @Test
     void deleteByUserIdAndRoleId_RemovesMapping() {
         // Given
@@ -149,12 +174,40 @@ class UserRoleRepositoryTest {
         assertEquals(1, beforeDelete.size());
 
         // When
-        userRoleRepository.deleteByUserIdAndRoleId(testUser.getId(), adminRole.getId());
+        long deleted = userRoleRepository.deleteByUserIdAndRoleId(testUser.getId(), adminRole.getId());
         userRoleRepository.flush();
 
         // Then
         List<UserRoleEntity> afterDelete = userRoleRepository.findByUserIdAndRoleId(testUser.getId(), adminRole.getId());
         assertTrue(afterDelete.isEmpty());
+        assertEquals(1, deleted);
+    }
+
+    @Test
+    void deleteByUserIdAndRoleId_NotAssigned_ReturnsZero() {
+        assertEquals(0, userRoleRepository.deleteByUserIdAndRoleId(testUser.getId(), adminRole.getId()));
+    }
+
+    @Test
+    void countUsersByRole_CountsEachRoleInOneQuery() {
+        // Given
+        long adminsBefore = countFor(adminRole.getId());
+        long usersBefore = countFor(userRole.getId());
+        userRoleRepository.save(new UserRoleEntity(testUser.getId(), adminRole.getId(), LocalDateTime.now()));
+        userRoleRepository.save(new UserRoleEntity(testUser.getId(), userRole.getId(), LocalDateTime.now()));
+        userRoleRepository.flush();
+
+        // Then
+        assertEquals(adminsBefore + 1, countFor(adminRole.getId()));
+        assertEquals(usersBefore + 1, countFor(userRole.getId()));
+    }
+
+    private long countFor(UUID roleId) {
+        return userRoleRepository.countUsersByRole().stream()
+                .filter(count -> count.getRoleId().equals(roleId))
+                .mapToLong(UserRoleRepository.RoleUserCount::getUserCount)
+                .findFirst()
+                .orElse(0);
     }
 
     @Test
@@ -1,16 +1,23 @@
 package com.example.specdriven.security;
 
 import com.example.specdriven.config.JwtConfig;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for JwtTokenProvider.
- * Tests JWT token generation, validation, and extraction.
+ * Tests JWT token generation, validation, extraction, and the verification meters.
  */
 class JwtTokenProviderTest {
 
@@ -171,4 +178,162 @@ class JwtTokenProviderTest {
         boolean isExpired = jwtTokenProvider.isTokenExpired(null);
         assertTrue(isExpired);
     }
+
+    @Test
+    void verifyAndExtract_ValidToken_ReturnsUserIdAndExpiry() {
+        UUID userId = UUID.randomUUID();
+        Instant before = Instant.now();
+        String token = jwtTokenProvider.generateToken(userId);
+
+        Optional<JwtPrincipal> principal = jwtTokenProvider.verifyAndExtract(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals(userId, principal.get().userId());
+        // JWT expiry has second precision
+        assertFalse(principal.get().expiresAt().isBefore(before.plusMillis(86400000L).minusSeconds(1)));
+    }
+
+    @Test
+    void verifyAndExtract_RepeatedCalls_ReturnSamePrincipal() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtTokenProvider.generateToken(userId);
+
+        JwtPrincipal first = jwtTokenProvider.verifyAndExtract(token).orElseThrow();
+        JwtPrincipal second = jwtTokenProvider.verifyAndExtract(token).orElseThrow();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void verifyAndExtract_TamperedTokenAfterValidOne_ReturnsEmpty() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtTokenProvider.generateToken(userId);
+        jwtTokenProvider.verifyAndExtract(token);
+        String tamperedToken = token.substring(0, token.length() - 5) + "xxxxx";
+
+        assertTrue(jwtTokenProvider.verifyAndExtract(tamperedToken).isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_InvalidToken_ReturnsEmpty() {
+        assertTrue(jwtTokenProvider.verifyAndExtract("not-a-valid-jwt-token").isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_NullOrEmptyToken_ReturnsEmpty() {
+        assertTrue(jwtTokenProvider.verifyAndExtract(null).isEmpty());
+        assertTrue(jwtTokenProvider.verifyAndExtract("").isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_ExpiredToken_ReturnsEmpty() {
+        jwtConfig.setExpirationMs(-60_000L);
+        String token = jwtTokenProvider.generateToken(UUID.randomUUID());
+
+        assertTrue(jwtTokenProvider.verifyAndExtract(token).isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_TokenSignedWithOtherKey_ReturnsEmpty() {
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(
+                        "another-secret-that-is-also-long-enough-for-hs256".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertTrue(jwtTokenProvider.verifyAndExtract(token).isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_SubjectNotUuid_ReturnsEmpty() {
+        String token = Jwts.builder()
+                .subject("not-a-uuid")
+                .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertTrue(jwtTokenProvider.verifyAndExtract(token).isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_TokenWithoutExpiry_ReturnsEmpty() {
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .signWith(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertTrue(jwtTokenProvider.verifyAndExtract(token).isEmpty());
+    }
+
+    @Test
+    void verifyAndExtract_CacheDisabled_StillVerifies() {
+        jwtConfig.setVerifiedTokenCacheSize(0);
+        JwtTokenProvider uncachedProvider = new JwtTokenProvider(jwtConfig);
+        UUID userId = UUID.randomUUID();
+        String token = uncachedProvider.generateToken(userId);
+
+        assertEquals(userId, uncachedProvider.verifyAndExtract(token).orElseThrow().userId());
+        assertEquals(userId, uncachedProvider.verifyAndExtract(token).orElseThrow().userId());
+        assertTrue(uncachedProvider.verifyAndExtract(token + "x").isEmpty());
+    }
+
+    @Test
+    void jwtPrincipal_IsExpiredAt_ComparesAgainstExpiry() {
+        Instant expiresAt = Instant.parse("2030-01-01T00:00:00Z");
+        JwtPrincipal principal = new JwtPrincipal(UUID.randomUUID(), expiresAt);
+
+        assertFalse(principal.isExpiredAt(expiresAt.minusSeconds(1)));
+        assertTrue(principal.isExpiredAt(expiresAt));
+        assertTrue(principal.isExpiredAt(expiresAt.plusSeconds(1)));
+    }
+
+    @Test
+    void generateToken_WithEmbeddedPermissions_RoundTrips() {
+        UUID userId = UUID.randomUUID();
+        JwtPrincipal.EmbeddedPermissions permissions =
+                new JwtPrincipal.EmbeddedPermissions(Long.MIN_VALUE | 0b101L, -42L, 7L);
+        String token = jwtTokenProvider.generateToken(userId, permissions);
+
+        JwtPrincipal principal = jwtTokenProvider.verifyAndExtract(token).orElseThrow();
+
+        assertEquals(userId, principal.userId());
+        assertEquals(permissions, principal.permissions());
+    }
+
+    @Test
+    void generateToken_WithoutEmbeddedPermissions_HasNoPermissions() {
+        String token = jwtTokenProvider.generateToken(UUID.randomUUID());
+
+        assertNull(jwtTokenProvider.verifyAndExtract(token).orElseThrow().permissions());
+    }
+
+    @Test
+    void verifyAndExtract_MalformedPermissionsClaim_ReturnsEmpty() {
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .claim(JwtTokenProvider.PERMISSIONS_CLAIM, "not-a-number")
+                .claim(JwtTokenProvider.PERMISSION_INDEX_CLAIM, 1L)
+                .claim(JwtTokenProvider.ROLES_VERSION_CLAIM, 1L)
+                .signWith(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertTrue(jwtTokenProvider.verifyAndExtract(token).isEmpty());
+    }
+
+    @Test
+    void bindTo_CountsVerificationsAndCacheHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtTokenProvider.bindTo(registry);
+        String token = jwtTokenProvider.generateToken(UUID.randomUUID());
+
+        jwtTokenProvider.verifyAndExtract(token);
+        jwtTokenProvider.verifyAndExtract(token);
+        jwtTokenProvider.verifyAndExtract("not-a-valid-jwt-token");
+
+        assertEquals(2, registry.get("jwt.verify").functionTimer().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "jwtVerifiedTokens").tag("result", "hit")
+                .functionCounter().count());
+    }
 }
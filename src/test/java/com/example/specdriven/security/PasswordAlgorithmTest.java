@@ -0,0 +1,116 @@
+package com.example.specdriven.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordAlgorithm.
+ * Tests hashing at a given cost, reading the cost back, upgrade detection and cost scaling.
+ * Hashes use costs below the calibration floor to keep the tests fast.
+ */
+class PasswordAlgorithmTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    private static int lowCost(PasswordAlgorithm algorithm) {
+        return switch (algorithm) {
+            case BCRYPT -> 4;
+            case PBKDF2 -> 1000;
+            case ARGON2 -> 1;
+        };
+    }
+
+    @ParameterizedTest
+    @EnumSource(PasswordAlgorithm.class)
+    void encoder_RoundTrip_MatchesOnlyThePassword(PasswordAlgorithm algorithm) {
+        PasswordEncoder encoder = algorithm.encoder(lowCost(algorithm));
+
+        String hash = encoder.encode(PASSWORD);
+
+        assertTrue(encoder.matches(PASSWORD, hash));
+        assertFalse(encoder.matches("WrongPassword123!", hash));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PasswordAlgorithm.class)
+    void storedCost_ReadsCostOfNewHash(PasswordAlgorithm algorithm) {
+        int cost = lowCost(algorithm);
+
+        String hash = algorithm.encoder(cost).encode(PASSWORD);
+
+        assertEquals(OptionalInt.of(cost), algorithm.storedCost(hash));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PasswordAlgorithm.class)
+    void encoder_OtherCost_VerifiesAndNeedsUpgrade(PasswordAlgorithm algorithm) {
+        int cost = lowCost(algorithm);
+        String hash = algorithm.encoder(cost).encode(PASSWORD);
+        PasswordEncoder higherCost = algorithm.encoder(cost + 1);
+
+        assertTrue(higherCost.matches(PASSWORD, hash));
+        assertTrue(higherCost.upgradeEncoding(hash));
+        assertFalse(algorithm.encoder(cost).upgradeEncoding(hash));
+    }
+
+    @Test
+    void upgradeEncoding_HigherStoredCost_NeedsUpgrade() {
+        String hash = PasswordAlgorithm.BCRYPT.encoder(5).encode(PASSWORD);
+
+        assertTrue(PasswordAlgorithm.BCRYPT.encoder(4).upgradeEncoding(hash));
+    }
+
+    @Test
+    void storedCost_ForeignFormat_IsEmpty() {
+        String bcrypt = PasswordAlgorithm.BCRYPT.encoder(4).encode(PASSWORD);
+
+        assertTrue(PasswordAlgorithm.ARGON2.storedCost(bcrypt).isEmpty());
+        assertTrue(PasswordAlgorithm.PBKDF2.storedCost(bcrypt).isEmpty());
+        assertTrue(PasswordAlgorithm.BCRYPT.storedCost("not-a-hash").isEmpty());
+        assertFalse(PasswordAlgorithm.BCRYPT.encoder(4).upgradeEncoding("not-a-hash"));
+    }
+
+    @Test
+    void pbkdf2_HashWithoutIterations_DoesNotMatch() {
+        assertFalse(PasswordAlgorithm.PBKDF2.encoder(1000).matches(PASSWORD, "abcdef"));
+    }
+
+    @Test
+    void costFor_Bcrypt_AddsOneStepPerDoubling() {
+        long tenMs = 10_000_000L;
+
+        assertEquals(10, PasswordAlgorithm.BCRYPT.costFor(10, tenMs, tenMs));
+        assertEquals(12, PasswordAlgorithm.BCRYPT.costFor(10, tenMs, 4 * tenMs));
+        // Stays within the target rather than rounding up
+        assertEquals(12, PasswordAlgorithm.BCRYPT.costFor(10, tenMs, 7 * tenMs));
+    }
+
+    @Test
+    void costFor_Linear_ScalesWithTarget() {
+        assertEquals(620_000, PasswordAlgorithm.PBKDF2.costFor(310_000, 50_000_000L, 100_000_000L));
+        assertEquals(8, PasswordAlgorithm.ARGON2.costFor(2, 25_000_000L, 100_000_000L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PasswordAlgorithm.class)
+    void costFor_ClampsToBounds(PasswordAlgorithm algorithm) {
+        int base = algorithm.minCost();
+
+        // Slow hardware never goes below the floor, fast hardware never above the ceiling
+        assertEquals(algorithm.minCost(), algorithm.costFor(base, 1_000_000_000L, 1_000_000L));
+        assertEquals(algorithm.maxCost(), algorithm.costFor(base, 1L, 1_000_000_000_000L));
+    }
+
+    @Test
+    void ids_AreDistinct() {
+        assertEquals("bcrypt", PasswordAlgorithm.BCRYPT.id());
+        assertEquals("pbkdf2", PasswordAlgorithm.PBKDF2.id());
+        assertEquals("argon2", PasswordAlgorithm.ARGON2.id());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.specdriven.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordCostCalibrator.
+ * Tests cost selection from measured verification times, using a fake clock.
+ */
+class PasswordCostCalibratorTest {
+
+    /**
+     * A clock that advances by a fixed step on every read, so every sample measures one step.
+     */
+    private static LongSupplier steppingClock(Duration step) {
+        AtomicLong now = new AtomicLong();
+        return () -> now.getAndAdd(step.toNanos());
+    }
+
+    @Test
+    void calibrate_ScalesMeasuredCostToTarget() {
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(steppingClock(Duration.ofMillis(25)));
+
+        PasswordCostCalibrator.Calibration calibration =
+                calibrator.calibrate(PasswordAlgorithm.ARGON2, Duration.ofMillis(100));
+
+        assertEquals(PasswordAlgorithm.ARGON2.minCost(), calibration.baseCost());
+        assertEquals(Duration.ofMillis(25), calibration.baseTime());
+        assertEquals(8, calibration.cost());
+    }
+
+    @Test
+    void calibrate_SlowMachine_KeepsMinimumCost() {
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(steppingClock(Duration.ofSeconds(1)));
+
+        PasswordCostCalibrator.Calibration calibration =
+                calibrator.calibrate(PasswordAlgorithm.ARGON2, Duration.ofMillis(100));
+
+        assertEquals(PasswordAlgorithm.ARGON2.minCost(), calibration.cost());
+    }
+
+    @Test
+    void calibrate_SystemClock_StaysWithinBounds() {
+        PasswordCostCalibrator.Calibration calibration =
+                new PasswordCostCalibrator().calibrate(PasswordAlgorithm.BCRYPT, Duration.ofMillis(50));
+
+        assertTrue(calibration.baseTime().compareTo(Duration.ZERO) > 0);
+        assertTrue(calibration.cost() >= PasswordAlgorithm.BCRYPT.minCost());
+        assertTrue(calibration.cost() <= PasswordAlgorithm.BCRYPT.maxCost());
+    }
+}
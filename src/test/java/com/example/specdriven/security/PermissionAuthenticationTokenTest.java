@@ -0,0 +1,74 @@
+package com.example.specdriven.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PermissionAuthenticationToken.
+ * Tests bitmask permission checks and the decoded authority view.
+ */
+class PermissionAuthenticationTokenTest {
+
+    private PermissionIndex permissionIndex;
+
+    @BeforeEach
+    void setUp() {
+        // Indexed in name order: USER_CREATE = bit 0, USER_DELETE = bit 1, USER_READ = bit 2
+        permissionIndex = new PermissionIndex(List.of("USER_READ", "USER_CREATE", "USER_DELETE"));
+    }
+
+    @Test
+    void hasAllPermissions_AllBitsSet_ReturnsTrue() {
+        PermissionAuthenticationToken token = new PermissionAuthenticationToken(UUID.randomUUID(), 0b101L, permissionIndex);
+
+        assertTrue(token.hasAllPermissions(0b001L));
+        assertTrue(token.hasAllPermissions(0b101L));
+        assertTrue(token.hasAllPermissions(0L));
+    }
+
+    @Test
+    void hasAllPermissions_MissingBit_ReturnsFalse() {
+        PermissionAuthenticationToken token = new PermissionAuthenticationToken(UUID.randomUUID(), 0b101L, permissionIndex);
+
+        assertFalse(token.hasAllPermissions(0b010L));
+        assertFalse(token.hasAllPermissions(0b111L));
+    }
+
+    @Test
+    void getAuthorities_DecodesMask() {
+        PermissionAuthenticationToken token = new PermissionAuthenticationToken(UUID.randomUUID(), 0b101L, permissionIndex);
+
+        assertEquals(
+                List.of(new SimpleGrantedAuthority("USER_CREATE"), new SimpleGrantedAuthority("USER_READ")),
+                List.copyOf(token.getAuthorities()));
+    }
+
+    @Test
+    void getAuthorities_SameMask_SharesDecodedList() {
+        PermissionAuthenticationToken first = new PermissionAuthenticationToken(UUID.randomUUID(), 0b011L, permissionIndex);
+        PermissionAuthenticationToken second = new PermissionAuthenticationToken(UUID.randomUUID(), 0b011L, permissionIndex);
+
+        assertSame(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    void constructor_SetsPrincipalAndAuthenticated() {
+        UUID userId = UUID.randomUUID();
+
+        PermissionAuthenticationToken token = new PermissionAuthenticationToken(userId, 0L, permissionIndex);
+
+        assertTrue(token.isAuthenticated());
+        assertEquals(userId, token.getPrincipal());
+        assertEquals(userId.toString(), token.getName());
+        assertNull(token.getCredentials());
+        assertEquals(0L, token.getPermissionMask());
+        assertTrue(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList().isEmpty());
+    }
+}
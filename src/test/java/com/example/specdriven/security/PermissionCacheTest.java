@@ -0,0 +1,142 @@
+package com.example.specdriven.security;
+
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.domain.PermissionEntity;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.example.specdriven.repository.PermissionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PermissionCache.
+ * Tests read-through caching, event-driven eviction, statistics and meters.
+ */
+@ExtendWith(MockitoExtension.class)
+class PermissionCacheTest {
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    private PermissionCache permissionCache;
+
+    @BeforeEach
+    void setUp() {
+        permissionCache = new PermissionCache(permissionRepository, new CacheConfig());
+    }
+
+    private static PermissionEntity permission(String name) {
+        return new PermissionEntity(UUID.randomUUID(), name, name);
+    }
+
+    @Test
+    void getAuthorities_FirstCall_LoadsFromRepository() {
+        UUID userId = UUID.randomUUID();
+        when(permissionRepository.findByUserId(userId))
+                .thenReturn(List.of(permission("USER_READ"), permission("USER_LIST")));
+
+        List<GrantedAuthority> authorities = permissionCache.getAuthorities(userId);
+
+        assertEquals(List.of(new SimpleGrantedAuthority("USER_READ"), new SimpleGrantedAuthority("USER_LIST")),
+                authorities);
+        verify(permissionRepository).findByUserId(userId);
+    }
+
+    @Test
+    void getAuthorities_RepeatedCalls_HitsCache() {
+        UUID userId = UUID.randomUUID();
+        when(permissionRepository.findByUserId(userId)).thenReturn(List.of(permission("USER_READ")));
+
+        permissionCache.getAuthorities(userId);
+        permissionCache.getAuthorities(userId);
+        permissionCache.getAuthorities(userId);
+
+        verify(permissionRepository, times(1)).findByUserId(userId);
+        assertEquals(2, permissionCache.stats().hitCount());
+        assertEquals(1, permissionCache.stats().missCount());
+    }
+
+    @Test
+    void getAuthorities_UserWithoutRoles_CachesEmptyList() {
+        UUID userId = UUID.randomUUID();
+        when(permissionRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+
+        assertTrue(permissionCache.getAuthorities(userId).isEmpty());
+        assertTrue(permissionCache.getAuthorities(userId).isEmpty());
+
+        verify(permissionRepository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void getAuthorities_ReturnsImmutableList() {
+        UUID userId = UUID.randomUUID();
+        when(permissionRepository.findByUserId(userId)).thenReturn(List.of(permission("USER_READ")));
+
+        List<GrantedAuthority> authorities = permissionCache.getAuthorities(userId);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> authorities.add(new SimpleGrantedAuthority("USER_DELETE")));
+    }
+
+    @Test
+    void onUserRolesChanged_EvictsOnlyThatUser() {
+        UUID changedUser = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        when(permissionRepository.findByUserId(changedUser))
+                .thenReturn(List.of(permission("USER_READ")))
+                .thenReturn(List.of(permission("USER_READ"), permission("USER_DELETE")));
+        when(permissionRepository.findByUserId(otherUser)).thenReturn(List.of(permission("USER_READ")));
+        permissionCache.getAuthorities(changedUser);
+        permissionCache.getAuthorities(otherUser);
+
+        permissionCache.onUserRolesChanged(new UserRolesChangedEvent(changedUser, UUID.randomUUID(), true));
+
+        assertEquals(2, permissionCache.getAuthorities(changedUser).size());
+        permissionCache.getAuthorities(otherUser);
+        verify(permissionRepository, times(2)).findByUserId(changedUser);
+        verify(permissionRepository, times(1)).findByUserId(otherUser);
+    }
+
+    @Test
+    void onUserDeleted_EvictsUser() {
+        UUID userId = UUID.randomUUID();
+        when(permissionRepository.findByUserId(userId))
+                .thenReturn(List.of(permission("USER_READ")))
+                .thenReturn(Collections.emptyList());
+        permissionCache.getAuthorities(userId);
+
+        permissionCache.onUserDeleted(new UserDeletedEvent(userId, List.of()));
+
+        assertTrue(permissionCache.getAuthorities(userId).isEmpty());
+    }
+
+    @Test
+    void bindTo_TimesLoadsAndCountsHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        permissionCache.bindTo(registry);
+        UUID userId = UUID.randomUUID();
+        when(permissionRepository.findByUserId(userId)).thenReturn(List.of(permission("USER_READ")));
+
+        permissionCache.getAuthorities(userId);
+        permissionCache.getAuthorities(userId);
+
+        assertEquals(1, registry.get("permissions.lookup").functionTimer().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "permissions").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "permissions").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
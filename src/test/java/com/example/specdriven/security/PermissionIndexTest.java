@@ -0,0 +1,118 @@
+package com.example.specdriven.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PermissionIndex.
+ * Tests encoding permission sets as bitmasks and decoding them back.
+ */
+class PermissionIndexTest {
+
+    private PermissionIndex permissionIndex;
+
+    @BeforeEach
+    void setUp() {
+        permissionIndex = new PermissionIndex(List.of("USER_READ", "USER_CREATE", "USER_DELETE"));
+    }
+
+    private static List<GrantedAuthority> authorities(String... names) {
+        return List.of(names).stream().map(SimpleGrantedAuthority::new).map(GrantedAuthority.class::cast).toList();
+    }
+
+    @Test
+    void toMask_RoundTrip_ReturnsSameAuthorities() {
+        List<GrantedAuthority> authorities = authorities("USER_READ", "USER_DELETE");
+
+        OptionalLong mask = permissionIndex.toMask(authorities);
+
+        assertTrue(mask.isPresent());
+        assertEquals(2, Long.bitCount(mask.getAsLong()));
+        assertEquals(
+                authorities("USER_DELETE", "USER_READ"),
+                permissionIndex.toAuthorities(mask.getAsLong()));
+    }
+
+    @Test
+    void toMask_NoAuthorities_ReturnsZero() {
+        assertEquals(OptionalLong.of(0L), permissionIndex.toMask(List.of()));
+        assertTrue(permissionIndex.toAuthorities(0L).isEmpty());
+    }
+
+    @Test
+    void toMask_UnknownPermission_ReturnsEmpty() {
+        assertTrue(permissionIndex.toMask(authorities("USER_READ", "NOT_INDEXED")).isEmpty());
+    }
+
+    @Test
+    void toAuthorities_BitsOutsideIndex_AreIgnored() {
+        long mask = permissionIndex.toMask(authorities("USER_READ")).getAsLong();
+
+        assertEquals(authorities("USER_READ"), permissionIndex.toAuthorities(mask | (1L << 40)));
+    }
+
+    @Test
+    void toAuthorities_ReturnsImmutableList() {
+        List<GrantedAuthority> decoded = permissionIndex.toAuthorities(0b111L);
+
+        assertEquals(3, decoded.size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> decoded.add(new SimpleGrantedAuthority("USER_LIST")));
+    }
+
+    @Test
+    void bitOf_KnownPermission_ReturnsSingleBitMatchingToMask() {
+        long bit = permissionIndex.bitOf("USER_CREATE");
+
+        assertEquals(1, Long.bitCount(bit));
+        assertEquals(OptionalLong.of(bit), permissionIndex.toMask(authorities("USER_CREATE")));
+    }
+
+    @Test
+    void bitOf_UnknownPermission_ReturnsZero() {
+        assertEquals(0L, permissionIndex.bitOf("NOT_INDEXED"));
+    }
+
+    @Test
+    void id_DiffersBetweenIndexesOfSamePermissions() {
+        PermissionIndex other = new PermissionIndex(List.of("USER_READ", "USER_CREATE", "USER_DELETE"));
+
+        assertNotEquals(permissionIndex.id(), other.id());
+    }
+
+    @Test
+    void constructor_DuplicatePermissionNames_IndexedOnce() {
+        assertEquals(1, new PermissionIndex(List.of("USER_READ", "USER_READ")).size());
+    }
+
+    @Test
+    void constructor_TooManyPermissions_ThrowsIllegalStateException() {
+        List<String> names = IntStream.rangeClosed(0, PermissionIndex.MAX_PERMISSIONS)
+                .mapToObj(i -> "PERMISSION_" + i)
+                .toList();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new PermissionIndex(names));
+        assertTrue(exception.getMessage().contains("Too many permissions"));
+    }
+
+    @Test
+    void constructor_ExactlyMaxPermissions_UsesSignBit() {
+        PermissionIndex fullIndex = new PermissionIndex(IntStream.range(0, PermissionIndex.MAX_PERMISSIONS)
+                .mapToObj(i -> String.format("PERMISSION_%02d", i))
+                .toList());
+
+        long mask = fullIndex.toMask(authorities("PERMISSION_63")).getAsLong();
+
+        assertEquals(Long.MIN_VALUE, mask);
+        assertEquals(authorities("PERMISSION_63"), fullIndex.toAuthorities(mask));
+    }
+}
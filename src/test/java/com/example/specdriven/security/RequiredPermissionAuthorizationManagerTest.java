@@ -0,0 +1,148 @@
+package com.example.specdriven.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RequiredPermissionAuthorizationManager.
+ * Tests compiled bitmask decisions and the authority-name fallback.
+ */
+@ExtendWith(MockitoExtension.class)
+class RequiredPermissionAuthorizationManagerTest {
+
+    @Mock
+    private MethodInvocation invocation;
+
+    private PermissionIndex permissionIndex;
+    private RequiredPermissionAuthorizationManager manager;
+
+    static class Guarded {
+
+        @RequiresPermission("USER_READ")
+        public void read() {
+        }
+
+        @RequiresPermission({"USER_READ", "USER_DELETE"})
+        public void readAndDelete() {
+        }
+
+        @RequiresPermission("ADDED_LATER")
+        public void notIndexed() {
+        }
+
+        public void unannotated() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        permissionIndex = new PermissionIndex(List.of("USER_READ", "USER_DELETE"));
+        manager = new RequiredPermissionAuthorizationManager(() -> permissionIndex);
+    }
+
+    private boolean decide(String methodName, Authentication authentication) throws Exception {
+        Method method = Guarded.class.getMethod(methodName);
+        when(invocation.getMethod()).thenReturn(method);
+        lenient().when(invocation.getThis()).thenReturn(new Guarded());
+        return manager.check(() -> authentication, invocation).isGranted();
+    }
+
+    private PermissionAuthenticationToken bitsetToken(String... permissions) {
+        long mask = permissionIndex.toMask(AuthorityUtils.createAuthorityList(permissions)).getAsLong();
+        return new PermissionAuthenticationToken(UUID.randomUUID(), mask, permissionIndex);
+    }
+
+    @Test
+    void check_BitsetTokenWithPermission_Granted() throws Exception {
+        assertTrue(decide("read", bitsetToken("USER_READ")));
+    }
+
+    @Test
+    void check_BitsetTokenWithoutPermission_Denied() throws Exception {
+        assertFalse(decide("read", bitsetToken("USER_DELETE")));
+    }
+
+    @Test
+    void check_MultiplePermissions_RequiresAll() throws Exception {
+        assertFalse(decide("readAndDelete", bitsetToken("USER_READ")));
+        assertTrue(decide("readAndDelete", bitsetToken("USER_READ", "USER_DELETE")));
+    }
+
+    @Test
+    void check_AuthorityListAuthentication_UsesNames() throws Exception {
+        Authentication granted = new UsernamePasswordAuthenticationToken(
+                UUID.randomUUID(), null, List.of(new SimpleGrantedAuthority("USER_READ")));
+        Authentication denied = new UsernamePasswordAuthenticationToken(
+                UUID.randomUUID(), null, List.of(new SimpleGrantedAuthority("USER_DELETE")));
+
+        assertTrue(decide("read", granted));
+        assertFalse(decide("read", denied));
+    }
+
+    @Test
+    void check_PermissionNotInIndex_FallsBackToNames() throws Exception {
+        Authentication granted = new UsernamePasswordAuthenticationToken(
+                UUID.randomUUID(), null, List.of(new SimpleGrantedAuthority("ADDED_LATER")));
+
+        assertTrue(decide("notIndexed", granted));
+        assertFalse(decide("notIndexed", bitsetToken("USER_READ", "USER_DELETE")));
+    }
+
+    @Test
+    void check_AnonymousOrMissingAuthentication_Denied() throws Exception {
+        Authentication anonymous = new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertFalse(decide("read", anonymous));
+        assertFalse(decide("read", null));
+    }
+
+    @Test
+    void check_UnauthenticatedToken_Denied() throws Exception {
+        PermissionAuthenticationToken token = bitsetToken("USER_READ");
+        token.setAuthenticated(false);
+
+        assertFalse(decide("read", token));
+    }
+
+    @Test
+    void check_IndexReplaced_RecompilesAgainstNewIndex() throws Exception {
+        assertTrue(decide("read", bitsetToken("USER_READ")));
+
+        // USER_READ moves from bit 1 to bit 2
+        permissionIndex = new PermissionIndex(List.of("USER_CREATE", "USER_DELETE", "USER_READ"));
+
+        assertTrue(decide("read", bitsetToken("USER_READ")));
+        assertFalse(decide("read", bitsetToken("USER_DELETE")));
+    }
+
+    @Test
+    void check_TokenFromPreviousIndex_UsesAuthorityNames() throws Exception {
+        PermissionAuthenticationToken oldToken = bitsetToken("USER_READ");
+        permissionIndex = new PermissionIndex(List.of("USER_CREATE", "USER_DELETE", "USER_READ"));
+
+        assertTrue(decide("read", oldToken));
+        assertFalse(decide("readAndDelete", oldToken));
+    }
+
+    @Test
+    void check_UnannotatedMethod_ThrowsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> decide("unannotated", bitsetToken("USER_READ")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.specdriven.security;
+
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.config.JwtConfig;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RolesVersionRegistry.
+ * Tests staleness checks for permissions embedded in tokens, including once change records
+ * have been evicted.
+ */
+class RolesVersionRegistryTest {
+
+    private RolesVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RolesVersionRegistry(new JwtConfig(), new CacheConfig());
+    }
+
+    private JwtPrincipal.EmbeddedPermissions stamped() {
+        return new JwtPrincipal.EmbeddedPermissions(0b11L, 1L, registry.currentVersion());
+    }
+
+    @Test
+    void isCurrent_NoChanges_ReturnsTrue() {
+        assertTrue(registry.isCurrent(UUID.randomUUID(), stamped()));
+    }
+
+    @Test
+    void isCurrent_RolesChangedAfterStamp_ReturnsFalse() {
+        UUID userId = UUID.randomUUID();
+        JwtPrincipal.EmbeddedPermissions permissions = stamped();
+
+        registry.onUserRolesChanged(new UserRolesChangedEvent(userId, UUID.randomUUID(), true));
+
+        assertFalse(registry.isCurrent(userId, permissions));
+    }
+
+    @Test
+    void isCurrent_RolesChangedBeforeStamp_ReturnsTrue() {
+        UUID userId = UUID.randomUUID();
+        registry.onUserRolesChanged(new UserRolesChangedEvent(userId, UUID.randomUUID(), true));
+
+        assertTrue(registry.isCurrent(userId, stamped()));
+    }
+
+    @Test
+    void isCurrent_OtherUserChanged_ReturnsTrue() {
+        UUID userId = UUID.randomUUID();
+        JwtPrincipal.EmbeddedPermissions permissions = stamped();
+
+        registry.onUserRolesChanged(new UserRolesChangedEvent(UUID.randomUUID(), UUID.randomUUID(), true));
+
+        assertTrue(registry.isCurrent(userId, permissions));
+    }
+
+    @Test
+    void isCurrent_UserDeleted_ReturnsFalse() {
+        UUID userId = UUID.randomUUID();
+        JwtPrincipal.EmbeddedPermissions permissions = stamped();
+
+        registry.onUserDeleted(new UserDeletedEvent(userId, List.of()));
+
+        assertFalse(registry.isCurrent(userId, permissions));
+    }
+
+    @Test
+    void isCurrent_ChangeEvicted_StaleForEveryEarlierToken() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setRolesVersionsMaxSize(2);
+        registry = new RolesVersionRegistry(new JwtConfig(), cacheConfig);
+        UUID unchangedUser = UUID.randomUUID();
+        JwtPrincipal.EmbeddedPermissions beforeChanges = stamped();
+
+        for (int i = 0; i < 10; i++) {
+            registry.bump(UUID.randomUUID());
+        }
+
+        // Some evicted user's change may postdate the token, so no earlier token is trusted
+        assertFalse(registry.isCurrent(unchangedUser, beforeChanges));
+        assertTrue(registry.isCurrent(unchangedUser, stamped()));
+    }
+
+    @Test
+    void onUserRolesChanged_InTransaction_BumpsAgainAfterCompletion() {
+        UUID userId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.onUserRolesChanged(new UserRolesChangedEvent(userId, UUID.randomUUID(), true));
+            // A login that stamps and reads permissions before the commit
+            JwtPrincipal.EmbeddedPermissions beforeCommit = stamped();
+            assertTrue(registry.isCurrent(userId, beforeCommit));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+
+            assertFalse(registry.isCurrent(userId, beforeCommit));
+            assertTrue(registry.isCurrent(userId, stamped()));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
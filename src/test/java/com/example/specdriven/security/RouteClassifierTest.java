@@ -0,0 +1,152 @@
+package com.example.specdriven.security;
+
+import com.example.specdriven.security.RouteClassifier.Route;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RouteClassifier.
+ * Tests the routes read from the OpenAPI document, paths beneath and outside them, the
+ * operational and development-only routes, and caching of the route on the request.
+ */
+class RouteClassifierTest {
+
+    private static RouteClassifier classifier(boolean production) {
+        return new RouteClassifier(new ClassPathResource("openapi.yaml"), production);
+    }
+
+    private static RouteClassifier classifier(String spec) {
+        return new RouteClassifier(new ByteArrayResource(spec.getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    @Test
+    void classify_Ping_OpenAndNotGated() {
+        assertEquals(Route.OPEN, classifier(false).classify("/ping"));
+    }
+
+    @Test
+    void classify_Login_PublicButGated() {
+        assertEquals(Route.GATED_PUBLIC, classifier(false).classify("/login"));
+    }
+
+    @Test
+    void classify_UsersPaths_ProtectedAndGated() {
+        RouteClassifier classifier = classifier(false);
+
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/users"));
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/users/123"));
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/users/123/roles"));
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/users/123/roles/ADMIN"));
+    }
+
+    @Test
+    void classify_BeneathGatedPath_StaysGated() {
+        RouteClassifier classifier = classifier(false);
+
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/users/123/extra"));
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/users/123/roles/ADMIN/extra"));
+        // Beneath a public path is not public
+        assertEquals(Route.GATED_PROTECTED, classifier.classify("/login/extra"));
+        assertEquals(Route.PROTECTED, classifier.classify("/ping/extra"));
+    }
+
+    @Test
+    void classify_UnknownPaths_ProtectedAndNotGated() {
+        RouteClassifier classifier = classifier(false);
+
+        assertEquals(Route.PROTECTED, classifier.classify("/health"));
+        assertEquals(Route.PROTECTED, classifier.classify("/api/something"));
+        assertEquals(Route.PROTECTED, classifier.classify("/usersx"));
+        assertEquals(Route.PROTECTED, classifier.classify("/"));
+        assertEquals(Route.PROTECTED, classifier.classify(""));
+    }
+
+    @Test
+    void classify_NullPath_Protected() {
+        assertEquals(Route.PROTECTED, classifier(false).classify(null));
+    }
+
+    @Test
+    void classify_EmptySegments_Ignored() {
+        RouteClassifier classifier = classifier(false);
+
+        assertEquals(Route.OPEN, classifier.classify("/ping/"));
+        assertEquals(Route.GATED_PUBLIC, classifier.classify("//login"));
+    }
+
+    @Test
+    void classify_OperationalRoutes_OpenInProduction() {
+        RouteClassifier classifier = classifier(true);
+
+        assertEquals(Route.OPEN, classifier.classify("/actuator/health"));
+        assertEquals(Route.OPEN, classifier.classify("/actuator/health/liveness"));
+        assertEquals(Route.PROTECTED, classifier.classify("/actuator/prometheus"));
+        assertEquals(Route.PROTECTED, classifier.classify("/actuator"));
+        assertEquals(Route.PROTECTED, classifier.classify("/actuator/env"));
+    }
+
+    @Test
+    void classify_DevelopmentRoutes_OpenOutsideProduction() {
+        RouteClassifier classifier = classifier(false);
+
+        assertEquals(Route.OPEN, classifier.classify("/test/reset"));
+        assertEquals(Route.OPEN, classifier.classify("/h2-console"));
+        assertEquals(Route.OPEN, classifier.classify("/h2-console/login.do"));
+        assertEquals(Route.OPEN, classifier.classify("/actuator/prometheus"));
+    }
+
+    @Test
+    void classify_DevelopmentRoutes_ProtectedInProduction() {
+        RouteClassifier classifier = classifier(true);
+
+        assertEquals(Route.PROTECTED, classifier.classify("/test/reset"));
+        assertEquals(Route.PROTECTED, classifier.classify("/h2-console"));
+        assertEquals(Route.OPEN, classifier.classify("/ping"));
+    }
+
+    @Test
+    void route_CachesRouteOnRequest() {
+        RouteClassifier classifier = classifier(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/123");
+
+        assertEquals(Route.GATED_PROTECTED, classifier.route(request));
+        assertEquals(Route.GATED_PROTECTED, request.getAttribute(RouteClassifier.ROUTE_ATTRIBUTE));
+
+        // Later reads use the cached route rather than the path
+        request.setRequestURI("/ping");
+        assertEquals(Route.GATED_PROTECTED, classifier.route(request));
+    }
+
+    @Test
+    void constructor_PathWithMixedSecurity_Protected() {
+        RouteClassifier classifier = classifier("""
+                paths:
+                  /items:
+                    get:
+                      security: []
+                    post:
+                      operationId: createItem
+                """);
+
+        assertEquals(Route.PROTECTED, classifier.classify("/items"));
+    }
+
+    @Test
+    void constructor_UnknownFeatureFlag_Throws() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> classifier("""
+                paths:
+                  /items:
+                    x-feature-flag: itemsApi
+                    get:
+                      security: []
+                """));
+
+        assertTrue(exception.getMessage().contains("itemsApi"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.specdriven.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TimedPasswordEncoder.
+ * Tests delegation, and that hashing and verification are timed even when they throw.
+ */
+@ExtendWith(MockitoExtension.class)
+class TimedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private TimedPasswordEncoder encoder;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new TimedPasswordEncoder(delegate);
+        registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+    }
+
+    @Test
+    void encode_DelegatesAndIsTimed() {
+        when(delegate.encode("secret")).thenReturn("{bcrypt}hash");
+
+        assertEquals("{bcrypt}hash", encoder.encode("secret"));
+
+        assertEquals(1, registry.get("password.encoder.encode").functionTimer().count());
+        assertEquals(0, registry.get("password.encoder.matches").functionTimer().count());
+    }
+
+    @Test
+    void matches_DelegatesAndIsTimed() {
+        when(delegate.matches("secret", "{bcrypt}hash")).thenReturn(true);
+        when(delegate.matches("wrong", "{bcrypt}hash")).thenReturn(false);
+
+        assertTrue(encoder.matches("secret", "{bcrypt}hash"));
+        assertFalse(encoder.matches("wrong", "{bcrypt}hash"));
+
+        assertEquals(2, registry.get("password.encoder.matches").functionTimer().count());
+    }
+
+    @Test
+    void matches_DelegateThrows_StillTimed() {
+        when(delegate.matches("secret", "{unknown}hash")).thenThrow(new IllegalArgumentException("no encoder"));
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.matches("secret", "{unknown}hash"));
+
+        assertEquals(1, registry.get("password.encoder.matches").functionTimer().count());
+    }
+
+    @Test
+    void upgradeEncoding_Delegates() {
+        when(delegate.upgradeEncoding("{bcrypt}old")).thenReturn(true);
+        when(delegate.upgradeEncoding("{bcrypt}new")).thenReturn(false);
+
+        assertTrue(encoder.upgradeEncoding("{bcrypt}old"));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}new"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.PasswordConfig;
+import com.example.specdriven.config.PasswordEncoderConfig;
+import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.security.PasswordAlgorithm;
+import com.example.specdriven.service.DummyPasswordHash.Profile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DummyPasswordHash.
+ * Tests that unknown usernames are verified at the algorithm and cost of most stored hashes
+ * rather than the configured ones, resampling, and reading the profile of stored hashes.
+ */
+@ExtendWith(MockitoExtension.class)
+class DummyPasswordHashTest {
+
+    private static final int CONFIGURED_COST = 6;
+    private static final int LEGACY_COST = 4;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PasswordConfig passwordConfig;
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        passwordConfig = new PasswordConfig();
+        passwordConfig.getEncoding().setCost(CONFIGURED_COST);
+        passwordEncoder = new PasswordEncoderConfig().passwordEncoder(passwordConfig);
+    }
+
+    private DummyPasswordHash dummyPasswordHash() {
+        return new DummyPasswordHash(userRepository, passwordEncoder, passwordConfig);
+    }
+
+    private static String legacy(String password) {
+        return new BCryptPasswordEncoder(LEGACY_COST).encode(password);
+    }
+
+    @Test
+    void current_UnknownUserAndWrongPassword_DoSameWork() {
+        // Existing users still have unprefixed hashes at the old cost; the encoder hashes at another
+        String realUserHash = legacy("RealPassword123!");
+        when(userRepository.findPasswordHashes(any()))
+                .thenReturn(List.of(realUserHash, legacy("a"), legacy("b"), passwordEncoder.encode("c")));
+
+        String dummy = dummyPasswordHash().current();
+
+        // Same algorithm and cost, so the same number of rounds for either failure
+        assertEquals(Profile.of(realUserHash), Profile.of(dummy));
+        assertEquals(Optional.of(new Profile(PasswordAlgorithm.BCRYPT, LEGACY_COST)), Profile.of(dummy));
+        // Both fail by verifying a hash, not by rejecting its format
+        assertFalse(passwordEncoder.matches("WrongPassword", realUserHash));
+        assertFalse(passwordEncoder.matches("WrongPassword", dummy));
+    }
+
+    @Test
+    void current_NoStoredHashes_UsesConfiguredEncoder() {
+        when(userRepository.findPasswordHashes(any())).thenReturn(List.of());
+
+        String dummy = dummyPasswordHash().current();
+
+        assertEquals(Optional.of(new Profile(PasswordAlgorithm.BCRYPT, CONFIGURED_COST)), Profile.of(dummy));
+    }
+
+    @Test
+    void current_WithinMaxAge_SamplesOnce() {
+        when(userRepository.findPasswordHashes(any())).thenReturn(List.of(legacy("a")));
+        DummyPasswordHash dummyPasswordHash = dummyPasswordHash();
+
+        String first = dummyPasswordHash.current();
+        String second = dummyPasswordHash.current();
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findPasswordHashes(any());
+    }
+
+    @Test
+    void current_AfterMaxAge_FollowsRehashedPopulation() {
+        passwordConfig.getEncoding().setDummyMaxAge(Duration.ZERO);
+        when(userRepository.findPasswordHashes(any()))
+                .thenReturn(List.of(legacy("a"), legacy("b")))
+                .thenReturn(List.of(legacy("a"), passwordEncoder.encode("b"), passwordEncoder.encode("c")));
+        DummyPasswordHash dummyPasswordHash = dummyPasswordHash();
+
+        assertEquals(LEGACY_COST, Profile.of(dummyPasswordHash.current()).orElseThrow().cost());
+        assertEquals(CONFIGURED_COST, Profile.of(dummyPasswordHash.current()).orElseThrow().cost());
+    }
+
+    @Test
+    void resample_RepositoryFails_KeepsPreviousHash() {
+        when(userRepository.findPasswordHashes(any()))
+                .thenReturn(List.of(legacy("a")))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        DummyPasswordHash dummyPasswordHash = dummyPasswordHash();
+        String before = dummyPasswordHash.current();
+
+        dummyPasswordHash.resample();
+
+        assertSame(before, dummyPasswordHash.current());
+    }
+
+    @Test
+    void resample_UnreadableHashesIgnored() {
+        when(userRepository.findPasswordHashes(any()))
+                .thenReturn(List.of("plaintext", "{noop}secret", "{bcrypt", legacy("a")));
+
+        String dummy = dummyPasswordHash().current();
+
+        assertEquals(Optional.of(new Profile(PasswordAlgorithm.BCRYPT, LEGACY_COST)), Profile.of(dummy));
+    }
+
+    @Test
+    void profile_ReadsEachAlgorithm() {
+        String pbkdf2 = "{pbkdf2}" + PasswordAlgorithm.PBKDF2.encoder(1000).encode("secret");
+        String argon2 = "{argon2}" + PasswordAlgorithm.ARGON2.encoder(1).encode("secret");
+
+        assertEquals(Optional.of(new Profile(PasswordAlgorithm.PBKDF2, 1000)), Profile.of(pbkdf2));
+        assertEquals(Optional.of(new Profile(PasswordAlgorithm.ARGON2, 1)), Profile.of(argon2));
+        assertEquals(Optional.of(new Profile(PasswordAlgorithm.BCRYPT, LEGACY_COST)),
+                Profile.of("{bcrypt}" + legacy("secret")));
+        assertEquals(Optional.empty(), Profile.of(null));
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.specdriven.service;
 
 import com.example.specdriven.config.FeatureFlagConfig;
+import com.example.specdriven.security.RouteClassifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -24,7 +26,8 @@ class FeatureFlagServiceTest {
 
     @BeforeEach
     void setUp() {
-        featureFlagService = new FeatureFlagService(featureFlagConfig);
+        featureFlagService = new FeatureFlagService(
+                featureFlagConfig, new RouteClassifier(new ClassPathResource("openapi.yaml"), false));
     }
 
     @Test
@@ -0,0 +1,141 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.LoginConfig;
+import com.example.specdriven.exception.AuthenticationException;
+import com.example.specdriven.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoginBulkhead.
+ * Tests execution on the worker pool, rejection when saturated, Retry-After and meters.
+ */
+class LoginBulkheadTest {
+
+    private LoginBulkhead loginBulkhead;
+    private ExecutorService callers;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+        if (loginBulkhead != null) {
+            loginBulkhead.shutdown();
+        }
+    }
+
+    private static LoginConfig config(int threads, int queueCapacity, Duration initialServiceTime) {
+        LoginConfig loginConfig = new LoginConfig();
+        loginConfig.getBulkhead().setThreads(threads);
+        loginConfig.getBulkhead().setQueueCapacity(queueCapacity);
+        loginConfig.getBulkhead().setInitialServiceTime(initialServiceTime);
+        return loginConfig;
+    }
+
+    private Boolean blockingVerification() throws InterruptedException {
+        started.countDown();
+        return release.await(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Occupy the single worker and fill the single queue slot.
+     */
+    private void saturate() throws Exception {
+        callers = Executors.newFixedThreadPool(2);
+        callers.submit(() -> loginBulkhead.execute(this::blockingVerification));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        callers.submit(() -> loginBulkhead.execute(() -> true));
+        for (int i = 0; i < 100 && loginBulkhead.stats().queueDepth() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, loginBulkhead.stats().queueDepth());
+    }
+
+    @Test
+    void execute_RunsOnLoginWorker() {
+        loginBulkhead = new LoginBulkhead(config(2, 4, Duration.ofMillis(100)));
+
+        String thread = loginBulkhead.execute(() -> Thread.currentThread().getName());
+
+        assertTrue(thread.startsWith("login-"), thread);
+        assertEquals(1, loginBulkhead.stats().waits());
+    }
+
+    @Test
+    void execute_VerificationThrows_PropagatesException() {
+        loginBulkhead = new LoginBulkhead(config(1, 1, Duration.ofMillis(100)));
+
+        assertThrows(AuthenticationException.class, () -> loginBulkhead.execute(() -> {
+            throw new AuthenticationException("Invalid username or password");
+        }));
+    }
+
+    @Test
+    void execute_Saturated_RejectsImmediatelyWithRetryAfter() throws Exception {
+        loginBulkhead = new LoginBulkhead(config(1, 1, Duration.ofSeconds(1)));
+        saturate();
+
+        long start = System.nanoTime();
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> loginBulkhead.execute(() -> true));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(500)) < 0);
+        // One running and one queued ahead of the retry, one worker, one second each
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        assertEquals(1, loginBulkhead.stats().rejected());
+    }
+
+    @Test
+    void execute_AfterSaturation_AcceptsAgain() throws Exception {
+        loginBulkhead = new LoginBulkhead(config(1, 1, Duration.ofMillis(100)));
+        saturate();
+        assertThrows(ServiceUnavailableException.class, () -> loginBulkhead.execute(() -> true));
+
+        release.countDown();
+
+        assertTrue(loginBulkhead.execute(() -> true));
+    }
+
+    @Test
+    void retryAfter_TracksMeasuredServiceTime() {
+        loginBulkhead = new LoginBulkhead(config(1, 1, Duration.ofSeconds(10)));
+
+        for (int i = 0; i < 100; i++) {
+            loginBulkhead.execute(() -> true);
+        }
+
+        // Fast verifications pull the estimate far below the initial ten seconds
+        assertTrue(loginBulkhead.retryAfter().compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void bindTo_ExposesQueueRejectionsAndWaits() throws Exception {
+        loginBulkhead = new LoginBulkhead(config(1, 1, Duration.ofMillis(100)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        loginBulkhead.bindTo(registry);
+        saturate();
+        assertThrows(ServiceUnavailableException.class, () -> loginBulkhead.execute(() -> true));
+
+        assertEquals(1.0, registry.get("login.bulkhead.queue.depth").gauge().value());
+        assertEquals(1.0, registry.get("login.bulkhead.active").gauge().value());
+        assertEquals(1.0, registry.get("login.bulkhead.rejected").functionCounter().count());
+
+        release.countDown();
+        loginBulkhead.execute(() -> true);
+        assertTrue(registry.get("login.bulkhead.wait").functionTimer().count() >= 2);
+    }
+}
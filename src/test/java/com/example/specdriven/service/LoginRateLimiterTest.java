@@ -0,0 +1,213 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.LoginConfig;
+import com.example.specdriven.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoginRateLimiter.
+ * Tests bursts, refill, Retry-After, key independence and concurrent acquisition, using a
+ * fake clock.
+ */
+class LoginRateLimiterTest {
+
+    private static final String ADDRESS = "192.0.2.1";
+
+    private final AtomicLong now = new AtomicLong();
+    private LoginConfig loginConfig;
+
+    @BeforeEach
+    void setUp() {
+        loginConfig = new LoginConfig();
+        loginConfig.getRateLimit().setUsername(new LoginConfig.Bucket(3, Duration.ofSeconds(10)));
+        loginConfig.getRateLimit().setAddress(new LoginConfig.Bucket(100, Duration.ofMillis(10)));
+    }
+
+    private LoginRateLimiter limiter() {
+        return new LoginRateLimiter(loginConfig, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void acquire_WithinCapacity_Admits() {
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+
+        assertEquals(0, limiter.stats().rejectedByUsername());
+    }
+
+    @Test
+    void acquire_OverCapacity_RejectsWithTimeToNextToken() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+        advance(Duration.ofSeconds(4));
+
+        TooManyRequestsException exception =
+                assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", ADDRESS));
+
+        assertEquals(Duration.ofSeconds(6), exception.getRetryAfter());
+        assertEquals(1, limiter.stats().rejectedByUsername());
+    }
+
+    @Test
+    void acquire_AfterRefillInterval_AdmitsOneMore() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+
+        advance(Duration.ofSeconds(10));
+        limiter.acquire("alice", ADDRESS);
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", ADDRESS));
+    }
+
+    @Test
+    void acquire_LongIdle_RefillsOnlyToCapacity() {
+        LoginRateLimiter limiter = limiter();
+        limiter.acquire("alice", ADDRESS);
+
+        advance(Duration.ofHours(1));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", ADDRESS));
+    }
+
+    @Test
+    void acquire_RejectedAttempt_DoesNotConsume() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", ADDRESS));
+        }
+
+        // Hammering while limited does not push the next admission further out
+        advance(Duration.ofSeconds(10));
+        limiter.acquire("alice", ADDRESS);
+    }
+
+    @Test
+    void acquire_UsernamesLimitedIndependently() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+
+        limiter.acquire("bob", ADDRESS);
+    }
+
+    @Test
+    void acquire_SameUsernameFromOtherAddresses_StillLimited() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "192.0.2." + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", "198.51.100.1"));
+    }
+
+    @Test
+    void acquire_ManyUsernamesFromOneAddress_LimitedByAddress() {
+        loginConfig.getRateLimit().setAddress(new LoginConfig.Bucket(5, Duration.ofSeconds(1)));
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user" + i, ADDRESS);
+        }
+
+        TooManyRequestsException exception =
+                assertThrows(TooManyRequestsException.class, () -> limiter.acquire("user5", ADDRESS));
+
+        assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+        assertEquals(1, limiter.stats().rejectedByAddress());
+        assertEquals(0, limiter.stats().rejectedByUsername());
+        limiter.acquire("user5", "198.51.100.1");
+    }
+
+    @Test
+    void acquire_Disabled_AdmitsEverything() {
+        loginConfig.getRateLimit().setEnabled(false);
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+
+        assertEquals(0, limiter.stats().rejectedByUsername());
+    }
+
+    @Test
+    void acquire_Concurrent_AdmitsExactlyCapacity() throws Exception {
+        loginConfig.getRateLimit().setUsername(new LoginConfig.Bucket(50, Duration.ofHours(1)));
+        loginConfig.getRateLimit().setAddress(new LoginConfig.Bucket(10_000, Duration.ofMillis(1)));
+        LoginRateLimiter limiter = limiter();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        limiter.acquire("alice", ADDRESS);
+                        admitted.incrementAndGet();
+                    } catch (TooManyRequestsException ex) {
+                        // Expected for attempts beyond the capacity
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, admitted.get());
+        assertEquals(150, limiter.stats().rejectedByUsername());
+    }
+
+    @Test
+    void bindTo_RegistersRejectionsAndBucketCounts() {
+        LoginRateLimiter limiter = limiter();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", ADDRESS);
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", ADDRESS));
+
+        assertEquals(1.0, registry.get("login.rate-limit.rejected").tag("key", "username").functionCounter().count());
+        assertEquals(0.0, registry.get("login.rate-limit.rejected").tag("key", "address").functionCounter().count());
+        assertEquals(1.0, registry.get("login.rate-limit.buckets").tag("key", "username").gauge().value());
+    }
+}
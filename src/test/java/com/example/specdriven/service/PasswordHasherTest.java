@@ -0,0 +1,118 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.PasswordConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHasher.
+ * Tests hashing on the dedicated executor, caller-runs overflow and error propagation.
+ */
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    private static PasswordConfig config(int threads, int queueCapacity) {
+        PasswordConfig passwordConfig = new PasswordConfig();
+        passwordConfig.getHashing().setThreads(threads);
+        passwordConfig.getHashing().setQueueCapacity(queueCapacity);
+        return passwordConfig;
+    }
+
+    /**
+     * Encoder that reports the thread it ran on. On hashing threads it signals that it started
+     * and blocks until released; on callers' threads it returns immediately.
+     */
+    private static PasswordEncoder threadReportingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                String thread = Thread.currentThread().getName();
+                if (thread.startsWith("password-hash-")) {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return rawPassword + "@" + thread;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    void hash_RunsOnHashingThread() {
+        passwordHasher = new PasswordHasher(
+                threadReportingEncoder(new CountDownLatch(1), new CountDownLatch(0)), config(2, 4));
+
+        String hash = passwordHasher.hash("secret");
+
+        assertTrue(hash.startsWith("secret@password-hash-"), hash);
+    }
+
+    @Test
+    void hash_QueueFull_RunsOnCallerThread() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(threadReportingEncoder(started, release), config(1, 1));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One hash occupies the only thread, a second fills the queue
+            Future<String> running = callers.submit(() -> passwordHasher.hash("first"));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> passwordHasher.hash("second"));
+            Thread.sleep(200);
+
+            String overflow = passwordHasher.hash("third");
+            release.countDown();
+
+            assertEquals("third@" + Thread.currentThread().getName(), overflow);
+            assertTrue(running.get(10, TimeUnit.SECONDS).startsWith("first@password-hash-"));
+            assertTrue(queued.get(10, TimeUnit.SECONDS).startsWith("second@password-hash-"));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void hash_EncoderThrows_PropagatesException() {
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("bad password");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        passwordHasher = new PasswordHasher(failing, config(1, 1));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> passwordHasher.hash("secret"));
+        assertEquals("bad password", exception.getMessage());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.api.model.RoleName;
+import com.example.specdriven.domain.PermissionEntity;
+import com.example.specdriven.domain.RoleEntity;
+import com.example.specdriven.domain.RolePermissionEntity;
+import com.example.specdriven.repository.PermissionRepository;
+import com.example.specdriven.repository.RolePermissionRepository;
+import com.example.specdriven.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoleCatalog.
+ * Tests snapshot construction and lookups.
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogTest {
+
+    private static final UUID ADMIN_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID GUEST_ID = UUID.randomUUID();
+    private static final UUID READ_ID = UUID.randomUUID();
+    private static final UUID DELETE_ID = UUID.randomUUID();
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private RolePermissionRepository rolePermissionRepository;
+
+    private RoleCatalog roleCatalog;
+
+    @BeforeEach
+    void setUp() {
+        when(permissionRepository.findAll()).thenReturn(List.of(
+                new PermissionEntity(READ_ID, "USER_READ", "Read users"),
+                new PermissionEntity(DELETE_ID, "USER_DELETE", "Delete users")));
+        when(roleRepository.findAll()).thenReturn(List.of(
+                new RoleEntity(ADMIN_ID, "ADMIN", "Administrator role"),
+                new RoleEntity(USER_ID, "USER", "User role"),
+                new RoleEntity(GUEST_ID, "GUEST", "Guest role")));
+        when(rolePermissionRepository.findAll()).thenReturn(List.of(
+                new RolePermissionEntity(ADMIN_ID, READ_ID),
+                new RolePermissionEntity(ADMIN_ID, DELETE_ID),
+                new RolePermissionEntity(USER_ID, READ_ID)));
+        roleCatalog = new RoleCatalog(roleRepository, permissionRepository, rolePermissionRepository);
+    }
+
+    private long maskOf(String... permissions) {
+        return roleCatalog.permissionIndex().toMask(AuthorityUtils.createAuthorityList(permissions)).getAsLong();
+    }
+
+    @Test
+    void findByRoleName_KnownRole_ReturnsRoleWithPermissionMask() {
+        RoleCatalog.CatalogRole admin = roleCatalog.findByRoleName(RoleName.ADMIN).orElseThrow();
+
+        assertEquals(ADMIN_ID, admin.id());
+        assertEquals("ADMIN", admin.name());
+        assertEquals(RoleName.ADMIN, admin.roleName());
+        assertEquals(maskOf("USER_READ", "USER_DELETE"), admin.permissionMask());
+        assertEquals(maskOf("USER_READ"), roleCatalog.findByRoleName(RoleName.USER).orElseThrow().permissionMask());
+    }
+
+    @Test
+    void findByRoleName_RoleNotInDatabase_ReturnsEmpty() {
+        assertTrue(roleCatalog.findByRoleName(RoleName.AUDITOR).isEmpty());
+    }
+
+    @Test
+    void findById_ReturnsSameRoleAsNameLookup() {
+        assertSame(roleCatalog.findByRoleName(RoleName.USER).orElseThrow(), roleCatalog.findById(USER_ID).orElseThrow());
+        assertTrue(roleCatalog.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void findByName_RoleWithoutApiName_HasNullRoleName() {
+        RoleCatalog.CatalogRole guest = roleCatalog.findByName("GUEST").orElseThrow();
+
+        assertEquals(GUEST_ID, guest.id());
+        assertNull(guest.roleName());
+        assertEquals(0L, guest.permissionMask());
+    }
+}
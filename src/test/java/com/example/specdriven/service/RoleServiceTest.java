@@ -1,22 +1,18 @@
 package com.example.specdriven.service;
 
 import com.example.specdriven.api.model.RoleName;
-import com.example.specdriven.domain.RoleEntity;
-import com.example.specdriven.domain.UserRoleEntity;
+import com.example.specdriven.event.UserRolesChangedEvent;
 import com.example.specdriven.exception.ResourceNotFoundException;
 import com.example.specdriven.exception.ValidationException;
-import com.example.specdriven.repository.RoleRepository;
 import com.example.specdriven.repository.UserRepository;
 import com.example.specdriven.repository.UserRoleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,16 +31,19 @@ class RoleServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCatalog roleCatalog;
 
     @Mock
     private UserRoleRepository userRoleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private RoleService roleService;
 
     @BeforeEach
     void setUp() {
-        roleService = new RoleService(userRepository, roleRepository, userRoleRepository);
+        roleService = new RoleService(userRepository, roleCatalog, userRoleRepository, eventPublisher);
     }
 
     // Test: assignRole with valid user and role
@@ -52,35 +51,34 @@ class RoleServiceTest {
     void assignRole_ValidUserAndRole_CreatesAssignment() {
         UUID userId = UUID.randomUUID();
         UUID roleId = UUID.randomUUID();
-        RoleEntity adminRole = new RoleEntity(roleId, "ADMIN", "Administrator role");
+        RoleCatalog.CatalogRole adminRole = new RoleCatalog.CatalogRole(roleId, "ADMIN", RoleName.ADMIN, 0L);
 
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.of(adminRole));
-        when(userRoleRepository.findByUserIdAndRoleId(userId, roleId)).thenReturn(Collections.emptyList());
-        when(userRoleRepository.save(any(UserRoleEntity.class))).thenAnswer(i -> i.getArgument(0));
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.of(adminRole));
+        when(userRoleRepository.insertIfAbsent(userId, roleId)).thenReturn(1);
 
         roleService.assignRole(userId, RoleName.ADMIN);
 
-        ArgumentCaptor<UserRoleEntity> captor = ArgumentCaptor.forClass(UserRoleEntity.class);
-        verify(userRoleRepository).save(captor.capture());
-        
-        UserRoleEntity saved = captor.getValue();
-        assertEquals(userId, saved.getUserId());
-        assertEquals(roleId, saved.getRoleId());
-        assertNotNull(saved.getAssignedAt());
+        verify(userRoleRepository).insertIfAbsent(userId, roleId);
+        // The insert succeeded, so the user exists; no separate lookup
+        verifyNoInteractions(userRepository);
+        verify(eventPublisher).publishEvent(new UserRolesChangedEvent(userId, roleId, true));
     }
 
     // Test: assignRole with non-existent user throws ResourceNotFoundException
     @Test
     void assignRole_UserNotFound_ThrowsResourceNotFoundException() {
         UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+        RoleCatalog.CatalogRole adminRole = new RoleCatalog.CatalogRole(roleId, "ADMIN", RoleName.ADMIN, 0L);
 
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.of(adminRole));
+        when(userRoleRepository.insertIfAbsent(userId, roleId)).thenReturn(0);
         when(userRepository.existsById(userId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, 
                 () -> roleService.assignRole(userId, RoleName.ADMIN));
 
-        verify(userRoleRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     // Test: assignRole when role is already assigned (idempotent)
@@ -88,16 +86,16 @@ class RoleServiceTest {
     void assignRole_AlreadyAssigned_DoesNotCreateDuplicate() {
         UUID userId = UUID.randomUUID();
         UUID roleId = UUID.randomUUID();
-        RoleEntity adminRole = new RoleEntity(roleId, "ADMIN", "Administrator role");
-        UserRoleEntity existingAssignment = new UserRoleEntity(userId, roleId, null);
+        RoleCatalog.CatalogRole adminRole = new RoleCatalog.CatalogRole(roleId, "ADMIN", RoleName.ADMIN, 0L);
 
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.of(adminRole));
+        when(userRoleRepository.insertIfAbsent(userId, roleId)).thenReturn(0);
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.of(adminRole));
-        when(userRoleRepository.findByUserIdAndRoleId(userId, roleId)).thenReturn(List.of(existingAssignment));
 
         roleService.assignRole(userId, RoleName.ADMIN);
 
         verify(userRoleRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     // Test: assignRole with role not in database throws ValidationException
@@ -106,12 +104,24 @@ class RoleServiceTest {
         UUID userId = UUID.randomUUID();
 
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.empty());
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.empty());
 
         assertThrows(ValidationException.class, 
                 () -> roleService.assignRole(userId, RoleName.ADMIN));
 
-        verify(userRoleRepository, never()).save(any());
+        verify(userRoleRepository, never()).insertIfAbsent(any(), any());
+    }
+
+    // Test: assignRole with role not in database and unknown user reports the user first
+    @Test
+    void assignRole_RoleNotInDatabaseAndUserNotFound_ThrowsResourceNotFoundException() {
+        UUID userId = UUID.randomUUID();
+
+        when(userRepository.existsById(userId)).thenReturn(false);
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> roleService.assignRole(userId, RoleName.ADMIN));
     }
 
     // Test: removeRole with valid user and assigned role
@@ -119,27 +129,33 @@ class RoleServiceTest {
     void removeRole_ValidUserAndRole_DeletesAssignment() {
         UUID userId = UUID.randomUUID();
         UUID roleId = UUID.randomUUID();
-        RoleEntity userRole = new RoleEntity(roleId, "USER", "User role");
+        RoleCatalog.CatalogRole userRole = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
 
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(userRole));
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(userRole));
+        when(userRoleRepository.deleteByUserIdAndRoleId(userId, roleId)).thenReturn(1);
 
         roleService.removeRole(userId, RoleName.USER);
 
         verify(userRoleRepository).deleteByUserIdAndRoleId(userId, roleId);
+        verifyNoInteractions(userRepository);
+        verify(eventPublisher).publishEvent(new UserRolesChangedEvent(userId, roleId, false));
     }
 
     // Test: removeRole with non-existent user throws ResourceNotFoundException
     @Test
     void removeRole_UserNotFound_ThrowsResourceNotFoundException() {
         UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+        RoleCatalog.CatalogRole adminRole = new RoleCatalog.CatalogRole(roleId, "ADMIN", RoleName.ADMIN, 0L);
 
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.of(adminRole));
+        when(userRoleRepository.deleteByUserIdAndRoleId(userId, roleId)).thenReturn(0);
         when(userRepository.existsById(userId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, 
                 () -> roleService.removeRole(userId, RoleName.ADMIN));
 
-        verify(userRoleRepository, never()).deleteByUserIdAndRoleId(any(), any());
+        verifyNoInteractions(eventPublisher);
     }
 
     // Test: removeRole when role not assigned (idempotent)
@@ -147,15 +163,17 @@ class RoleServiceTest {
     void removeRole_NotAssigned_NoOp() {
         UUID userId = UUID.randomUUID();
         UUID roleId = UUID.randomUUID();
-        RoleEntity adminRole = new RoleEntity(roleId, "ADMIN", "Administrator role");
+        RoleCatalog.CatalogRole adminRole = new RoleCatalog.CatalogRole(roleId, "ADMIN", RoleName.ADMIN, 0L);
 
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.of(adminRole));
+        when(userRoleRepository.deleteByUserIdAndRoleId(userId, roleId)).thenReturn(0);
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.of(adminRole));
 
         roleService.removeRole(userId, RoleName.ADMIN);
 
         // Should still call delete, but it's a no-op if not exists
         verify(userRoleRepository).deleteByUserIdAndRoleId(userId, roleId);
+        verifyNoInteractions(eventPublisher);
     }
 
     // Test: removeRole when role doesn't exist in database
@@ -164,7 +182,7 @@ class RoleServiceTest {
         UUID userId = UUID.randomUUID();
 
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.empty());
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.empty());
 
         // Should not throw, just no-op
         roleService.removeRole(userId, RoleName.ADMIN);
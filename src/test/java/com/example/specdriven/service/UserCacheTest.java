@@ -0,0 +1,169 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.api.model.User;
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.example.specdriven.event.UserUpdatedEvent;
+import com.example.specdriven.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserCache.
+ * Tests read-through caching, event-driven eviction, configuration and meters.
+ */
+class UserCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<UUID, User> loader = id -> {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(id);
+        user.setName("Load " + loads.get());
+        return user;
+    };
+
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(new CacheConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_RepeatedCalls_LoadsOnce() {
+        UUID userId = UUID.randomUUID();
+
+        User first = userCache.get(userId, loader);
+        User second = userCache.get(userId, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, userCache.stats().hitCount());
+        assertEquals(1, userCache.stats().missCount());
+    }
+
+    @Test
+    void get_LoaderThrows_NothingCached() {
+        UUID userId = UUID.randomUUID();
+        Function<UUID, User> missing = id -> {
+            throw new ResourceNotFoundException("User not found with ID: " + id);
+        };
+
+        assertThrows(ResourceNotFoundException.class, () -> userCache.get(userId, missing));
+
+        assertEquals("Load 1", userCache.get(userId, loader).getName());
+    }
+
+    @Test
+    void onUserUpdated_EvictsOnlyThatUser() {
+        UUID updatedUser = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        userCache.get(updatedUser, loader);
+        userCache.get(otherUser, loader);
+
+        userCache.onUserUpdated(new UserUpdatedEvent(updatedUser));
+
+        assertEquals("Load 3", userCache.get(updatedUser, loader).getName());
+        assertEquals("Load 2", userCache.get(otherUser, loader).getName());
+    }
+
+    @Test
+    void onUserDeleted_EvictsUser() {
+        UUID userId = UUID.randomUUID();
+        userCache.get(userId, loader);
+
+        userCache.onUserDeleted(new UserDeletedEvent(userId, List.of()));
+
+        userCache.get(userId, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onUserRolesChanged_EvictsUser() {
+        UUID userId = UUID.randomUUID();
+        userCache.get(userId, loader);
+
+        userCache.onUserRolesChanged(new UserRolesChangedEvent(userId, UUID.randomUUID(), true));
+
+        userCache.get(userId, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void eviction_InTransaction_RepeatedAfterCompletion() {
+        UUID userId = UUID.randomUUID();
+        userCache.get(userId, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCache.onUserUpdated(new UserUpdatedEvent(userId));
+        // A concurrent reader reloads the pre-commit state
+        userCache.get(userId, loader);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals("Load 3", userCache.get(userId, loader).getName());
+    }
+
+    @Test
+    void recordStatsDisabled_ReportsNoStats() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getUsers().setRecordStats(false);
+        userCache = new UserCache(cacheConfig);
+        UUID userId = UUID.randomUUID();
+
+        userCache.get(userId, loader);
+        userCache.get(userId, loader);
+
+        assertEquals(0, userCache.stats().requestCount());
+    }
+
+    @Test
+    void zeroTtl_AlwaysReloads() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getUsers().setTtl(Duration.ZERO);
+        userCache = new UserCache(cacheConfig);
+        UUID userId = UUID.randomUUID();
+
+        userCache.get(userId, loader);
+        userCache.get(userId, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void bindTo_ReportsHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userCache.bindTo(registry);
+        UUID userId = UUID.randomUUID();
+
+        userCache.get(userId, loader);
+        userCache.get(userId, loader);
+        userCache.get(userId, loader);
+
+        assertEquals(2, registry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
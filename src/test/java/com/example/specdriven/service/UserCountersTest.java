@@ -0,0 +1,151 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.config.CacheConfig;
+import com.example.specdriven.event.UserCreatedEvent;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserRolesChangedEvent;
+import com.example.specdriven.repository.UserRepository;
+import com.example.specdriven.repository.UserRoleRepository;
+import com.example.specdriven.repository.UserSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserCounters.
+ * Tests lazy loading, event-driven adjustment after commit and periodic reload.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserCountersTest {
+
+    private static final UUID ADMIN_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UserSpecification ALL = new UserSpecification(null, null, null, null);
+    private static final UserSpecification ADMINS = new UserSpecification(null, null, null, ADMIN_ID);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserRoleRepository userRoleRepository;
+
+    private UserCounters userCounters;
+
+    @BeforeEach
+    void setUp() {
+        userCounters = new UserCounters(userRepository, userRoleRepository, new CacheConfig());
+        lenient().when(userRepository.count()).thenReturn(100L);
+        lenient().when(userRoleRepository.countUsersByRole()).thenReturn(List.of(count(ADMIN_ID, 10), count(USER_ID, 90)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static UserRoleRepository.RoleUserCount count(UUID roleId, long users) {
+        return new UserRoleRepository.RoleUserCount() {
+            @Override
+            public UUID getRoleId() {
+                return roleId;
+            }
+
+            @Override
+            public long getUserCount() {
+                return users;
+            }
+        };
+    }
+
+    @Test
+    void estimate_FirstCall_LoadsCountsOnce() {
+        assertEquals(OptionalLong.of(100), userCounters.estimate(ALL));
+        assertEquals(OptionalLong.of(10), userCounters.estimate(ADMINS));
+        assertEquals(OptionalLong.of(0), userCounters.estimate(new UserSpecification(null, null, null, UUID.randomUUID())));
+
+        verify(userRepository, times(1)).count();
+        verify(userRoleRepository, times(1)).countUsersByRole();
+    }
+
+    @Test
+    void estimate_FieldFilter_HasNoEstimate() {
+        assertTrue(userCounters.estimate(new UserSpecification("alice", null, null, null)).isEmpty());
+        assertTrue(userCounters.estimate(new UserSpecification(null, "a@example.com", null, ADMIN_ID)).isEmpty());
+        assertTrue(userCounters.estimate(new UserSpecification(null, null, "Ali", null)).isEmpty());
+
+        verifyNoInteractions(userRepository, userRoleRepository);
+    }
+
+    @Test
+    void events_OutsideTransaction_AdjustCounts() {
+        userCounters.estimate(ALL);
+
+        userCounters.onUserCreated(new UserCreatedEvent(UUID.randomUUID()));
+        userCounters.onUserRolesChanged(new UserRolesChangedEvent(UUID.randomUUID(), ADMIN_ID, true));
+        userCounters.onUserDeleted(new UserDeletedEvent(UUID.randomUUID(), List.of(USER_ID)));
+        userCounters.onUserRolesChanged(new UserRolesChangedEvent(UUID.randomUUID(), USER_ID, false));
+
+        assertEquals(OptionalLong.of(100), userCounters.estimate(ALL));
+        assertEquals(OptionalLong.of(11), userCounters.estimate(ADMINS));
+        assertEquals(OptionalLong.of(88), userCounters.estimate(new UserSpecification(null, null, null, USER_ID)));
+    }
+
+    @Test
+    void events_BeforeFirstLoad_AreLeftToTheLoad() {
+        userCounters.onUserCreated(new UserCreatedEvent(UUID.randomUUID()));
+
+        assertEquals(OptionalLong.of(100), userCounters.estimate(ALL));
+    }
+
+    @Test
+    void events_InTransaction_AppliedOnlyAfterCommit() {
+        userCounters.estimate(ALL);
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCounters.onUserCreated(new UserCreatedEvent(UUID.randomUUID()));
+        assertEquals(OptionalLong.of(100), userCounters.estimate(ALL));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(OptionalLong.of(101), userCounters.estimate(ALL));
+    }
+
+    @Test
+    void events_InRolledBackTransaction_AreIgnored() {
+        userCounters.estimate(ALL);
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCounters.onUserCreated(new UserCreatedEvent(UUID.randomUUID()));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(OptionalLong.of(100), userCounters.estimate(ALL));
+    }
+
+    @Test
+    void estimate_AfterMaxAge_ReloadsFromDatabase() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setUserCountsMaxAge(Duration.ZERO);
+        userCounters = new UserCounters(userRepository, userRoleRepository, cacheConfig);
+        when(userRepository.count()).thenReturn(100L, 250L);
+        when(userRoleRepository.countUsersByRole()).thenReturn(List.of(count(ADMIN_ID, 10)), List.of());
+
+        assertEquals(OptionalLong.of(100), userCounters.estimate(ALL));
+        assertEquals(OptionalLong.of(250), userCounters.estimate(ALL));
+        assertEquals(OptionalLong.of(0), userCounters.estimate(ADMINS));
+    }
+}
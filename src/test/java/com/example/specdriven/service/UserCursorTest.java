@@ -0,0 +1,64 @@
+package com.example.specdriven.service;
+
+import com.example.specdriven.domain.UserEntity;
+import com.example.specdriven.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserCursor.
+ * Tests encoding round trips and rejection of malformed cursors.
+ */
+class UserCursorTest {
+
+    @Test
+    void encode_Decode_RoundTrips() {
+        UserCursor cursor = new UserCursor(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_000), UUID.randomUUID());
+
+        assertEquals(cursor, UserCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encode_IsUrlSafe() {
+        String encoded = new UserCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void new_TruncatesToMicroseconds() {
+        UserCursor cursor = new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_789), UUID.randomUUID());
+
+        assertEquals(123_456_000, cursor.createdAt().getNano());
+    }
+
+    @Test
+    void of_UsesCreationTimeAndId() {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        UserCursor cursor = UserCursor.of(user);
+
+        assertEquals(user.getId(), cursor.id());
+        assertEquals(user.getCreatedAt(), cursor.createdAt());
+    }
+
+    @Test
+    void decode_NotBase64_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> UserCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void decode_WrongLength_ThrowsValidationException() {
+        String tooShort = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[12]);
+
+        assertThrows(ValidationException.class, () -> UserCursor.decode(tooShort));
+        assertThrows(ValidationException.class, () -> UserCursor.decode(""));
+    }
+}
@@ -1,26 +1,37 @@
 package com.example.specdriven.service;
 
 import com.example.specdriven.api.model.*;
-import com.example.specdriven.domain.RoleEntity;
+import com.example.specdriven.config.CacheConfig;
 import com.example.specdriven.domain.UserEntity;
 import com.example.specdriven.domain.UserRoleEntity;
+import com.example.specdriven.event.UserCreatedEvent;
+import com.example.specdriven.event.UserDeletedEvent;
+import com.example.specdriven.event.UserUpdatedEvent;
 import com.example.specdriven.exception.ConflictException;
 import com.example.specdriven.exception.ResourceNotFoundException;
 import com.example.specdriven.exception.ValidationException;
 import com.example.specdriven.mapper.UserMapper;
-import com.example.specdriven.repository.RoleRepository;
 import com.example.specdriven.repository.UserRepository;
 import com.example.specdriven.repository.UserRoleRepository;
+import com.example.specdriven.repository.UserSpecification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -35,11 +46,13 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
+    private static final String PASSWORD_HASH = "$2a$10$hashedpassword";
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCatalog roleCatalog;
 
     @Mock
     private UserRoleRepository userRoleRepository;
@@ -47,6 +60,21 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserCounters userCounters;
+
+    @Spy
+    private UserCache userCache = new UserCache(new CacheConfig());
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -75,6 +103,7 @@ class UserServiceTest {
 
         createRequest = new CreateUserRequest(
                 "testuser", "Test User", "Password123!", "test@example.com");
+        lenient().when(passwordHasher.hash("Password123!")).thenReturn(PASSWORD_HASH);
 
         updateRequest = new UpdateUserRequest();
         updateRequest.setName("Updated Name");
@@ -87,10 +116,8 @@ class UserServiceTest {
     @Test
     void createUser_ValidRequest_ReturnsUser() {
         // Given
-        when(userRepository.findByEmailAddress(createRequest.getEmailAddress()))
-                .thenReturn(Optional.empty());
-        when(userMapper.toEntity(createRequest)).thenReturn(testUserEntity);
-        when(userRepository.save(testUserEntity)).thenReturn(testUserEntity);
+        when(userMapper.toEntity(createRequest, PASSWORD_HASH)).thenReturn(testUserEntity);
+        when(userRepository.saveAndFlush(testUserEntity)).thenReturn(testUserEntity);
         when(userMapper.toDto(testUserEntity, Collections.emptyList())).thenReturn(testUserDto);
 
         // When
@@ -99,20 +126,54 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(testUserEntity.getId(), result.getId());
-        verify(userRepository).save(testUserEntity);
+        verify(userRepository).saveAndFlush(testUserEntity);
+        verify(userRepository, never()).findByEmailAddress(any());
+        verify(eventPublisher).publishEvent(new UserCreatedEvent(testUserEntity.getId()));
     }
 
     @Test
     void createUser_DuplicateEmail_ThrowsConflictException() {
         // Given
-        when(userRepository.findByEmailAddress(createRequest.getEmailAddress()))
-                .thenReturn(Optional.of(testUserEntity));
+        when(userMapper.toEntity(createRequest, PASSWORD_HASH)).thenReturn(testUserEntity);
+        when(userRepository.saveAndFlush(testUserEntity)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation", "23505")));
 
         // When/Then
         ConflictException exception = assertThrows(ConflictException.class,
                 () -> userService.createUser(createRequest));
         assertTrue(exception.getMessage().contains("Email address already exists"));
-        verify(userRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createUser_HashesPasswordBeforeTransactionOpens() {
+        // Given
+        when(userMapper.toEntity(createRequest, PASSWORD_HASH)).thenReturn(testUserEntity);
+        when(userRepository.saveAndFlush(testUserEntity)).thenReturn(testUserEntity);
+
+        // When
+        userService.createUser(createRequest);
+
+        // Then
+        InOrder inOrder = inOrder(passwordHasher, transactionManager, userRepository);
+        inOrder.verify(passwordHasher).hash("Password123!");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).saveAndFlush(testUserEntity);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void createUser_OtherConstraintViolation_Propagates() {
+        // Given
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("NULL not allowed for column", "23502"));
+        when(userMapper.toEntity(createRequest, PASSWORD_HASH)).thenReturn(testUserEntity);
+        when(userRepository.saveAndFlush(testUserEntity)).thenThrow(violation);
+
+        // When/Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> userService.createUser(createRequest)));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     // =====================================
@@ -124,7 +185,7 @@ class UserServiceTest {
         // Given
         UUID userId = testUserEntity.getId();
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
-        when(userRoleRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
         when(userMapper.toDto(testUserEntity, Collections.emptyList())).thenReturn(testUserDto);
 
         // When
@@ -157,9 +218,7 @@ class UserServiceTest {
         userRole.setUserId(userId);
         userRole.setRoleId(roleId);
 
-        RoleEntity roleEntity = new RoleEntity();
-        roleEntity.setId(roleId);
-        roleEntity.setRoleName("USER");
+        RoleCatalog.CatalogRole catalogRole = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
 
         Role roleDto = new Role();
         roleDto.setRoleName(RoleName.USER);
@@ -170,9 +229,9 @@ class UserServiceTest {
         userWithRoles.setRoles(List.of(roleDto));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
-        when(userRoleRepository.findByUserId(userId)).thenReturn(List.of(userRole));
-        when(roleRepository.findById(roleId)).thenReturn(Optional.of(roleEntity));
-        when(userMapper.toRoleDto(roleEntity)).thenReturn(roleDto);
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(List.of(userRole));
+        when(roleCatalog.findById(roleId)).thenReturn(Optional.of(catalogRole));
+        when(userMapper.toRoleDto(catalogRole)).thenReturn(roleDto);
         when(userMapper.toDto(testUserEntity, List.of(roleDto))).thenReturn(userWithRoles);
 
         // When
@@ -184,6 +243,38 @@ class UserServiceTest {
         assertEquals(RoleName.USER, result.getRoles().get(0).getRoleName());
     }
 
+    @Test
+    void getUserById_RepeatedCalls_LoadsOnce() {
+        // Given
+        UUID userId = testUserEntity.getId();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(testUserEntity, Collections.emptyList())).thenReturn(testUserDto);
+
+        // When
+        User first = userService.getUserById(userId);
+        User second = userService.getUserById(userId);
+
+        // Then
+        assertSame(first, second);
+        verify(userRepository, times(1)).findById(userId);
+        verify(userRoleRepository, times(1)).findByUserIdIn(List.of(userId));
+    }
+
+    @Test
+    void getUserById_NonExistentUser_IsNotCached() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(userId));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(userId));
+
+        // Then
+        verify(userRepository, times(2)).findById(userId);
+    }
+
     // =====================================
     // updateUser tests
     // =====================================
@@ -204,9 +295,9 @@ class UserServiceTest {
         updatedDto.setRoles(Collections.emptyList());
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
-        when(userMapper.updateEntity(updateRequest, testUserEntity)).thenReturn(updatedEntity);
+        when(userMapper.updateEntity(updateRequest, testUserEntity, null)).thenReturn(updatedEntity);
         when(userRepository.save(updatedEntity)).thenReturn(updatedEntity);
-        when(userRoleRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
         when(userMapper.toDto(updatedEntity, Collections.emptyList())).thenReturn(updatedDto);
 
         // When
@@ -216,6 +307,45 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals("Updated Name", result.getName());
         verify(userRepository).save(updatedEntity);
+        verify(eventPublisher).publishEvent(new UserUpdatedEvent(userId));
+    }
+
+    @Test
+    void updateUser_WithPassword_HashesBeforeTransactionOpens() {
+        // Given
+        UUID userId = testUserEntity.getId();
+        UpdateUserRequest passwordRequest = new UpdateUserRequest();
+        passwordRequest.setPassword("NewPassword123!");
+        when(passwordHasher.hash("NewPassword123!")).thenReturn("$2a$10$newhash");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
+        when(userMapper.updateEntity(passwordRequest, testUserEntity, "$2a$10$newhash")).thenReturn(testUserEntity);
+        when(userRepository.save(testUserEntity)).thenReturn(testUserEntity);
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
+
+        // When
+        userService.updateUser(userId, passwordRequest);
+
+        // Then
+        InOrder inOrder = inOrder(passwordHasher, transactionManager, userRepository);
+        inOrder.verify(passwordHasher).hash("NewPassword123!");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).findById(userId);
+    }
+
+    @Test
+    void updateUser_WithoutPassword_DoesNotHash() {
+        // Given
+        UUID userId = testUserEntity.getId();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
+        when(userMapper.updateEntity(updateRequest, testUserEntity, null)).thenReturn(testUserEntity);
+        when(userRepository.save(testUserEntity)).thenReturn(testUserEntity);
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
+
+        // When
+        userService.updateUser(userId, updateRequest);
+
+        // Then
+        verify(passwordHasher, never()).hash(anyString());
     }
 
     @Test
@@ -271,9 +401,9 @@ class UserServiceTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         // Note: findByEmailAddress is not called when email isn't changing
-        when(userMapper.updateEntity(sameEmailRequest, testUserEntity)).thenReturn(updatedEntity);
+        when(userMapper.updateEntity(sameEmailRequest, testUserEntity, null)).thenReturn(updatedEntity);
         when(userRepository.save(updatedEntity)).thenReturn(updatedEntity);
-        when(userRoleRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
         when(userMapper.toDto(updatedEntity, Collections.emptyList())).thenReturn(updatedDto);
 
         // When
@@ -300,6 +430,23 @@ class UserServiceTest {
 
         // Then
         verify(userRepository).deleteById(userId);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(userId, List.of()));
+    }
+
+    @Test
+    void deleteUser_UserWithRoles_PublishesRolesHeld() {
+        // Given
+        UUID userId = testUserEntity.getId();
+        UUID roleId = UUID.randomUUID();
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRoleRepository.findByUserId(userId))
+                .thenReturn(List.of(new UserRoleEntity(userId, roleId, LocalDateTime.now())));
+
+        // When
+        userService.deleteUser(userId);
+
+        // Then
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(userId, List.of(roleId)));
     }
 
     @Test
@@ -313,6 +460,7 @@ class UserServiceTest {
                 () -> userService.deleteUser(userId));
         assertTrue(exception.getMessage().contains("User not found"));
         verify(userRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     // =====================================
@@ -322,49 +470,49 @@ class UserServiceTest {
     @Test
     void listUsers_NullPage_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(null, 10, null, null, null, null));
+                () -> userService.listUsers(null, 10, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page must be >= 1"));
     }
 
     @Test
     void listUsers_ZeroPage_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(0, 10, null, null, null, null));
+                () -> userService.listUsers(0, 10, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page must be >= 1"));
     }
 
     @Test
     void listUsers_NegativePage_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(-1, 10, null, null, null, null));
+                () -> userService.listUsers(-1, 10, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page must be >= 1"));
     }
 
     @Test
     void listUsers_NullPageSize_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(1, null, null, null, null, null));
+                () -> userService.listUsers(1, null, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page size must be >= 1"));
     }
 
     @Test
     void listUsers_ZeroPageSize_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(1, 0, null, null, null, null));
+                () -> userService.listUsers(1, 0, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page size must be >= 1"));
     }
 
     @Test
     void listUsers_NegativePageSize_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(1, -1, null, null, null, null));
+                () -> userService.listUsers(1, -1, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page size must be >= 1"));
     }
 
     @Test
     void listUsers_ExceedsMaxPageSize_ThrowsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
-                () -> userService.listUsers(1, 101, null, null, null, null));
+                () -> userService.listUsers(1, 101, null, null, null, null, null, null));
         assertTrue(exception.getMessage().contains("Page size must be <= 100"));
     }
 
@@ -376,12 +524,12 @@ class UserServiceTest {
                 PageRequest.of(0, 10),
                 1
         );
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(entityPage);
-        when(userRoleRepository.findByUserId(any())).thenReturn(Collections.emptyList());
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
         when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
 
         // When
-        UserPage result = userService.listUsers(1, 10, null, null, null, null);
+        UserPage result = userService.listUsers(1, 10, null, null, null, null, null, null);
 
         // Then
         assertNotNull(result);
@@ -389,39 +537,120 @@ class UserServiceTest {
         assertEquals(10, result.getPageSize());
     }
 
+    @Test
+    void listUsers_MultipleUsers_LoadsRolesForWholePageAtOnce() {
+        // Given
+        UserEntity otherUser = new UserEntity();
+        otherUser.setId(UUID.randomUUID());
+        otherUser.setUsername("otheruser");
+
+        UUID userRoleId = UUID.randomUUID();
+        UUID adminRoleId = UUID.randomUUID();
+        RoleCatalog.CatalogRole userRole = new RoleCatalog.CatalogRole(userRoleId, "USER", RoleName.USER, 0L);
+        RoleCatalog.CatalogRole adminRole = new RoleCatalog.CatalogRole(adminRoleId, "ADMIN", RoleName.ADMIN, 0L);
+        Role userRoleDto = new Role();
+        userRoleDto.setRoleName(RoleName.USER);
+        Role adminRoleDto = new Role();
+        adminRoleDto.setRoleName(RoleName.ADMIN);
+
+        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
+                List.of(testUserEntity, otherUser), PageRequest.of(0, 10), 2);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(List.of(testUserEntity.getId(), otherUser.getId())))
+                .thenReturn(List.of(
+                        new UserRoleEntity(testUserEntity.getId(), userRoleId, LocalDateTime.now()),
+                        new UserRoleEntity(testUserEntity.getId(), adminRoleId, LocalDateTime.now()),
+                        new UserRoleEntity(otherUser.getId(), userRoleId, LocalDateTime.now())));
+        when(roleCatalog.findById(userRoleId)).thenReturn(Optional.of(userRole));
+        when(roleCatalog.findById(adminRoleId)).thenReturn(Optional.of(adminRole));
+        when(userMapper.toRoleDto(userRole)).thenReturn(userRoleDto);
+        when(userMapper.toRoleDto(adminRole)).thenReturn(adminRoleDto);
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        // When
+        userService.listUsers(1, 10, null, null, null, null, null, null);
+
+        // Then - one assignment query for the whole page, roles resolved from the catalog
+        verify(userRoleRepository, times(1)).findByUserIdIn(anyCollection());
+        verify(userRoleRepository, never()).findByUserId(any());
+        verify(userMapper).toDto(testUserEntity, List.of(userRoleDto, adminRoleDto));
+        verify(userMapper).toDto(otherUser, List.of(userRoleDto));
+    }
+
+    @Test
+    void listUsers_AssignmentToUnknownRole_IsSkipped() {
+        // Given
+        UUID missingRoleId = UUID.randomUUID();
+        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
+                List.of(testUserEntity), PageRequest.of(0, 10), 1);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(List.of(testUserEntity.getId())))
+                .thenReturn(List.of(new UserRoleEntity(testUserEntity.getId(), missingRoleId, LocalDateTime.now())));
+        when(roleCatalog.findById(missingRoleId)).thenReturn(Optional.empty());
+        when(userMapper.toDto(testUserEntity, Collections.emptyList())).thenReturn(testUserDto);
+
+        // When
+        UserPage result = userService.listUsers(1, 10, null, null, null, null, null, null);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        verify(userMapper, never()).toRoleDto(any(RoleCatalog.CatalogRole.class));
+    }
+
+    @Test
+    void listUsers_RoleWithoutApiName_IsSkipped() {
+        // Given
+        UUID guestRoleId = UUID.randomUUID();
+        RoleCatalog.CatalogRole guestRole = new RoleCatalog.CatalogRole(guestRoleId, "GUEST", null, 0L);
+        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
+                List.of(testUserEntity), PageRequest.of(0, 10), 1);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(List.of(testUserEntity.getId())))
+                .thenReturn(List.of(new UserRoleEntity(testUserEntity.getId(), guestRoleId, LocalDateTime.now())));
+        when(roleCatalog.findById(guestRoleId)).thenReturn(Optional.of(guestRole));
+        when(userMapper.toRoleDto(guestRole)).thenReturn(null);
+        when(userMapper.toDto(testUserEntity, Collections.emptyList())).thenReturn(testUserDto);
+
+        // When
+        UserPage result = userService.listUsers(1, 10, null, null, null, null, null, null);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+    }
+
     @Test
     void listUsers_WithRoleFilter_ReturnsFilteredResults() {
         // Given
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        UserRoleEntity userRole = new UserRoleEntity(testUserEntity.getId(), roleId, LocalDateTime.now());
-        
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 List.of(testUserEntity),
                 PageRequest.of(0, 10),
                 1
         );
         
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
-        when(userRoleRepository.findByUserId(any())).thenReturn(Collections.emptyList());
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification(null, null, null, roleId)), any(Pageable.class)))
+                .thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
         when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
 
         // When
-        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.USER);
+        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.USER, null, null);
 
-        // Then
+        // Then - one joined query; role members are never loaded separately
         assertNotNull(result);
+        assertEquals(1, result.getTotalItems());
+        verify(userRoleRepository, never()).findByRoleId(any());
     }
 
     @Test
     void listUsers_WithNonExistentRole_ReturnsEmptyPage() {
         // Given
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.empty());
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.empty());
 
         // When
-        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.ADMIN);
+        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.ADMIN, null, null);
 
         // Then
         assertNotNull(result);
@@ -432,47 +661,44 @@ class UserServiceTest {
     void listUsers_WithRoleAndAdditionalFilters_AppliesFilters() {
         // Given
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        UserRoleEntity userRole = new UserRoleEntity(testUserEntity.getId(), roleId, LocalDateTime.now());
-        
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 List.of(testUserEntity),
                 PageRequest.of(0, 10),
                 1
         );
         
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
-        when(userRoleRepository.findByUserId(any())).thenReturn(Collections.emptyList());
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification("testuser", null, null, roleId)), any(Pageable.class)))
+                .thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
         when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
 
         // When - with username filter that matches
-        UserPage result = userService.listUsers(1, 10, "testuser", null, null, RoleName.USER);
+        UserPage result = userService.listUsers(1, 10, "testuser", null, null, RoleName.USER, null, null);
 
         // Then
         assertNotNull(result);
+        assertEquals(1, result.getItems().size());
     }
 
     @Test
     void listUsers_WithRoleAndNonMatchingFilters_ReturnsEmptyResults() {
         // Given
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        UserRoleEntity userRole = new UserRoleEntity(testUserEntity.getId(), roleId, LocalDateTime.now());
-        
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 List.of(testUserEntity),
                 PageRequest.of(0, 10),
                 1
         );
         
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification("nonexistent", null, null, roleId)), any(Pageable.class)))
+                .thenReturn(entityPage);
 
         // When - with username filter that doesn't match
-        UserPage result = userService.listUsers(1, 10, "nonexistent", null, null, RoleName.USER);
+        UserPage result = userService.listUsers(1, 10, "nonexistent", null, null, RoleName.USER, null, null);
 
         // Then
         assertNotNull(result);
@@ -480,120 +706,115 @@ class UserServiceTest {
     }
 
     @Test
-    void listUsers_WithUsernameFilter_CallsCorrectRepository() {
+    void listUsers_WithUsernameFilter_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByUsername(anyString(), any(Pageable.class))).thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, "testuser", null, null, null);
+        userService.listUsers(1, 10, "testuser", null, null, null, null, null);
 
         // Then
-        verify(userRepository).findByUsername(eq("testuser"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification("testuser", null, null, null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithEmailFilter_CallsCorrectRepository() {
+    void listUsers_WithEmailFilter_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByEmailAddress(anyString(), any(Pageable.class))).thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, null, "test@example.com", null, null);
+        userService.listUsers(1, 10, null, "test@example.com", null, null, null, null);
 
         // Then
-        verify(userRepository).findByEmailAddress(eq("test@example.com"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification(null, "test@example.com", null, null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithNameFilter_CallsCorrectRepository() {
+    void listUsers_WithNameFilter_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByNameContainingIgnoreCase(anyString(), any(Pageable.class))).thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, null, null, "Test", null);
+        userService.listUsers(1, 10, null, null, "Test", null, null, null);
 
         // Then
-        verify(userRepository).findByNameContainingIgnoreCase(eq("Test"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification(null, null, "Test", null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithUsernameAndEmailFilters_CallsCorrectRepository() {
+    void listUsers_WithUsernameAndEmailFilters_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByUsernameAndEmailAddress(anyString(), anyString(), any(Pageable.class)))
-                .thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, "testuser", "test@example.com", null, null);
+        userService.listUsers(1, 10, "testuser", "test@example.com", null, null, null, null);
 
         // Then
-        verify(userRepository).findByUsernameAndEmailAddress(eq("testuser"), eq("test@example.com"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification("testuser", "test@example.com", null, null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithUsernameAndNameFilters_CallsCorrectRepository() {
+    void listUsers_WithUsernameAndNameFilters_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByUsernameAndNameContainingIgnoreCase(anyString(), anyString(), any(Pageable.class)))
-                .thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, "testuser", null, "Test", null);
+        userService.listUsers(1, 10, "testuser", null, "Test", null, null, null);
 
         // Then
-        verify(userRepository).findByUsernameAndNameContainingIgnoreCase(eq("testuser"), eq("Test"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification("testuser", null, "Test", null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithEmailAndNameFilters_CallsCorrectRepository() {
+    void listUsers_WithEmailAndNameFilters_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByEmailAddressAndNameContainingIgnoreCase(anyString(), anyString(), any(Pageable.class)))
-                .thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, null, "test@example.com", "Test", null);
+        userService.listUsers(1, 10, null, "test@example.com", "Test", null, null, null);
 
         // Then
-        verify(userRepository).findByEmailAddressAndNameContainingIgnoreCase(eq("test@example.com"), eq("Test"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification(null, "test@example.com", "Test", null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithAllFilters_CallsCorrectRepository() {
+    void listUsers_WithAllFilters_QueriesWithMatchingSpecification() {
         // Given
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findByUsernameAndEmailAddressAndNameContainingIgnoreCase(
-                anyString(), anyString(), anyString(), any(Pageable.class)))
-                .thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When
-        userService.listUsers(1, 10, "testuser", "test@example.com", "Test", null);
+        userService.listUsers(1, 10, "testuser", "test@example.com", "Test", null, null, null);
 
         // Then
-        verify(userRepository).findByUsernameAndEmailAddressAndNameContainingIgnoreCase(
-                eq("testuser"), eq("test@example.com"), eq("Test"), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification("testuser", "test@example.com", "Test", null)), any(Pageable.class));
     }
 
     @Test
     void listUsers_WithRoleButNoUsersWithRole_ReturnsEmptyPage() {
         // Given
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "ADMIN", "Admin role");
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "ADMIN", RoleName.ADMIN, 0L);
         
-        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(Collections.emptyList());
+        when(roleCatalog.findByRoleName(RoleName.ADMIN)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification(null, null, null, roleId)), any(Pageable.class)))
+                .thenReturn(Page.empty(PageRequest.of(0, 10)));
 
         // When
-        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.ADMIN);
+        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.ADMIN, null, null);
 
         // Then
         assertNotNull(result);
@@ -623,9 +844,9 @@ class UserServiceTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         when(userRepository.findByEmailAddress("new@example.com")).thenReturn(Optional.of(sameUser));
-        when(userMapper.updateEntity(updateEmailRequest, testUserEntity)).thenReturn(updatedEntity);
+        when(userMapper.updateEntity(updateEmailRequest, testUserEntity, null)).thenReturn(updatedEntity);
         when(userRepository.save(updatedEntity)).thenReturn(updatedEntity);
-        when(userRoleRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(userRoleRepository.findByUserIdIn(List.of(userId))).thenReturn(Collections.emptyList());
         when(userMapper.toDto(updatedEntity, Collections.emptyList())).thenReturn(updatedDto);
 
         // When
@@ -640,122 +861,276 @@ class UserServiceTest {
         // Given - empty strings should NOT count as filters
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(entityPage);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
 
         // When - empty strings should be treated as null (no filter)
-        userService.listUsers(1, 10, "", "", "", null);
+        userService.listUsers(1, 10, "", "", "", null, null, null);
 
         // Then
-        verify(userRepository).findAll(any(Pageable.class));
-        verify(userRepository, never()).findByUsername(anyString(), any(Pageable.class));
+        verify(userRepository).findAll(eq(new UserSpecification(null, null, null, null)), any(Pageable.class));
     }
 
     @Test
-    void listUsers_WithRoleAndEmailFilter_FiltersCorrectly() {
-        // Given - tests email filter branch in matchesFilters
+    void listUsers_WithRoleAndEmailFilter_PassesFilterToQuery() {
+        // Given
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        UserRoleEntity userRole = new UserRoleEntity(testUserEntity.getId(), roleId, LocalDateTime.now());
-        
-        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
-                List.of(testUserEntity),
-                PageRequest.of(0, 10),
-                1
-        );
-        
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
+
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification(null, "other@example.com", null, roleId)),
+                any(Pageable.class))).thenReturn(Page.empty(PageRequest.of(0, 10)));
 
         // When - with email filter that doesn't match
-        UserPage result = userService.listUsers(1, 10, null, "other@example.com", null, RoleName.USER);
+        UserPage result = userService.listUsers(1, 10, null, "other@example.com", null, RoleName.USER, null, null);
 
         // Then
         assertNotNull(result);
         assertTrue(result.getItems().isEmpty());
+        assertEquals(0, result.getTotalItems());
     }
 
     @Test
-    void listUsers_WithRoleAndNameFilter_FiltersCorrectly() {
-        // Given - tests name filter branch in matchesFilters
+    void listUsers_WithRoleAndMatchingName_ReturnsResults() {
+        // Given
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        UserRoleEntity userRole = new UserRoleEntity(testUserEntity.getId(), roleId, LocalDateTime.now());
-        
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
+
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
                 List.of(testUserEntity),
                 PageRequest.of(0, 10),
                 1
         );
-        
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
 
-        // When - with name filter that doesn't match
-        UserPage result = userService.listUsers(1, 10, null, null, "NonExistent", RoleName.USER);
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification(null, null, "test", roleId)), any(Pageable.class)))
+                .thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        // When
+        UserPage result = userService.listUsers(1, 10, null, null, "test", RoleName.USER, null, null);
 
         // Then
         assertNotNull(result);
+        assertEquals(1, result.getItems().size());
+    }
+
+    @Test
+    void listUsers_WithRoleAndEmptyStrings_PassesNoFilters() {
+        // Given - empty strings should NOT count as filters
+        UUID roleId = UUID.randomUUID();
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
+
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification(null, null, null, roleId)), any(Pageable.class)))
+                .thenReturn(Page.empty(PageRequest.of(0, 10)));
+
+        // When
+        UserPage result = userService.listUsers(1, 10, "", "", "", RoleName.USER, null, null);
+
+        // Then
         assertTrue(result.getItems().isEmpty());
     }
 
     @Test
-    void listUsers_WithRoleAndMatchingName_ReturnsResults() {
-        // Given - tests name filter branch in matchesFilters when it matches
+    void listUsers_WithRoleOnLaterPage_UsesTotalsFromQuery() {
+        // Given - page 3 of 25 matching users
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        UserRoleEntity userRole = new UserRoleEntity(testUserEntity.getId(), roleId, LocalDateTime.now());
-        
+        RoleCatalog.CatalogRole role = new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L);
         Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
-                List.of(testUserEntity),
-                PageRequest.of(0, 10),
-                1
-        );
-        
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
-        when(userRoleRepository.findByUserId(any())).thenReturn(Collections.emptyList());
+                List.of(testUserEntity), PageRequest.of(2, 10), 25);
+
+        when(roleCatalog.findByRoleName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findAll(eq(new UserSpecification("testuser", null, null, roleId)),
+                eq(PageRequest.of(2, 10, UserSpecification.LIST_ORDER)))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
         when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
 
-        // When - with name filter that matches (case-insensitive)
-        UserPage result = userService.listUsers(1, 10, null, null, "test", RoleName.USER);
+        // When
+        UserPage result = userService.listUsers(3, 10, "testuser", null, null, RoleName.USER, null, null);
 
         // Then
-        assertNotNull(result);
+        assertEquals(25, result.getTotalItems());
+        assertEquals(3, result.getTotalPages());
+        assertEquals(3, result.getPage());
+    }
+
+    private UserEntity userCreatedAt(LocalDateTime createdAt) {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+
+    @Test
+    void listUsers_PageAndCursor_ThrowsValidationException() {
+        String cursor = UserCursor.of(testUserEntity).encode();
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> userService.listUsers(1, 10, null, null, null, null, cursor, null));
+        assertTrue(exception.getMessage().contains("cursor"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void listUsers_MalformedCursor_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> userService.listUsers(null, 10, null, null, null, null, "not a cursor", null));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void listUsers_OffsetPage_UsesStableOrder() {
+        when(userRepository.findAll(any(UserSpecification.class), eq(PageRequest.of(0, 10, UserSpecification.LIST_ORDER))))
+                .thenReturn(Page.empty(PageRequest.of(0, 10)));
+
+        UserPage result = userService.listUsers(1, 10, null, null, null, null, null, null);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void listUsers_OffsetPageWithMore_ReturnsCursorAfterLastItem() {
+        UserEntity last = userCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
+                List.of(testUserEntity, last), PageRequest.of(0, 2), 5);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        UserPage result = userService.listUsers(1, 2, null, null, null, null, null, null);
+
+        assertEquals(UserCursor.of(last).encode(), result.getNextCursor());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void listUsers_Cursor_FetchesOneExtraRowForNextCursor() {
+        UserEntity second = userCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        UserEntity beyondPage = userCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 6));
+        when(userRepository.findWindow(ArgumentMatchers.<Specification<UserEntity>>any(),
+                eq(UserSpecification.LIST_ORDER), eq(0L), eq(3)))
+                .thenReturn(List.of(testUserEntity, second, beyondPage));
+        when(userRepository.count(new UserSpecification(null, null, null, null))).thenReturn(7L);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        UserPage result = userService.listUsers(null, 2, null, null, null, null,
+                new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID()).encode(), null);
+
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getPage());
+        assertEquals(UserCursor.of(second).encode(), result.getNextCursor());
+        assertEquals(7, result.getTotalItems());
+        assertEquals(4, result.getTotalPages());
+        verify(userRepository, never()).findAll(any(UserSpecification.class), any(Pageable.class));
+    }
+
+    @Test
+    void listUsers_CursorOnLastPage_HasNoNextCursor() {
+        when(userRepository.findWindow(ArgumentMatchers.<Specification<UserEntity>>any(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(testUserEntity));
+        when(userRepository.count(any(UserSpecification.class))).thenReturn(3L);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        UserPage result = userService.listUsers(null, 2, null, null, null, null,
+                new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID()).encode(), null);
+
         assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    void listUsers_WithRoleAndNullUserName_FiltersCorrectly() {
-        // Given - tests the null name branch in matchesFilters
+    void listUsers_TotalsNone_SkipsCountAndFetchesOneExtraRow() {
+        UserSpecification filter = new UserSpecification(null, null, "Test", null);
+        when(userRepository.findWindow(filter, UserSpecification.LIST_ORDER, 4L, 3))
+                .thenReturn(List.of(testUserEntity, userCreatedAt(LocalDateTime.now()), userCreatedAt(LocalDateTime.now())));
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        UserPage result = userService.listUsers(3, 2, null, null, "Test", null, null, TotalsMode.NONE);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(3, result.getPage());
+        assertTrue(result.getHasNext());
+        assertNotNull(result.getNextCursor());
+        assertNull(result.getTotalItems());
+        assertNull(result.getTotalPages());
+        verify(userRepository, never()).count(any(UserSpecification.class));
+        verify(userRepository, never()).findAll(any(UserSpecification.class), any(Pageable.class));
+        verifyNoInteractions(userCounters);
+    }
+
+    @Test
+    void listUsers_TotalsNoneOnLastPage_HasNoNext() {
+        when(userRepository.findWindow(any(UserSpecification.class), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(testUserEntity));
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        UserPage result = userService.listUsers(1, 10, null, null, null, null, null, TotalsMode.NONE);
+
+        assertFalse(result.getHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void listUsers_TotalsApproximate_UsesCounters() {
         UUID roleId = UUID.randomUUID();
-        RoleEntity role = new RoleEntity(roleId, "USER", "User role");
-        
-        UserEntity userWithNullName = new UserEntity();
-        userWithNullName.setId(UUID.randomUUID());
-        userWithNullName.setUsername("noname");
-        userWithNullName.setEmailAddress("noname@example.com");
-        userWithNullName.setName(null); // null name
-        
-        UserRoleEntity userRole = new UserRoleEntity(userWithNullName.getId(), roleId, LocalDateTime.now());
-        
-        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
-                List.of(userWithNullName),
-                PageRequest.of(0, 10),
-                1
-        );
-        
-        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
-        when(userRoleRepository.findByRoleId(roleId)).thenReturn(List.of(userRole));
-        when(userRepository.findByIdIn(anyList(), any(Pageable.class))).thenReturn(entityPage);
+        UserSpecification filter = new UserSpecification(null, null, null, roleId);
+        when(roleCatalog.findByRoleName(RoleName.USER))
+                .thenReturn(Optional.of(new RoleCatalog.CatalogRole(roleId, "USER", RoleName.USER, 0L)));
+        when(userRepository.findWindow(filter, UserSpecification.LIST_ORDER, 0L, 11)).thenReturn(List.of(testUserEntity));
+        when(userCounters.estimate(filter)).thenReturn(OptionalLong.of(42));
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
 
-        // When - with name filter, user has null name
-        UserPage result = userService.listUsers(1, 10, null, null, "test", RoleName.USER);
+        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.USER, null, TotalsMode.APPROXIMATE);
+
+        assertEquals(42, result.getTotalItems());
+        assertEquals(5, result.getTotalPages());
+        assertFalse(result.getHasNext());
+        verify(userRepository, never()).count(any(UserSpecification.class));
+    }
+
+    @Test
+    void listUsers_TotalsApproximateWithUncountedFilter_OmitsTotals() {
+        when(userRepository.findWindow(any(UserSpecification.class), any(), anyLong(), anyInt()))
+                .thenReturn(Collections.emptyList());
+        when(userCounters.estimate(any(UserSpecification.class))).thenReturn(OptionalLong.empty());
+
+        UserPage result = userService.listUsers(1, 10, null, null, "Test", null, null, TotalsMode.APPROXIMATE);
+
+        assertNull(result.getTotalItems());
+        assertNull(result.getTotalPages());
+        assertFalse(result.getHasNext());
+    }
+
+    @Test
+    void listUsers_TotalsNoneWithUnknownRole_OmitsTotals() {
+        when(roleCatalog.findByRoleName(RoleName.AUDITOR)).thenReturn(Optional.empty());
+
+        UserPage result = userService.listUsers(1, 10, null, null, null, RoleName.AUDITOR, null, TotalsMode.NONE);
 
-        // Then - should be filtered out
-        assertNotNull(result);
         assertTrue(result.getItems().isEmpty());
+        assertNull(result.getTotalItems());
+        assertFalse(result.getHasNext());
+    }
+
+    @Test
+    void listUsers_TotalsExact_ReportsHasNextFromPage() {
+        Page<UserEntity> entityPage = new org.springframework.data.domain.PageImpl<>(
+                List.of(testUserEntity), PageRequest.of(0, 1), 2);
+        when(userRepository.findAll(any(UserSpecification.class), any(Pageable.class))).thenReturn(entityPage);
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(userMapper.toDto(any(UserEntity.class), anyList())).thenReturn(testUserDto);
+
+        UserPage result = userService.listUsers(1, 1, null, null, null, null, null, TotalsMode.EXACT);
+
+        assertTrue(result.getHasNext());
+        assertEquals(2, result.getTotalItems());
+        verifyNoInteractions(userCounters);
     }
 }